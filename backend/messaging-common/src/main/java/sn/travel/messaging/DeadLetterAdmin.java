@@ -0,0 +1,143 @@
+package sn.travel.messaging;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sn.travel.messaging.dto.DeadLetterMessageResponse;
+import sn.travel.messaging.dto.DeadLetterQueueResponse;
+import sn.travel.messaging.dto.ReplayResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Inspects and replays the dead-letter queues of DeadLetterRouter, working directly on channels (basic.get)
+ * so that it does not go through the listener containers.
+ * <p>
+ * Replay publishes each message back to its queue before acking it from the DLQ:
+ * a failure in between may duplicate a message, never lose it.
+ * Callers check that the queue is one of their consumed queues.
+ */
+@Component
+@Slf4j
+public class DeadLetterAdmin {
+
+    private static final int MAX_PEEK = 100;
+    private static final int MAX_REPLAY = 10_000;
+    private static final int MAX_PAYLOAD_LENGTH = 2000;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final AmqpAdmin amqpAdmin;
+    private final List<Long> retryDelaysMs;
+
+    public DeadLetterAdmin(RabbitTemplate rabbitTemplate,
+                           AmqpAdmin amqpAdmin,
+                           @Value("${messaging.retry.delays-ms:1000,10000,60000}") List<Long> retryDelaysMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.amqpAdmin = amqpAdmin;
+        this.retryDelaysMs = retryDelaysMs;
+    }
+
+    /**
+     * Message counts of each given queue, its retry tiers and its DLQ.
+     *
+     * @param peek number of dead letters to sample per queue (left in place)
+     */
+    public List<DeadLetterQueueResponse> getDeadLetters(List<String> queues, int peek) {
+        int sampleSize = Math.clamp(peek, 0, MAX_PEEK);
+        return queues.stream()
+                .map(queue -> new DeadLetterQueueResponse(
+                        queue,
+                        messageCount(queue),
+                        IntStream.rangeClosed(1, retryDelaysMs.size())
+                                .mapToLong(tier -> messageCount(DeadLetterRouter.retryQueue(queue, tier)))
+                                .sum(),
+                        messageCount(DeadLetterRouter.deadLetterQueue(queue)),
+                        sampleSize > 0 ? peek(DeadLetterRouter.deadLetterQueue(queue), sampleSize) : List.of()))
+                .toList();
+    }
+
+    /**
+     * Moves up to limit dead letters back to their queue, oldest first, with a fresh retry budget.
+     */
+    public ReplayResponse replay(String queue, int limit) {
+        String deadLetterQueue = DeadLetterRouter.deadLetterQueue(queue);
+        int maxMessages = Math.clamp(limit, 1, MAX_REPLAY);
+
+        Integer replayed = rabbitTemplate.execute(channel -> {
+            int moved = 0;
+            GetResponse response;
+            while (moved < maxMessages && (response = channel.basicGet(deadLetterQueue, false)) != null) {
+                Map<String, Object> headers = response.getProps().getHeaders() != null
+                        ? new HashMap<>(response.getProps().getHeaders())
+                        : new HashMap<>();
+                DeadLetterRouter.RETRY_HEADERS.forEach(headers::remove);
+                AMQP.BasicProperties properties = response.getProps().builder().headers(headers).build();
+
+                channel.basicPublish("", queue, properties, response.getBody());
+                channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+                moved++;
+            }
+            return moved;
+        });
+
+        long remaining = messageCount(deadLetterQueue);
+        log.info("Replayed {} dead letter(s) from {} to {} ({} remaining)", replayed, deadLetterQueue, queue, remaining);
+        return new ReplayResponse(queue, replayed != null ? replayed : 0, remaining);
+    }
+
+    // ---- Private helpers ----
+
+    /**
+     * Reads the first messages of a DLQ without acking them, then puts them back.
+     */
+    private List<DeadLetterMessageResponse> peek(String deadLetterQueue, int sampleSize) {
+        return rabbitTemplate.execute(channel -> {
+            List<DeadLetterMessageResponse> messages = new ArrayList<>();
+            long lastDeliveryTag = -1;
+            GetResponse response;
+            while (messages.size() < sampleSize && (response = channel.basicGet(deadLetterQueue, false)) != null) {
+                lastDeliveryTag = response.getEnvelope().getDeliveryTag();
+                messages.add(toResponse(response));
+            }
+            if (lastDeliveryTag >= 0) {
+                channel.basicNack(lastDeliveryTag, true, true);
+            }
+            return messages;
+        });
+    }
+
+    private DeadLetterMessageResponse toResponse(GetResponse response) {
+        Map<String, Object> headers = response.getProps().getHeaders() != null ? response.getProps().getHeaders() : Map.of();
+        Object attempts = headers.get(DeadLetterRouter.ATTEMPT_HEADER);
+        String payload = new String(response.getBody(), StandardCharsets.UTF_8);
+        return new DeadLetterMessageResponse(
+                response.getProps().getMessageId(),
+                attempts instanceof Number number ? number.intValue() : 0,
+                header(headers, DeadLetterRouter.EXCEPTION_TYPE_HEADER),
+                header(headers, DeadLetterRouter.EXCEPTION_MESSAGE_HEADER),
+                header(headers, DeadLetterRouter.FAILED_AT_HEADER),
+                payload.length() > MAX_PAYLOAD_LENGTH ? payload.substring(0, MAX_PAYLOAD_LENGTH) : payload
+        );
+    }
+
+    // String headers come back from the broker as LongString
+    private static String header(Map<String, Object> headers, String name) {
+        Object value = headers.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    private long messageCount(String queue) {
+        QueueInformation information = amqpAdmin.getQueueInfo(queue);
+        return information != null ? information.getMessageCount() : 0;
+    }
+}
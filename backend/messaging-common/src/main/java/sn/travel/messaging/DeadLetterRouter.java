@@ -0,0 +1,272 @@
+package sn.travel.messaging;
+
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes messages whose processing failed through delayed retry tiers, then to a dead-letter queue.
+ * <p>
+ * Topology, for each consumed queue Q:
+ * - Q.retry.1..n hold a copy for the tier delay (messaging.retry.delays-ms, per-queue TTL), then dead-letter it back to Q
+ * - Q.dlq keeps messages that exhausted the tiers or cannot be converted, until replayed;
+ *   Q itself dead-letters there, so a message rejected without going through this class is not lost either
+ * <p>
+ * The failed delivery is acked only once the broker has confirmed its copy (publisher confirm, mandatory
+ * publish so an unroutable copy comes back as a return): a poison message waits on the broker instead of
+ * being requeued in a tight loop, so consumer CPU stays flat. If the copy is nacked, returned or not confirmed
+ * within messaging.retry.confirm-timeout-ms, the delivery is rejected without requeue and lands in Q.dlq
+ * through the queue's own dead-lettering, so it is never lost (at worst duplicated when a late confirm arrives).
+ * Requires spring.rabbitmq.publisher-confirm-type=correlated and spring.rabbitmq.publisher-returns=true.
+ * <p>
+ * Shared by the consuming services, which import it from their RabbitMQConfig along with DeadLetterAdmin
+ * and keep only their topology (queue names, DEAD_LETTERED_QUEUES) and the admin controller.
+ */
+@Component
+@Slf4j
+public class DeadLetterRouter {
+
+    // Failed deliveries so far
+    public static final String ATTEMPT_HEADER = "x-retry-attempt";
+    public static final String EXCEPTION_TYPE_HEADER = "x-exception-type";
+    public static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+    public static final String FAILED_AT_HEADER = "x-failed-at";
+    public static final List<String> RETRY_HEADERS = List.of(
+            ATTEMPT_HEADER, EXCEPTION_TYPE_HEADER, EXCEPTION_MESSAGE_HEADER, FAILED_AT_HEADER, "x-death");
+
+    private static final int MAX_EXCEPTION_MESSAGE_LENGTH = 1000;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+    private final List<Long> retryDelaysMs;
+    private final long confirmTimeoutMs;
+
+    public DeadLetterRouter(ConnectionFactory connectionFactory,
+                            MeterRegistry meterRegistry,
+                            @Value("${messaging.retry.delays-ms:1000,10000,60000}") List<Long> retryDelaysMs,
+                            @Value("${messaging.retry.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        if (!connectionFactory.isPublisherConfirms() || !connectionFactory.isPublisherReturns()) {
+            throw new IllegalStateException("DeadLetterRouter requires spring.rabbitmq.publisher-confirm-type=correlated "
+                    + "and spring.rabbitmq.publisher-returns=true");
+        }
+        // Own template: the service's one may not be mandatory, and its converter is irrelevant for raw messages
+        this.rabbitTemplate = new RabbitTemplate(connectionFactory);
+        this.rabbitTemplate.setMandatory(true);
+        this.meterRegistry = meterRegistry;
+        this.retryDelaysMs = retryDelaysMs;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    // ---- Topology ----
+
+    public static String retryQueue(String queue, int tier) {
+        return queue + ".retry." + tier;
+    }
+
+    public static String deadLetterQueue(String queue) {
+        return queue + ".dlq";
+    }
+
+    /**
+     * Consumed queue dead-lettering to its DLQ. Every service declaring the queue must use the same arguments.
+     */
+    public static Queue durableQueue(String queue) {
+        return QueueBuilder.durable(queue)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(deadLetterQueue(queue))
+                .build();
+    }
+
+    /**
+     * Retry tiers and DLQ of the given queues. Tier queues are routed through the default exchange.
+     */
+    public static Declarables retryTopology(List<Long> retryDelaysMs, List<String> queues) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (String queue : queues) {
+            for (int tier = 1; tier <= retryDelaysMs.size(); tier++) {
+                declarables.add(QueueBuilder.durable(retryQueue(queue, tier))
+                        .ttl(Math.toIntExact(retryDelaysMs.get(tier - 1)))
+                        .deadLetterExchange("")
+                        .deadLetterRoutingKey(queue)
+                        .build());
+            }
+            declarables.add(QueueBuilder.durable(deadLetterQueue(queue)).build());
+        }
+        return new Declarables(declarables);
+    }
+
+    // ---- Recovery ----
+
+    /**
+     * Republishes a failed message to its next retry tier, or to the DLQ once the tiers are exhausted
+     * (immediately for messages that cannot be converted).
+     *
+     * @return completes once the broker has confirmed the copy; fails with AmqpRejectAndDontRequeueException
+     * if the copy was nacked, returned or not confirmed in time, in which case the delivery must not be acked
+     */
+    public CompletableFuture<Void> recover(Message message, Throwable error) {
+        MessageProperties properties = message.getMessageProperties();
+        String queue = properties.getConsumerQueue();
+        Throwable cause = rootCause(error);
+
+        Object attemptHeader = properties.getHeaders().get(ATTEMPT_HEADER);
+        int attempt = (attemptHeader instanceof Number number ? number.intValue() : 0) + 1;
+        if (properties.getDeliveryMode() == null) {
+            properties.setDeliveryMode(properties.getReceivedDeliveryMode());
+        }
+        properties.setHeader(EXCEPTION_TYPE_HEADER, cause.getClass().getName());
+        properties.setHeader(EXCEPTION_MESSAGE_HEADER, truncate(cause.getMessage()));
+        properties.setHeader(ATTEMPT_HEADER, attempt);
+
+        if (isRetryable(error) && attempt <= retryDelaysMs.size()) {
+            return publish(queue, retryQueue(queue, attempt), message).thenRun(() -> {
+                meterRegistry.counter("messaging.listener.failures", "queue", queue, "route", "retry").increment();
+                log.warn("Message from {} failed ({}), retry {}/{} in {} ms",
+                        queue, cause.getMessage(), attempt, retryDelaysMs.size(), retryDelaysMs.get(attempt - 1));
+            });
+        }
+        properties.setHeader(FAILED_AT_HEADER, Instant.now().toString());
+        return publish(queue, deadLetterQueue(queue), message).thenRun(() -> {
+            meterRegistry.counter("messaging.listener.failures", "queue", queue, "route", "dead-letter").increment();
+            log.error("Message from {} dead-lettered after {} attempt(s): {}", queue, attempt, cause.getMessage());
+        });
+    }
+
+    /**
+     * Listener advice recovering messages whose listener threw. Batches are recovered message by message.
+     * In manual ack mode each delivery is acked here once its copy is confirmed, or rejected to the DLX otherwise,
+     * since other deliveries of the channel may still be in flight. In auto mode a failed recovery is rethrown
+     * as AmqpRejectAndDontRequeueException, so the container rejects the delivery (the whole batch) to the DLX.
+     */
+    public MethodInterceptor recoveryAdvice(boolean manualAck) {
+        return invocation -> {
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                Channel channel = (Channel) invocation.getArguments()[0];
+                AmqpRejectAndDontRequeueException failure = null;
+                for (Message message : messages(invocation.getArguments()[1])) {
+                    long deliveryTag = message.getMessageProperties().getDeliveryTag();
+                    try {
+                        recover(message, e).join();
+                        if (manualAck) {
+                            channel.basicAck(deliveryTag, false);
+                        }
+                    } catch (CompletionException recoveryError) {
+                        failure = recoveryError.getCause() instanceof AmqpRejectAndDontRequeueException rejected
+                                ? rejected : new AmqpRejectAndDontRequeueException(recoveryError.getCause());
+                        if (manualAck) {
+                            channel.basicReject(deliveryTag, false);
+                        }
+                    }
+                }
+                if (failure != null && !manualAck) {
+                    throw failure;
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * For listeners returning a future: recovers the message if the processing fails, so that the delivery
+     * is acked either way once the copy is confirmed. If the recovery itself fails, the returned future fails
+     * with AmqpRejectAndDontRequeueException and the container rejects the delivery to the DLX.
+     */
+    public CompletableFuture<Void> guard(Message message, CompletableFuture<?> processing) {
+        return processing
+                .handle((result, error) -> error)
+                .thenCompose(error -> error == null ? CompletableFuture.<Void>completedFuture(null) : recover(message, error));
+    }
+
+    // ---- Private helpers ----
+
+    /**
+     * Mandatory publish through the default exchange, completed by the broker confirm.
+     * Every failure is mapped to AmqpRejectAndDontRequeueException.
+     */
+    private CompletableFuture<Void> publish(String queue, String routingKey, Message message) {
+        CorrelationData correlation = new CorrelationData();
+        try {
+            rabbitTemplate.send("", routingKey, message, correlation);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(rejected(queue, routingKey, "publish failed: " + e.getMessage(), e));
+        }
+        // The returned message, if any, is set before the confirm completes the future
+        return correlation.getFuture()
+                .orTimeout(confirmTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((confirm, error) -> {
+                    if (error != null) {
+                        throw rejected(queue, routingKey, "no confirm within " + confirmTimeoutMs + " ms", error);
+                    }
+                    if (!confirm.ack()) {
+                        throw rejected(queue, routingKey, "nacked: " + confirm.reason(), null);
+                    }
+                    if (correlation.getReturned() != null) {
+                        throw rejected(queue, routingKey, "returned: " + correlation.getReturned().getReplyText(), null);
+                    }
+                    return null;
+                });
+    }
+
+    private AmqpRejectAndDontRequeueException rejected(String queue, String routingKey, String reason, Throwable cause) {
+        meterRegistry.counter("messaging.listener.failures", "queue", queue, "route", "rejected").increment();
+        log.error("Could not republish message from {} to {} ({}), rejecting it to the dead-letter exchange",
+                queue, routingKey, reason);
+        return new AmqpRejectAndDontRequeueException("Recovery of message from " + queue + " failed: " + reason, cause);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Message> messages(Object data) {
+        return data instanceof List<?> batch ? (List<Message>) batch : List.of((Message) data);
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MessageConversionException
+                    || cause instanceof org.springframework.messaging.converter.MessageConversionException
+                    || cause instanceof AmqpRejectAndDontRequeueException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ListenerExecutionFailedException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_EXCEPTION_MESSAGE_LENGTH ? message.substring(0, MAX_EXCEPTION_MESSAGE_LENGTH) : message;
+    }
+}
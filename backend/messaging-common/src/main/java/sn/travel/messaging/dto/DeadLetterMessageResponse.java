@@ -0,0 +1,13 @@
+package sn.travel.messaging.dto;
+
+/**
+ * DTO response for a message parked in a dead-letter queue.
+ */
+public record DeadLetterMessageResponse(
+        String messageId,
+        int attempts,
+        String exceptionType,
+        String exceptionMessage,
+        String failedAt,
+        String payload
+) {}
@@ -0,0 +1,15 @@
+package sn.travel.messaging.dto;
+
+import java.util.List;
+
+/**
+ * DTO response for a consumed queue: messages ready, waiting in the retry tiers, and dead-lettered
+ * (with a sample of the oldest dead letters).
+ */
+public record DeadLetterQueueResponse(
+        String queue,
+        long ready,
+        long retrying,
+        long deadLettered,
+        List<DeadLetterMessageResponse> messages
+) {}
@@ -0,0 +1,10 @@
+package sn.travel.messaging.dto;
+
+/**
+ * DTO response for a dead-letter replay.
+ */
+public record ReplayResponse(
+        String queue,
+        int replayed,
+        long remaining
+) {}
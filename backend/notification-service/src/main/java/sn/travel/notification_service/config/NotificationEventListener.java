@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
+import sn.travel.messaging.DeadLetterRouter;
 import sn.travel.notification_service.data.records.PaymentCompletedEvent;
 import sn.travel.notification_service.data.records.SubscriptionCreatedEvent;
 import sn.travel.notification_service.services.NotificationService;
@@ -11,6 +12,7 @@ import sn.travel.notification_service.services.NotificationService;
 /**
  * RabbitMQ listener that consumes events from travel-service and payment-service
  * and triggers email notifications.
+ * Exceptions are rethrown: the container routes the message to the retry tiers / DLQ (DeadLetterRouter).
  */
 @Component
 @RequiredArgsConstructor
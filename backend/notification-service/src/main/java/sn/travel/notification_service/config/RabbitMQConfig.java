@@ -1,12 +1,20 @@
 package sn.travel.notification_service.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import sn.travel.messaging.DeadLetterAdmin;
+import sn.travel.messaging.DeadLetterRouter;
+
+import java.util.List;
 
 /**
  * RabbitMQ configuration for the notification-service.
@@ -14,8 +22,11 @@ import org.springframework.context.annotation.Configuration;
  * Listens on:
  * - notification.subscription.queue (SubscriptionCreatedEvent from travel-service)
  * - notification.payment.queue (PaymentCompletedEvent from payment-service)
+ * <p>
+ * Failed messages go through the retry tiers and dead-letter queue of DeadLetterRouter.
  */
 @Configuration
+@Import({DeadLetterRouter.class, DeadLetterAdmin.class})
 public class RabbitMQConfig {
 
     // ---- Exchanges (declared by other services, re-declared here for binding) ----
@@ -30,6 +41,12 @@ public class RabbitMQConfig {
     public static final String SUBSCRIPTION_CREATED_KEY = "subscription.created";
     public static final String PAYMENT_COMPLETED_KEY = "payment.#";
 
+    // ---- Queues consumed here, with retry tiers and DLQ ----
+    public static final List<String> DEAD_LETTERED_QUEUES = List.of(NOTIFICATION_SUBSCRIPTION_QUEUE, NOTIFICATION_PAYMENT_QUEUE);
+
+    @Value("${messaging.retry.delays-ms:1000,10000,60000}")
+    private List<Long> retryDelaysMs;
+
     // ---- Exchange Beans ----
 
     @Bean
@@ -46,12 +63,17 @@ public class RabbitMQConfig {
 
     @Bean
     public Queue notificationSubscriptionQueue() {
-        return QueueBuilder.durable(NOTIFICATION_SUBSCRIPTION_QUEUE).build();
+        return DeadLetterRouter.durableQueue(NOTIFICATION_SUBSCRIPTION_QUEUE);
     }
 
     @Bean
     public Queue notificationPaymentQueue() {
-        return QueueBuilder.durable(NOTIFICATION_PAYMENT_QUEUE).build();
+        return DeadLetterRouter.durableQueue(NOTIFICATION_PAYMENT_QUEUE);
+    }
+
+    @Bean
+    public Declarables retryTopology() {
+        return DeadLetterRouter.retryTopology(retryDelaysMs, DEAD_LETTERED_QUEUES);
     }
 
     // ---- Bindings ----
@@ -85,4 +107,15 @@ public class RabbitMQConfig {
         template.setMessageConverter(jsonMessageConverter());
         return template;
     }
+
+    /**
+     * Applied to the listener containers: failures are routed by DeadLetterRouter instead of being requeued.
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> deadLetterContainerCustomizer(DeadLetterRouter deadLetterRouter) {
+        return container -> {
+            container.setDefaultRequeueRejected(false);
+            container.setAdviceChain(deadLetterRouter.recoveryAdvice(container.getAcknowledgeMode().isManual()));
+        };
+    }
 }
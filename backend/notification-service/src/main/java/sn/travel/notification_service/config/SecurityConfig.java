@@ -44,6 +44,7 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
                         // Admin: view all notifications
+                        .requestMatchers("/api/v1/notifications/admin/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/notifications").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/notifications/traveler/**").hasAnyRole("ADMIN", "TRAVELER")
                         .requestMatchers(HttpMethod.GET, "/api/v1/notifications/travel/**").hasAnyRole("ADMIN", "MANAGER")
@@ -0,0 +1,41 @@
+package sn.travel.notification_service.web.controllers.implementation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sn.travel.messaging.DeadLetterAdmin;
+import sn.travel.messaging.dto.DeadLetterQueueResponse;
+import sn.travel.messaging.dto.ReplayResponse;
+import sn.travel.notification_service.config.RabbitMQConfig;
+import sn.travel.notification_service.exceptions.UnknownQueueException;
+import sn.travel.notification_service.web.controllers.DeadLetterController;
+
+import java.util.List;
+
+/**
+ * REST Controller implementation for dead-letter administration of the queues consumed by this service
+ * (inspection and replay are shared, see DeadLetterAdmin).
+ */
+@RestController
+@RequestMapping("/api/v1/notifications/admin/dead-letters")
+@RequiredArgsConstructor
+public class DeadLetterControllerImpl implements DeadLetterController {
+
+    private final DeadLetterAdmin deadLetterAdmin;
+
+    @Override
+    @GetMapping
+    public ResponseEntity<List<DeadLetterQueueResponse>> getDeadLetters(@RequestParam(defaultValue = "10") int peek) {
+        return ResponseEntity.ok(deadLetterAdmin.getDeadLetters(RabbitMQConfig.DEAD_LETTERED_QUEUES, peek));
+    }
+
+    @Override
+    @PostMapping("/{queue}/replay")
+    public ResponseEntity<ReplayResponse> replay(@PathVariable String queue,
+                                                 @RequestParam(defaultValue = "1000") int limit) {
+        if (!RabbitMQConfig.DEAD_LETTERED_QUEUES.contains(queue)) {
+            throw new UnknownQueueException(queue);
+        }
+        return ResponseEntity.ok(deadLetterAdmin.replay(queue, limit));
+    }
+}
@@ -2,11 +2,15 @@ package sn.travel.payment_service.config;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
+import sn.travel.messaging.DeadLetterRouter;
 import sn.travel.payment_service.data.records.SubscriptionCreatedEvent;
 import sn.travel.payment_service.services.PaymentService;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * RabbitMQ listener that consumes SubscriptionCreatedEvent messages
  * from travel-service and triggers payment processing.
@@ -17,23 +21,32 @@ import sn.travel.payment_service.services.PaymentService;
 public class PaymentEventListener {
 
     private final PaymentService paymentService;
+    private final DeadLetterRouter deadLetterRouter;
 
     /**
      * Listens for new subscription events and processes the payment.
      * Queue: subscription.created.queue
      * Group: payment-group (via container concurrency)
+     * <p>
+     * The returned future is acked (manual ack mode) once the payment is completed, so the consumer
+     * thread is free as soon as the PENDING payment is saved. Failures are routed to the retry tiers / DLQ.
      */
     @RabbitListener(queues = RabbitMQConfig.SUBSCRIPTION_CREATED_QUEUE, concurrency = "1-3")
-    public void handleSubscriptionCreatedEvent(SubscriptionCreatedEvent event) {
+    public CompletableFuture<Void> handleSubscriptionCreatedEvent(SubscriptionCreatedEvent event, Message message) {
         log.info("Received SubscriptionCreatedEvent: subscriptionId={}, travelId={}, amount={} {}",
                 event.subscriptionId(), event.travelId(), event.amount(), event.currency());
         try {
-            paymentService.processPayment(event);
+            return deadLetterRouter.guard(message, paymentService.processPayment(event)
+                    .whenComplete((payment, error) -> {
+                        if (error != null) {
+                            log.error("Error completing payment for subscription {}: {}",
+                                    event.subscriptionId(), error.getMessage(), error);
+                        }
+                    }));
         } catch (Exception e) {
             log.error("Error processing payment for subscription {}: {}",
                     event.subscriptionId(), e.getMessage(), e);
-            // The message will be requeued by RabbitMQ default error handling
-            // In production, configure a DLQ (Dead Letter Queue) for failed messages
+            // Routed to the retry tiers / DLQ by the container advice (DeadLetterRouter)
             throw e;
         }
     }
@@ -1,20 +1,31 @@
 package sn.travel.payment_service.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import sn.travel.messaging.DeadLetterAdmin;
+import sn.travel.messaging.DeadLetterRouter;
+
+import java.util.List;
 
 /**
  * RabbitMQ configuration for the payment-service.
  * <p>
  * Listens on: subscription.created.queue (from travel-service)
  * Publishes to: payment.exchange (consumed by travel-service)
+ * <p>
+ * Failed messages go through the retry tiers and dead-letter queue of DeadLetterRouter.
  */
 @Configuration
+@Import({DeadLetterRouter.class, DeadLetterAdmin.class})
 public class RabbitMQConfig {
 
     // ---- Exchanges ----
@@ -30,6 +41,12 @@ public class RabbitMQConfig {
     public static final String PAYMENT_SUCCESS_KEY = "payment.success";
     public static final String PAYMENT_FAILED_KEY = "payment.failed";
 
+    // ---- Queues consumed here, with retry tiers and DLQ ----
+    public static final List<String> DEAD_LETTERED_QUEUES = List.of(SUBSCRIPTION_CREATED_QUEUE);
+
+    @Value("${messaging.retry.delays-ms:1000,10000,60000}")
+    private List<Long> retryDelaysMs;
+
     // ---- Exchange Beans ----
 
     @Bean
@@ -46,12 +63,18 @@ public class RabbitMQConfig {
 
     @Bean
     public Queue subscriptionCreatedQueue() {
-        return QueueBuilder.durable(SUBSCRIPTION_CREATED_QUEUE).build();
+        return DeadLetterRouter.durableQueue(SUBSCRIPTION_CREATED_QUEUE);
     }
 
+    // Consumed by travel-service, which declares its retry tiers and DLQ
     @Bean
     public Queue paymentResultQueue() {
-        return QueueBuilder.durable(PAYMENT_RESULT_QUEUE).build();
+        return DeadLetterRouter.durableQueue(PAYMENT_RESULT_QUEUE);
+    }
+
+    @Bean
+    public Declarables retryTopology() {
+        return DeadLetterRouter.retryTopology(retryDelaysMs, DEAD_LETTERED_QUEUES);
     }
 
     // ---- Bindings ----
@@ -82,6 +105,19 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(jsonMessageConverter());
+        // Unroutable messages are returned (CorrelationData.getReturned) instead of silently dropped
+        template.setMandatory(true);
         return template;
     }
+
+    /**
+     * Applied to the listener containers: failures are routed by DeadLetterRouter instead of being requeued.
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> deadLetterContainerCustomizer(DeadLetterRouter deadLetterRouter) {
+        return container -> {
+            container.setDefaultRequeueRejected(false);
+            container.setAdviceChain(deadLetterRouter.recoveryAdvice(container.getAcknowledgeMode().isManual()));
+        };
+    }
 }
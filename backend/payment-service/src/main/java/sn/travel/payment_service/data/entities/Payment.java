@@ -16,10 +16,10 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "payments", indexes = {
-        @Index(name = "idx_payment_subscription", columnList = "subscription_id"),
         @Index(name = "idx_payment_traveler", columnList = "traveler_id"),
         @Index(name = "idx_payment_travel", columnList = "travel_id"),
         @Index(name = "idx_payment_status", columnList = "status"),
+        @Index(name = "idx_payment_status_id", columnList = "status, id"),
         @Index(name = "idx_payment_created_at", columnList = "created_at")
 })
 @Getter
@@ -40,6 +40,10 @@ public class Payment {
     @Column(name = "travel_id", nullable = false)
     private UUID travelId;
 
+    // Manager of the travel, for revenue rollups (null for payments created before it was sent)
+    @Column(name = "manager_id")
+    private UUID managerId;
+
     @Column(name = "traveler_id", nullable = false)
     private UUID travelerId;
 
@@ -0,0 +1,40 @@
+package sn.travel.payment_service.data.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Revenue of the successful payments of a travel over a day or a month, in one currency.
+ * Rows are only written through RevenueRollupRepository.addPayment (atomic upsert).
+ */
+@Entity
+@Table(name = "revenue_rollups", indexes = {
+        @Index(name = "idx_revenue_rollup_manager", columnList = "manager_id, granularity, period_start"),
+        @Index(name = "idx_revenue_rollup_travel", columnList = "travel_id, granularity, period_start")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueRollup {
+
+    @EmbeddedId
+    private RevenueRollupId id;
+
+    // A travel always has the same manager: the rollup is per travel, managers are grouped at query time
+    @Column(name = "manager_id")
+    private UUID managerId;
+
+    @Column(name = "revenue", nullable = false)
+    private Double revenue;
+
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
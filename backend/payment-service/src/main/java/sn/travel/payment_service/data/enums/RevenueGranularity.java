@@ -0,0 +1,9 @@
+package sn.travel.payment_service.data.enums;
+
+/**
+ * Period covered by a revenue rollup row.
+ */
+public enum RevenueGranularity {
+    DAY,
+    MONTH
+}
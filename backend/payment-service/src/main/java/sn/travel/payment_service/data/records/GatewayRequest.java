@@ -0,0 +1,13 @@
+package sn.travel.payment_service.data.records;
+
+import java.util.UUID;
+
+/**
+ * Amount to authorize and capture at the payment gateway.
+ * The payment ID doubles as idempotency key: a retried call must not charge twice.
+ */
+public record GatewayRequest(
+        UUID paymentId,
+        Double amount,
+        String currency
+) {}
@@ -0,0 +1,22 @@
+package sn.travel.payment_service.data.records;
+
+/**
+ * Answer of the payment gateway to an authorize or capture call.
+ * Technical failures (timeouts, unavailability) are reported as failed futures, not as declines.
+ *
+ * @param reference authorization ID (authorize) or transaction ID (capture), null when declined
+ */
+public record GatewayResult(
+        boolean approved,
+        String reference,
+        String declineReason
+) {
+
+    public static GatewayResult approved(String reference) {
+        return new GatewayResult(true, reference, null);
+    }
+
+    public static GatewayResult declined(String reason) {
+        return new GatewayResult(false, null, reason);
+    }
+}
@@ -9,6 +9,7 @@ import java.util.UUID;
 public record SubscriptionCreatedEvent(
         UUID subscriptionId,
         UUID travelId,
+        UUID managerId,
         UUID travelerId,
         String travelTitle,
         Double amount,
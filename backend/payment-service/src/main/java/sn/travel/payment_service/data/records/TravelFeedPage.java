@@ -0,0 +1,19 @@
+package sn.travel.payment_service.data.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Page of the travel-service feed (GET /api/v1/travels/feed), reduced to the travel → manager mapping.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TravelFeedPage(
+        List<Item> content,
+        String nextCursor,
+        boolean hasNext
+) {
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Item(UUID id, UUID managerId) {}
+}
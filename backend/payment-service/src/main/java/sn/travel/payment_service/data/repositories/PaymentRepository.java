@@ -1,12 +1,20 @@
 package sn.travel.payment_service.data.repositories;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import sn.travel.payment_service.data.entities.Payment;
 import sn.travel.payment_service.data.enums.PaymentStatus;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,11 +26,64 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     Optional<Payment> findBySubscriptionId(UUID subscriptionId);
 
-    boolean existsBySubscriptionId(UUID subscriptionId);
+    /**
+     * Loads a payment with a row lock (SELECT ... FOR UPDATE), so that two deliveries completing
+     * the same payment are serialized and only the first one sees it PENDING.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id = :id")
+    Optional<Payment> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Inserts a PENDING payment unless one already exists for the subscription.
+     * Relies on the unique constraint on subscription_id, so concurrent redeliveries cannot both insert.
+     * The manager ID may be null (events sent before it was added): it is bound as text, since a null UUID
+     * parameter has no SQL type in a native query.
+     *
+     * @return 1 if the payment was inserted, 0 if the subscription already has one
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO payments (id, subscription_id, travel_id, manager_id, traveler_id, travel_title, amount, currency, method, status, created_at)
+        VALUES (:id, :subscriptionId, :travelId, CAST(:managerId AS UUID), :travelerId, :travelTitle, :amount, :currency, :method, 'PENDING', CURRENT_TIMESTAMP)
+        ON CONFLICT (subscription_id) DO NOTHING
+    """, nativeQuery = true)
+    int insertPendingIfAbsent(@Param("id") UUID id,
+                              @Param("subscriptionId") UUID subscriptionId,
+                              @Param("travelId") UUID travelId,
+                              @Param("managerId") String managerId,
+                              @Param("travelerId") UUID travelerId,
+                              @Param("travelTitle") String travelTitle,
+                              @Param("amount") Double amount,
+                              @Param("currency") String currency,
+                              @Param("method") String method);
+
+    boolean existsByManagerIdIsNull();
+
+    /**
+     * Sets the manager of the payments that have none (created before V4), for a page of travels.
+     * The IDs are bound as comma-separated text, aligned by position, and unnested into a join on idx_payment_travel.
+     *
+     * @return number of payments updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE payments p SET manager_id = m.manager_id
+        FROM unnest(CAST(string_to_array(:travelIds, ',') AS UUID[]), CAST(string_to_array(:managerIds, ',') AS UUID[]))
+            AS m(travel_id, manager_id)
+        WHERE p.travel_id = m.travel_id AND p.manager_id IS NULL
+    """, nativeQuery = true)
+    int assignMissingManagers(@Param("travelIds") String travelIds, @Param("managerIds") String managerIds);
 
     Page<Payment> findByTravelerId(UUID travelerId, Pageable pageable);
 
     Page<Payment> findByTravelId(UUID travelId, Pageable pageable);
 
     Page<Payment> findByStatus(PaymentStatus status, Pageable pageable);
+
+    // Keyset (seek) pagination on the primary key, served by idx_payment_status_id
+    List<Payment> findByStatusOrderByIdAsc(PaymentStatus status, Limit limit);
+
+    List<Payment> findByStatusAndIdGreaterThanOrderByIdAsc(PaymentStatus status, UUID afterId, Limit limit);
 }
@@ -0,0 +1,126 @@
+package sn.travel.payment_service.data.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sn.travel.payment_service.data.entities.RevenueRollup;
+import sn.travel.payment_service.data.entities.RevenueRollupId;
+import sn.travel.payment_service.data.enums.RevenueGranularity;
+import sn.travel.payment_service.web.dto.responses.ManagerRevenueResponse;
+import sn.travel.payment_service.web.dto.responses.RevenuePeriodResponse;
+import sn.travel.payment_service.web.dto.responses.TravelRevenueResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the pre-aggregated revenue rollups.
+ * Aggregations read only the rollup rows of the requested periods (primary key range scan).
+ */
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, RevenueRollupId> {
+
+    /**
+     * Adds one successful payment to the rollup row of its period, creating the row if needed.
+     * A single atomic statement, so concurrent completions on the same travel never lose an increment.
+     * The manager ID is bound as text (it may be null, see PaymentRepository.insertPendingIfAbsent).
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO revenue_rollups (granularity, period_start, currency, travel_id, manager_id, revenue, payment_count, updated_at)
+        VALUES (:granularity, :periodStart, :currency, :travelId, CAST(:managerId AS UUID), :amount, 1, CURRENT_TIMESTAMP)
+        ON CONFLICT (granularity, period_start, currency, travel_id) DO UPDATE SET
+            revenue = revenue_rollups.revenue + EXCLUDED.revenue,
+            payment_count = revenue_rollups.payment_count + 1,
+            manager_id = COALESCE(EXCLUDED.manager_id, revenue_rollups.manager_id),
+            updated_at = CURRENT_TIMESTAMP
+    """, nativeQuery = true)
+    int addPayment(@Param("granularity") String granularity,
+                   @Param("periodStart") LocalDate periodStart,
+                   @Param("currency") String currency,
+                   @Param("travelId") UUID travelId,
+                   @Param("managerId") String managerId,
+                   @Param("amount") Double amount);
+
+    boolean existsByManagerIdIsNull();
+
+    /**
+     * Sets the manager of the rollups that have none (history backfilled by V4), for a page of travels.
+     * Same binding as PaymentRepository.assignMissingManagers; served by idx_revenue_rollup_travel.
+     *
+     * @return number of rollup rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE revenue_rollups r SET manager_id = m.manager_id, updated_at = CURRENT_TIMESTAMP
+        FROM unnest(CAST(string_to_array(:travelIds, ',') AS UUID[]), CAST(string_to_array(:managerIds, ',') AS UUID[]))
+            AS m(travel_id, manager_id)
+        WHERE r.travel_id = m.travel_id AND r.manager_id IS NULL
+    """, nativeQuery = true)
+    int assignMissingManagers(@Param("travelIds") String travelIds, @Param("managerIds") String managerIds);
+
+    /**
+     * Revenue per period and currency, optionally restricted to a currency, a travel or a manager.
+     */
+    @Query("""
+        SELECT new sn.travel.payment_service.web.dto.responses.RevenuePeriodResponse(
+            r.id.periodStart, r.id.currency, SUM(r.revenue), SUM(r.paymentCount))
+        FROM RevenueRollup r
+        WHERE r.id.granularity = :granularity
+          AND r.id.periodStart BETWEEN :from AND :to
+          AND (:currency IS NULL OR r.id.currency = :currency)
+          AND (:travelId IS NULL OR r.id.travelId = :travelId)
+          AND (:managerId IS NULL OR r.managerId = :managerId)
+        GROUP BY r.id.periodStart, r.id.currency
+        ORDER BY r.id.periodStart, r.id.currency
+    """)
+    List<RevenuePeriodResponse> sumByPeriod(@Param("granularity") RevenueGranularity granularity,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to,
+                                            @Param("currency") String currency,
+                                            @Param("travelId") UUID travelId,
+                                            @Param("managerId") UUID managerId);
+
+    /**
+     * Managers ranked by revenue over the months [from, to] in one currency. Rollups without a known manager are left out.
+     */
+    @Query("""
+        SELECT new sn.travel.payment_service.web.dto.responses.ManagerRevenueResponse(
+            r.managerId, r.id.currency, SUM(r.revenue), SUM(r.paymentCount), COUNT(DISTINCT r.id.travelId))
+        FROM RevenueRollup r
+        WHERE r.id.granularity = sn.travel.payment_service.data.enums.RevenueGranularity.MONTH
+          AND r.id.periodStart BETWEEN :from AND :to
+          AND r.id.currency = :currency
+          AND r.managerId IS NOT NULL
+        GROUP BY r.managerId, r.id.currency
+        ORDER BY SUM(r.revenue) DESC
+    """)
+    List<ManagerRevenueResponse> topManagers(@Param("from") LocalDate from,
+                                             @Param("to") LocalDate to,
+                                             @Param("currency") String currency,
+                                             Pageable pageable);
+
+    /**
+     * Travels ranked by revenue over the months [from, to] in one currency.
+     */
+    @Query("""
+        SELECT new sn.travel.payment_service.web.dto.responses.TravelRevenueResponse(
+            r.id.travelId, r.id.currency, SUM(r.revenue), SUM(r.paymentCount))
+        FROM RevenueRollup r
+        WHERE r.id.granularity = sn.travel.payment_service.data.enums.RevenueGranularity.MONTH
+          AND r.id.periodStart BETWEEN :from AND :to
+          AND r.id.currency = :currency
+        GROUP BY r.id.travelId, r.id.currency
+        ORDER BY SUM(r.revenue) DESC
+    """)
+    List<TravelRevenueResponse> topTravels(@Param("from") LocalDate from,
+                                           @Param("to") LocalDate to,
+                                           @Param("currency") String currency,
+                                           Pageable pageable);
+}
@@ -0,0 +1,18 @@
+package sn.travel.payment_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a pagination cursor cannot be decoded.
+ */
+public class InvalidCursorException extends PaymentServiceException {
+    private static final String ERROR_CODE = "PAYMENT_005";
+
+    public InvalidCursorException(String cursor) {
+        super(
+                String.format("Invalid pagination cursor: '%s'", cursor),
+                ERROR_CODE,
+                HttpStatus.BAD_REQUEST
+        );
+    }
+}
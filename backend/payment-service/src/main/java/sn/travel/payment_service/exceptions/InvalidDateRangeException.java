@@ -0,0 +1,18 @@
+package sn.travel.payment_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when an analytics query has an empty or too wide date range.
+ */
+public class InvalidDateRangeException extends PaymentServiceException {
+    private static final String ERROR_CODE = "PAYMENT_007";
+
+    public InvalidDateRangeException(String message) {
+        super(
+                message,
+                ERROR_CODE,
+                HttpStatus.BAD_REQUEST
+        );
+    }
+}
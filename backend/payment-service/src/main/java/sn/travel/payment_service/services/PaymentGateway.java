@@ -0,0 +1,36 @@
+package sn.travel.payment_service.services;
+
+import sn.travel.payment_service.data.enums.PaymentMethod;
+import sn.travel.payment_service.data.records.GatewayRequest;
+import sn.travel.payment_service.data.records.GatewayResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SPI of a payment gateway (bank, PSP or simulator), selected with payment.gateway.mode.
+ * <p>
+ * Calls are asynchronous: implementations must not block the caller while the bank answers.
+ * A decline completes normally with an unapproved result; technical failures complete exceptionally.
+ * Timeouts and retries are applied by the caller, so both calls must be idempotent for a given payment ID.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Payment method recorded on payments processed by this gateway.
+     */
+    PaymentMethod method();
+
+    /**
+     * Reserves the amount on the payer's account.
+     *
+     * @return result whose reference is the authorization ID when approved
+     */
+    CompletableFuture<GatewayResult> authorize(GatewayRequest request);
+
+    /**
+     * Captures a previously approved authorization.
+     *
+     * @return result whose reference is the transaction ID when approved
+     */
+    CompletableFuture<GatewayResult> capture(String authorizationId, GatewayRequest request);
+}
@@ -1,11 +1,14 @@
 package sn.travel.payment_service.services;
 
 import org.springframework.data.domain.Pageable;
+import sn.travel.payment_service.data.enums.PaymentStatus;
 import sn.travel.payment_service.data.records.SubscriptionCreatedEvent;
+import sn.travel.payment_service.web.dto.responses.CursorPageResponse;
 import sn.travel.payment_service.web.dto.responses.PageResponse;
 import sn.travel.payment_service.web.dto.responses.PaymentResponse;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for payment processing.
@@ -14,9 +17,12 @@ public interface PaymentService {
 
     /**
      * Process a payment for a subscription event from travel-service.
-     * Simulates bank latency, validates amount, and publishes result back.
+     * Persists the PENDING payment, then completes asynchronously once the payment gateway answers
+     * (authorize then capture), and publishes result back.
+     *
+     * @return future completed with the final payment once its outcome is saved and published
      */
-    PaymentResponse processPayment(SubscriptionCreatedEvent event);
+    CompletableFuture<PaymentResponse> processPayment(SubscriptionCreatedEvent event);
 
     /**
      * Get a payment by its ID.
@@ -42,4 +48,12 @@ public interface PaymentService {
      * Get all payments (Admin).
      */
     PageResponse<PaymentResponse> getAllPayments(Pageable pageable);
+
+    /**
+     * Keyset-paginated feed of payments with the given status, ordered by ID.
+     * Used by other services to rebuild their state from the payment history.
+     *
+     * @param cursor ID of the last payment of the previous page, null for the first page
+     */
+    CursorPageResponse<PaymentResponse> getPaymentsFeed(PaymentStatus status, String cursor, int size);
 }
@@ -0,0 +1,52 @@
+package sn.travel.payment_service.services;
+
+import sn.travel.payment_service.data.entities.Payment;
+import sn.travel.payment_service.web.dto.responses.ManagerBackfillResponse;
+import sn.travel.payment_service.web.dto.responses.ManagerRevenueResponse;
+import sn.travel.payment_service.web.dto.responses.RevenuePeriodResponse;
+import sn.travel.payment_service.web.dto.responses.TravelRevenueResponse;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for the revenue rollups: maintained as payments succeed, read by the admin dashboard.
+ */
+public interface RevenueService {
+
+    /**
+     * Adds a payment that just reached SUCCESS to the daily and monthly rollups.
+     * Must run in the transaction that saves the SUCCESS status, exactly once per payment.
+     */
+    void recordSuccessfulPayment(Payment payment);
+
+    /**
+     * Revenue per day and currency over [from, to] (at most 366 days).
+     * Currency, travel and manager filters are optional.
+     */
+    List<RevenuePeriodResponse> getDailyRevenue(LocalDate from, LocalDate to, String currency, UUID travelId, UUID managerId);
+
+    /**
+     * Revenue per month and currency over [from, to].
+     * Currency, travel and manager filters are optional.
+     */
+    List<RevenuePeriodResponse> getMonthlyRevenue(YearMonth from, YearMonth to, String currency, UUID travelId, UUID managerId);
+
+    /**
+     * Managers with the highest revenue over the months [from, to], in one currency.
+     */
+    List<ManagerRevenueResponse> getTopManagers(YearMonth from, YearMonth to, String currency, int limit);
+
+    /**
+     * Travels with the highest revenue over the months [from, to], in one currency.
+     */
+    List<TravelRevenueResponse> getTopTravels(YearMonth from, YearMonth to, String currency, int limit);
+
+    /**
+     * Gives payments and rollups without a manager (created before V4) the manager of their travel,
+     * read from the travel-service feed. Idempotent: only rows without a manager are updated.
+     */
+    ManagerBackfillResponse backfillManagers();
+}
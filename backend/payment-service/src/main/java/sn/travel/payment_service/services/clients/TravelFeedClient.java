@@ -0,0 +1,39 @@
+package sn.travel.payment_service.services.clients;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import sn.travel.payment_service.data.records.TravelFeedPage;
+
+import java.util.Collection;
+
+/**
+ * HTTP client of the travel-service feed, the source of truth for the manager of each travel.
+ */
+@Component
+public class TravelFeedClient {
+
+    private final RestClient restClient;
+
+    public TravelFeedClient(@Value("${payment.revenue.travel-service-uri:http://localhost:8082}") String travelServiceUri) {
+        this.restClient = RestClient.builder().baseUrl(travelServiceUri).build();
+    }
+
+    /**
+     * Page of travels with one of the given statuses, after the given cursor (null for the first page).
+     */
+    public TravelFeedPage fetch(Collection<String> statuses, String cursor, int size) {
+        return restClient.get()
+                .uri(uri -> {
+                    uri.path("/api/v1/travels/feed")
+                            .queryParam("status", statuses.toArray())
+                            .queryParam("size", size);
+                    if (cursor != null) {
+                        uri.queryParam("cursor", cursor);
+                    }
+                    return uri.build();
+                })
+                .retrieve()
+                .body(TravelFeedPage.class);
+    }
+}
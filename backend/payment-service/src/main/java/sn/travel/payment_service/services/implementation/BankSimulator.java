@@ -0,0 +1,109 @@
+package sn.travel.payment_service.services.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sn.travel.payment_service.data.records.GatewayRequest;
+import sn.travel.payment_service.data.records.GatewayResult;
+import sn.travel.payment_service.exceptions.PaymentProcessingException;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Simulated bank behind the in-process gateway and the local HTTP stand-in.
+ * <p>
+ * Each call answers after a latency drawn from the configured distribution, and fails with the configured rates:
+ * - error: completes exceptionally (bank unavailable)
+ * - hang: never answers, the caller's timeout fires
+ * - decline: authorization refused (authorize only)
+ * Answers are scheduled on a timer, so thousands of pending calls hold no thread.
+ */
+@Component
+@Slf4j
+public class BankSimulator {
+
+    public enum LatencyDistribution {
+        FIXED,
+        UNIFORM,
+        EXPONENTIAL,
+        LOG_NORMAL
+    }
+
+    @Value("${payment.simulator.latency.distribution:FIXED}")
+    private LatencyDistribution distribution = LatencyDistribution.FIXED;
+
+    @Value("${payment.simulator.latency.mean-ms:2000}")
+    private long meanMs;
+
+    // Half-width of the UNIFORM distribution
+    @Value("${payment.simulator.latency.jitter-ms:500}")
+    private long jitterMs;
+
+    // Shape of the LOG_NORMAL distribution (standard deviation of the underlying normal)
+    @Value("${payment.simulator.latency.sigma:0.5}")
+    private double sigma;
+
+    @Value("${payment.simulator.latency.max-ms:30000}")
+    private long maxMs;
+
+    @Value("${payment.simulator.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${payment.simulator.hang-rate:0.0}")
+    private double hangRate;
+
+    @Value("${payment.simulator.decline-rate:0.0}")
+    private double declineRate;
+
+    public CompletableFuture<GatewayResult> authorize(GatewayRequest request) {
+        return answer(request, true, () -> GatewayResult.approved("AUTH-" + shortId()));
+    }
+
+    public CompletableFuture<GatewayResult> capture(String authorizationId, GatewayRequest request) {
+        return answer(request, false, () -> GatewayResult.approved("SIM-" + shortId()));
+    }
+
+    // ---- Private helpers ----
+
+    private CompletableFuture<GatewayResult> answer(GatewayRequest request, boolean mayDecline,
+                                                    Supplier<GatewayResult> approval) {
+        double draw = ThreadLocalRandom.current().nextDouble();
+        if (draw < hangRate) {
+            log.debug("Simulated bank hangs on payment {}", request.paymentId());
+            return new CompletableFuture<>();
+        }
+
+        CompletableFuture<GatewayResult> result = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(sampleLatencyMs(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (draw < hangRate + errorRate) {
+                result.completeExceptionally(new PaymentProcessingException(
+                        "Simulated bank error for payment " + request.paymentId()));
+            } else if (mayDecline && draw < hangRate + errorRate + declineRate) {
+                result.complete(GatewayResult.declined("Declined by issuer: insufficient funds"));
+            } else {
+                result.complete(approval.get());
+            }
+        });
+        return result;
+    }
+
+    private long sampleLatencyMs() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double latency = switch (distribution) {
+            case FIXED -> meanMs;
+            case UNIFORM -> meanMs - jitterMs + random.nextDouble() * 2 * jitterMs;
+            case EXPONENTIAL -> -meanMs * Math.log(1 - random.nextDouble());
+            // Location chosen so that the distribution mean is meanMs
+            case LOG_NORMAL -> Math.exp(Math.log(Math.max(meanMs, 1)) - sigma * sigma / 2 + sigma * random.nextGaussian());
+        };
+        return Math.clamp(Math.round(latency), 0, maxMs);
+    }
+
+    private static String shortId() {
+        return UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
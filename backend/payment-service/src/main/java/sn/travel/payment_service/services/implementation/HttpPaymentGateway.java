@@ -0,0 +1,105 @@
+package sn.travel.payment_service.services.implementation;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import sn.travel.payment_service.data.enums.PaymentMethod;
+import sn.travel.payment_service.data.records.GatewayRequest;
+import sn.travel.payment_service.data.records.GatewayResult;
+import sn.travel.payment_service.exceptions.PaymentProcessingException;
+import sn.travel.payment_service.services.PaymentGateway;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Gateway calling a bank over HTTP (payment.gateway.mode=http), by default the local stand-in
+ * exposed by BankSimulatorController.
+ * <p>
+ * Requests run on a dedicated pool whose size (payment.gateway.http.max-concurrency) caps the
+ * concurrent bank calls; the read timeout matches payment.gateway.timeout-ms.
+ * The caller's timeout starts at submission, so the wait queue is bounded (payment.gateway.http.queue-capacity):
+ * a saturated gateway fails the call at once, and the caller retries it after its backoff, instead of letting
+ * requests time out in the queue before reaching the bank.
+ * Any non-2xx answer, I/O error or rejection is reported as a PaymentProcessingException.
+ */
+@Service
+@ConditionalOnProperty(name = "payment.gateway.mode", havingValue = "http")
+public class HttpPaymentGateway implements PaymentGateway {
+
+    private final RestClient restClient;
+    private final ExecutorService executor;
+
+    public HttpPaymentGateway(@Value("${payment.gateway.http.base-uri:http://localhost:8083/simulator/bank}") String baseUri,
+                              @Value("${payment.gateway.http.connect-timeout-ms:1000}") long connectTimeoutMs,
+                              @Value("${payment.gateway.timeout-ms:5000}") long timeoutMs,
+                              @Value("${payment.gateway.http.max-concurrency:64}") int maxConcurrency,
+                              @Value("${payment.gateway.http.queue-capacity:64}") int queueCapacity) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
+        this.restClient = RestClient.builder().baseUrl(baseUri).requestFactory(requestFactory).build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                r -> new Thread(r, "payment-gateway-http-" + threadCount.incrementAndGet()));
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public PaymentMethod method() {
+        return PaymentMethod.SIMULATED;
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> authorize(GatewayRequest request) {
+        return call("authorize", () -> restClient.post()
+                .uri("/authorizations")
+                .body(request)
+                .retrieve()
+                .body(GatewayResult.class));
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> capture(String authorizationId, GatewayRequest request) {
+        return call("capture", () -> restClient.post()
+                .uri("/authorizations/{authorizationId}/capture", authorizationId)
+                .body(request)
+                .retrieve()
+                .body(GatewayResult.class));
+    }
+
+    private CompletableFuture<GatewayResult> call(String operation, Supplier<GatewayResult> request) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return request.get();
+                } catch (RestClientException e) {
+                    throw new PaymentProcessingException("Gateway " + operation + " failed: " + e.getMessage(), e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new PaymentProcessingException("Gateway " + operation + " rejected: too many requests in flight", e));
+        }
+    }
+}
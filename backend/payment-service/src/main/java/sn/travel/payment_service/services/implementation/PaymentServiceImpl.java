@@ -1,39 +1,76 @@
 package sn.travel.payment_service.services.implementation;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import sn.travel.payment_service.config.RabbitMQConfig;
 import sn.travel.payment_service.data.entities.Payment;
-import sn.travel.payment_service.data.enums.PaymentMethod;
 import sn.travel.payment_service.data.enums.PaymentStatus;
+import sn.travel.payment_service.data.records.GatewayRequest;
+import sn.travel.payment_service.data.records.GatewayResult;
 import sn.travel.payment_service.data.records.PaymentCompletedEvent;
 import sn.travel.payment_service.data.records.SubscriptionCreatedEvent;
 import sn.travel.payment_service.data.repositories.PaymentRepository;
-import sn.travel.payment_service.exceptions.DuplicatePaymentException;
+import sn.travel.payment_service.exceptions.InvalidCursorException;
 import sn.travel.payment_service.exceptions.PaymentNotFoundException;
 import sn.travel.payment_service.exceptions.PaymentProcessingException;
+import sn.travel.payment_service.services.OutboxService;
+import sn.travel.payment_service.services.PaymentGateway;
 import sn.travel.payment_service.services.PaymentService;
+import sn.travel.payment_service.services.RevenueService;
+import sn.travel.payment_service.web.dto.responses.CursorPageResponse;
 import sn.travel.payment_service.web.dto.responses.PageResponse;
 import sn.travel.payment_service.web.dto.responses.PaymentResponse;
 import sn.travel.payment_service.web.mappers.PaymentMapper;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Implementation of PaymentService.
- * Simulates payment processing with configurable delay.
  * <p>
- * Flow:
- * 1. Receive SubscriptionCreatedEvent
- * 2. Create Payment entity (PENDING)
- * 3. Simulate bank latency (Thread.sleep)
- * 4. Validate: amount > 0 → SUCCESS, otherwise → FAILED
- * 5. Save and publish PaymentCompletedEvent back to travel-service
+ * Flow (non-blocking pipeline):
+ * 1. Receive SubscriptionCreatedEvent; a subscription seen recently by this instance gets the outcome
+ *    (or in-flight future) of the first delivery, without touching the database
+ * 2. Insert the Payment (PENDING) unless the subscription already has one, in a short transaction committed
+ *    immediately. An existing SUCCESS/FAILED payment ends here; an existing PENDING one (left by a consumer
+ *    that died before acking) is resumed with the same payment ID, which is the gateway idempotency key
+ * 3. Authorize then capture through the PaymentGateway (amount <= 0 is declined without calling it).
+ *    Each call has a timeout and is retried with exponential backoff on technical failures;
+ *    no listener thread, connection or transaction is held meanwhile
+ * 4. On a small completion pool, in a second short transaction: captured → SUCCESS, declined → FAILED.
+ *    A gateway still unreachable or timing out after the retries leaves the outcome unknown (the capture may
+ *    have gone through): the payment stays PENDING and the future fails, so the delivery goes through the
+ *    retry tiers and resumes it with the same payment ID, the gateway idempotency key
+ * 5. Save, add a SUCCESS to the revenue rollups and stage PaymentCompletedEvent in the outbox, all in the same
+ *    transaction. OutboxRelay publishes it to travel-service after the commit and deletes it once the broker
+ *    confirmed it, so the delivery is only acked when the outcome and its event are both durable
+ * <p>
+ * In-flight payments are bounded by the listener prefetch, since a message is acked when its future completes.
+ * Redeliveries are cheap no-ops instead of DuplicatePaymentException requeue loops.
  */
 @Service
 @RequiredArgsConstructor
@@ -41,60 +78,249 @@ import java.util.UUID;
 @Transactional
 public class PaymentServiceImpl implements PaymentService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 1000;
+    private static final String INVALID_AMOUNT = "Invalid amount: amount must be greater than 0";
+
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxService outboxService;
+    private final PaymentGateway paymentGateway;
+    private final RevenueService revenueService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${payment.gateway.timeout-ms:5000}")
+    private long gatewayTimeoutMs;
+
+    @Value("${payment.gateway.max-attempts:3}")
+    private int gatewayMaxAttempts;
+
+    @Value("${payment.gateway.retry-backoff-ms:200}")
+    private long gatewayRetryBackoffMs;
+
+    @Value("${payment.pipeline.completion-threads:4}")
+    private int completionThreads;
+
+    // Must stay well above the number of payments in flight, so that an in-flight subscription is never evicted
+    @Value("${payment.idempotency.cache-size:10000}")
+    private int idempotencyCacheSize;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ExecutorService completionExecutor;
+    private RecentKeyCache<UUID, CompletableFuture<PaymentResponse>> recentPayments;
+    private Counter cacheHits;
+    private Counter databaseHits;
 
-    @Value("${payment.simulation.processing-delay-ms:2000}")
-    private long processingDelayMs;
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        completionExecutor = Executors.newFixedThreadPool(completionThreads,
+                r -> new Thread(r, "payment-completion-" + threadCount.incrementAndGet()));
+        Gauge.builder("payment.pipeline.in.flight", inFlight, AtomicInteger::get)
+                .description("Payments waiting for the bank")
+                .register(meterRegistry);
+
+        recentPayments = new RecentKeyCache<>(idempotencyCacheSize);
+        Gauge.builder("payment.idempotency.cache.size", recentPayments, RecentKeyCache::size)
+                .description("Subscriptions remembered by the idempotency cache")
+                .register(meterRegistry);
+        cacheHits = Counter.builder("payment.idempotency.duplicates").tag("source", "cache").register(meterRegistry);
+        databaseHits = Counter.builder("payment.idempotency.duplicates").tag("source", "database").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        completionExecutor.shutdown();
+    }
 
     @Override
-    public PaymentResponse processPayment(SubscriptionCreatedEvent event) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<PaymentResponse> processPayment(SubscriptionCreatedEvent event) {
         log.info("Processing payment for subscription {} (travel: {}, amount: {} {})",
                 event.subscriptionId(), event.travelTitle(), event.amount(), event.currency());
 
-        // Guard: prevent duplicate payment for same subscription
-        if (paymentRepository.existsBySubscriptionId(event.subscriptionId())) {
-            throw new DuplicatePaymentException(event.subscriptionId().toString());
+        CompletableFuture<PaymentResponse> outcome = new CompletableFuture<>();
+        CompletableFuture<PaymentResponse> known = recentPayments.putIfAbsent(event.subscriptionId(), outcome);
+        if (known != null) {
+            cacheHits.increment();
+            log.info("Subscription {} already handled by this instance, ignoring redelivery", event.subscriptionId());
+            return known;
         }
 
-        // Step 1: Create Payment entity (PENDING)
+        try {
+            process(event).whenComplete((response, error) -> {
+                if (error != null) {
+                    // Forget failures so that the next delivery retries
+                    recentPayments.remove(event.subscriptionId(), outcome);
+                    outcome.completeExceptionally(error);
+                } else {
+                    outcome.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            recentPayments.remove(event.subscriptionId(), outcome);
+            throw e;
+        }
+        return outcome;
+    }
+
+    private CompletableFuture<PaymentResponse> process(SubscriptionCreatedEvent event) {
+        // Step 1: Insert the Payment (PENDING) or find the existing one, committed before the bank call
+        Payment pending = transactionTemplate.execute(status -> createOrFindPayment(event));
+        if (pending.getStatus() != PaymentStatus.PENDING) {
+            return CompletableFuture.completedFuture(paymentMapper.toResponse(pending));
+        }
+        UUID paymentId = pending.getId();
+        inFlight.incrementAndGet();
+
+        // Step 2: Authorize and capture at the gateway, then complete on the completion pool
+        CompletableFuture<GatewayResult> bankResult = (event.amount() != null && event.amount() > 0)
+                ? authorizeAndCapture(new GatewayRequest(paymentId, pending.getAmount(), pending.getCurrency()))
+                : CompletableFuture.completedFuture(GatewayResult.declined(INVALID_AMOUNT));
+        return bankResult
+                .handleAsync((result, error) -> transactionTemplate.execute(status -> completePayment(paymentId, result, error)),
+                        completionExecutor)
+                .whenComplete((response, error) -> inFlight.decrementAndGet());
+    }
+
+    /**
+     * Inserts the PENDING payment in a single statement, or returns the payment the subscription already has.
+     */
+    private Payment createOrFindPayment(SubscriptionCreatedEvent event) {
         Payment payment = Payment.builder()
+                .id(UUID.randomUUID())
                 .subscriptionId(event.subscriptionId())
                 .travelId(event.travelId())
+                .managerId(event.managerId())
                 .travelerId(event.travelerId())
                 .travelTitle(event.travelTitle())
                 .amount(event.amount())
                 .currency(event.currency() != null ? event.currency() : "XOF")
-                .method(PaymentMethod.SIMULATED)
+                .method(paymentGateway.method())
                 .status(PaymentStatus.PENDING)
                 .build();
 
-        payment = paymentRepository.save(payment);
-        log.info("Payment created: {} (PENDING)", payment.getId());
+        int inserted = paymentRepository.insertPendingIfAbsent(payment.getId(), payment.getSubscriptionId(),
+                payment.getTravelId(), payment.getManagerId() != null ? payment.getManagerId().toString() : null,
+                payment.getTravelerId(), payment.getTravelTitle(), payment.getAmount(),
+                payment.getCurrency(), payment.getMethod().name());
+        if (inserted == 1) {
+            log.info("Payment created: {} (PENDING)", payment.getId());
+            return payment;
+        }
 
-        // Step 2: Simulate bank processing latency
-        simulateBankLatency();
+        // Redelivery: the subscription already has a payment
+        databaseHits.increment();
+        Payment existing = paymentRepository.findBySubscriptionId(event.subscriptionId())
+                .orElseThrow(() -> new PaymentNotFoundException("subscription:" + event.subscriptionId()));
+        if (existing.getStatus() == PaymentStatus.PENDING) {
+            log.warn("Resuming PENDING payment {} for redelivered subscription {}", existing.getId(), event.subscriptionId());
+        } else {
+            log.info("Payment {} for subscription {} is already {}, ignoring redelivery",
+                    existing.getId(), event.subscriptionId(), existing.getStatus());
+        }
+        return existing;
+    }
+
+    /**
+     * Authorizes the amount then, if approved, captures it.
+     * A declined authorization is returned as is.
+     */
+    private CompletableFuture<GatewayResult> authorizeAndCapture(GatewayRequest request) {
+        return callGateway("authorize", () -> paymentGateway.authorize(request), 1)
+                .thenCompose(authorization -> authorization.approved()
+                        ? callGateway("capture", () -> paymentGateway.capture(authorization.reference(), request), 1)
+                        : CompletableFuture.completedFuture(authorization));
+    }
 
-        // Step 3: Validate amount and determine result
-        String transactionId = "SIM-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    /**
+     * Calls the gateway with a timeout, retrying technical failures (not declines)
+     * after retry-backoff-ms, doubled on each attempt, up to max-attempts.
+     */
+    private CompletableFuture<GatewayResult> callGateway(String operation, Supplier<CompletableFuture<GatewayResult>> call,
+                                                         int attempt) {
+        long start = System.nanoTime();
+        CompletableFuture<GatewayResult> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+
+        return response
+                .orTimeout(gatewayTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((result, error) -> {
+                    recordGatewayCall(operation, result, error, start);
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    if (attempt >= gatewayMaxAttempts) {
+                        return CompletableFuture.<GatewayResult>failedFuture(error);
+                    }
+                    long backoffMs = gatewayRetryBackoffMs << (attempt - 1);
+                    log.warn("Gateway {} attempt {}/{} failed ({}), retrying in {} ms",
+                            operation, attempt, gatewayMaxAttempts, describe(error), backoffMs);
+                    Executor delayed = CompletableFuture.delayedExecutor(backoffMs, TimeUnit.MILLISECONDS, completionExecutor);
+                    return CompletableFuture.supplyAsync(() -> callGateway(operation, call, attempt + 1), delayed)
+                            .thenCompose(Function.identity());
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private void recordGatewayCall(String operation, GatewayResult result, Throwable error, long start) {
+        String outcome;
+        if (error != null) {
+            outcome = unwrap(error) instanceof TimeoutException ? "timeout" : "error";
+        } else {
+            outcome = result.approved() ? "approved" : "declined";
+        }
+        Timer.builder("payment.gateway.calls")
+                .description("Payment gateway calls, per attempt")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Applies the gateway outcome to the PENDING payment, saves it and stages the outcome event.
+     * The row is locked, so that a resumed delivery completing the same payment waits and then skips it:
+     * the outcome event is staged and added to the revenue rollups once.
+     */
+    private PaymentResponse completePayment(UUID paymentId, GatewayResult result, Throwable error) {
+        Payment payment = paymentRepository.findByIdForUpdate(paymentId)
+                .orElseThrow(() -> new PaymentNotFoundException(paymentId.toString()));
+        if (payment.getStatus() != PaymentStatus.PENDING) {
+            // Completed concurrently by a resumed delivery: the outcome and its event are already saved
+            return paymentMapper.toResponse(payment);
+        }
+
+        // Step 3: Determine result
         String failureReason = null;
 
-        if (event.amount() != null && event.amount() > 0) {
+        if (error != null) {
+            // Outcome unknown: keep PENDING for the redelivery rather than fail a payment the bank may have captured
+            log.error("Payment {} left PENDING, gateway unavailable after {} attempt(s): {}",
+                    payment.getId(), gatewayMaxAttempts, describe(error));
+            throw new PaymentProcessingException("Payment gateway unavailable: " + describe(error), unwrap(error));
+        } else if (result.approved()) {
             payment.setStatus(PaymentStatus.SUCCESS);
-            payment.setTransactionId(transactionId);
-            log.info("Payment {} succeeded (txn: {})", payment.getId(), transactionId);
+            payment.setTransactionId(result.reference());
+            log.info("Payment {} succeeded (txn: {})", payment.getId(), result.reference());
         } else {
             payment.setStatus(PaymentStatus.FAILED);
-            failureReason = "Invalid amount: amount must be greater than 0";
+            failureReason = result.declineReason();
             payment.setFailureReason(failureReason);
             log.warn("Payment {} failed: {}", payment.getId(), failureReason);
         }
 
-        // Step 4: Save final state
+        // Step 4: Save final state (and revenue rollups, in the same transaction)
         payment = paymentRepository.save(payment);
+        if (payment.getStatus() == PaymentStatus.SUCCESS) {
+            revenueService.recordSuccessfulPayment(payment);
+        }
 
-        // Step 5: Publish PaymentCompletedEvent back to travel-service
+        // Step 5: Stage PaymentCompletedEvent for travel-service (relayed after commit)
         publishPaymentCompletedEvent(payment, failureReason);
 
         return paymentMapper.toResponse(payment);
@@ -134,23 +360,52 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentMapper.toPageResponse(paymentRepository.findAll(pageable));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PaymentResponse> getPaymentsFeed(PaymentStatus status, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_FEED_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<Payment> payments = (cursor == null || cursor.isBlank())
+                ? paymentRepository.findByStatusOrderByIdAsc(status, limit)
+                : paymentRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, parseCursor(cursor), limit);
+
+        boolean hasNext = payments.size() > pageSize;
+        List<Payment> page = hasNext ? payments.subList(0, pageSize) : payments;
+        String nextCursor = page.isEmpty() ? null : page.getLast().getId().toString();
+
+        return new CursorPageResponse<>(paymentMapper.toResponseList(page), pageSize, nextCursor, hasNext);
+    }
+
     // ---- Private helpers ----
 
+    private static Throwable unwrap(Throwable error) {
+        return (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+    }
+
     /**
-     * Simulates bank processing latency.
+     * Short description of a gateway failure, fitting the failure_reason column.
      */
-    private void simulateBankLatency() {
+    private static String describe(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return message.length() > 400 ? message.substring(0, 400) : message;
+    }
+
+    private UUID parseCursor(String cursor) {
         try {
-            log.debug("Simulating bank processing delay ({}ms)...", processingDelayMs);
-            Thread.sleep(processingDelayMs);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new PaymentProcessingException("Payment processing was interrupted", e);
+            return UUID.fromString(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
         }
     }
 
     /**
-     * Publishes a PaymentCompletedEvent to RabbitMQ for the travel-service to consume.
+     * Stages a PaymentCompletedEvent in the outbox, in the completion transaction, for the travel-service to consume.
+     * The OutboxRelay publishes it after the commit.
      */
     private void publishPaymentCompletedEvent(Payment payment, String failureReason) {
         String routingKey = (payment.getStatus() == PaymentStatus.SUCCESS)
@@ -166,13 +421,8 @@ public class PaymentServiceImpl implements PaymentService {
                 failureReason
         );
 
-        try {
-            rabbitTemplate.convertAndSend(RabbitMQConfig.PAYMENT_EXCHANGE, routingKey, event);
-            log.info("Published PaymentCompletedEvent [{}] for subscription {} (routing: {})",
-                    payment.getStatus(), payment.getSubscriptionId(), routingKey);
-        } catch (Exception e) {
-            log.error("Failed to publish PaymentCompletedEvent for subscription {}: {}",
-                    payment.getSubscriptionId(), e.getMessage());
-        }
+        outboxService.enqueue(RabbitMQConfig.PAYMENT_EXCHANGE, routingKey, payment.getSubscriptionId(), event);
+        log.info("Staged PaymentCompletedEvent [{}] for subscription {} in outbox (routing: {})",
+                payment.getStatus(), payment.getSubscriptionId(), routingKey);
     }
 }
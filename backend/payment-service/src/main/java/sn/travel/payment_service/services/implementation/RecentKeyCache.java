@@ -0,0 +1,36 @@
+package sn.travel.payment_service.services.implementation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded map of the most recently added keys, evicting the oldest entry first. Thread-safe.
+ */
+final class RecentKeyCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    RecentKeyCache(int capacity) {
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the value already associated with the key, or null if the given value was added
+     */
+    synchronized V putIfAbsent(K key, V value) {
+        return entries.putIfAbsent(key, value);
+    }
+
+    synchronized void remove(K key, V value) {
+        entries.remove(key, value);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
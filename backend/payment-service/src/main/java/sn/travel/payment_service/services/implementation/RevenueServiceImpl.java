@@ -0,0 +1,148 @@
+package sn.travel.payment_service.services.implementation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sn.travel.payment_service.data.entities.Payment;
+import sn.travel.payment_service.data.enums.RevenueGranularity;
+import sn.travel.payment_service.data.records.TravelFeedPage;
+import sn.travel.payment_service.data.repositories.PaymentRepository;
+import sn.travel.payment_service.data.repositories.RevenueRollupRepository;
+import sn.travel.payment_service.exceptions.InvalidDateRangeException;
+import sn.travel.payment_service.services.RevenueService;
+import sn.travel.payment_service.services.clients.TravelFeedClient;
+import sn.travel.payment_service.web.dto.responses.ManagerBackfillResponse;
+import sn.travel.payment_service.web.dto.responses.ManagerRevenueResponse;
+import sn.travel.payment_service.web.dto.responses.RevenuePeriodResponse;
+import sn.travel.payment_service.web.dto.responses.TravelRevenueResponse;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of RevenueService.
+ * <p>
+ * Each successful payment adds its amount to two rows of revenue_rollups (its day and its month, per travel
+ * and currency) with an atomic upsert. Dashboard queries aggregate those rows only: their cost depends on
+ * the number of travels and periods requested, not on the number of payments.
+ * Payments are assigned to the day they succeed, in the server time zone.
+ * <p>
+ * Payments and rollups from before V4 have no manager: backfillManagers pages through the travel-service
+ * feed (drafts have no payments) and sets it with one UPDATE ... FROM unnest(...) per table and page.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueServiceImpl implements RevenueService {
+
+    private static final long MAX_DAILY_RANGE_DAYS = 366;
+    private static final int MAX_TOP_SIZE = 100;
+    private static final List<String> PAYABLE_TRAVEL_STATUSES = List.of("PUBLISHED", "CANCELLED", "COMPLETED");
+
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final PaymentRepository paymentRepository;
+    private final TravelFeedClient travelFeedClient;
+
+    @Value("${payment.revenue.backfill-page-size:1000}")
+    private int backfillPageSize;
+
+    @Override
+    @Transactional
+    public void recordSuccessfulPayment(Payment payment) {
+        LocalDate day = LocalDate.now();
+        String managerId = payment.getManagerId() != null ? payment.getManagerId().toString() : null;
+
+        revenueRollupRepository.addPayment(RevenueGranularity.DAY.name(), day,
+                payment.getCurrency(), payment.getTravelId(), managerId, payment.getAmount());
+        revenueRollupRepository.addPayment(RevenueGranularity.MONTH.name(), day.withDayOfMonth(1),
+                payment.getCurrency(), payment.getTravelId(), managerId, payment.getAmount());
+        log.debug("Payment {} added to the revenue rollups of {} ({} {})",
+                payment.getId(), day, payment.getAmount(), payment.getCurrency());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RevenuePeriodResponse> getDailyRevenue(LocalDate from, LocalDate to, String currency,
+                                                       UUID travelId, UUID managerId) {
+        checkRange(from, to);
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAILY_RANGE_DAYS) {
+            throw new InvalidDateRangeException(String.format(
+                    "Daily revenue is limited to %d days, use monthly revenue for wider ranges", MAX_DAILY_RANGE_DAYS));
+        }
+        return revenueRollupRepository.sumByPeriod(RevenueGranularity.DAY, from, to, currency, travelId, managerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RevenuePeriodResponse> getMonthlyRevenue(YearMonth from, YearMonth to, String currency,
+                                                         UUID travelId, UUID managerId) {
+        checkRange(from.atDay(1), to.atDay(1));
+        return revenueRollupRepository.sumByPeriod(RevenueGranularity.MONTH, from.atDay(1), to.atDay(1),
+                currency, travelId, managerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ManagerRevenueResponse> getTopManagers(YearMonth from, YearMonth to, String currency, int limit) {
+        checkRange(from.atDay(1), to.atDay(1));
+        return revenueRollupRepository.topManagers(from.atDay(1), to.atDay(1), currency, topPage(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TravelRevenueResponse> getTopTravels(YearMonth from, YearMonth to, String currency, int limit) {
+        checkRange(from.atDay(1), to.atDay(1));
+        return revenueRollupRepository.topTravels(from.atDay(1), to.atDay(1), currency, topPage(limit));
+    }
+
+    @Override
+    public synchronized ManagerBackfillResponse backfillManagers() {
+        if (!paymentRepository.existsByManagerIdIsNull() && !revenueRollupRepository.existsByManagerIdIsNull()) {
+            log.info("Manager backfill skipped: every payment and rollup has a manager");
+            return new ManagerBackfillResponse(0, 0, 0);
+        }
+
+        long travels = 0;
+        long payments = 0;
+        long rollups = 0;
+        String cursor = null;
+        TravelFeedPage page;
+        do {
+            page = travelFeedClient.fetch(PAYABLE_TRAVEL_STATUSES, cursor, backfillPageSize);
+            List<TravelFeedPage.Item> items = page.content().stream()
+                    .filter(item -> item.managerId() != null)
+                    .toList();
+            travels += page.content().size();
+            if (!items.isEmpty()) {
+                String travelIds = items.stream().map(item -> item.id().toString()).collect(Collectors.joining(","));
+                String managerIds = items.stream().map(item -> item.managerId().toString()).collect(Collectors.joining(","));
+                payments += paymentRepository.assignMissingManagers(travelIds, managerIds);
+                rollups += revenueRollupRepository.assignMissingManagers(travelIds, managerIds);
+            }
+            cursor = page.nextCursor();
+        } while (page.hasNext());
+
+        log.info("Manager backfill done: {} travel(s) scanned, {} payment(s) and {} rollup(s) updated",
+                travels, payments, rollups);
+        return new ManagerBackfillResponse(travels, payments, rollups);
+    }
+
+    // ---- Private helpers ----
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException(String.format("Invalid date range: %s is after %s", from, to));
+        }
+    }
+
+    private static PageRequest topPage(int limit) {
+        return PageRequest.of(0, Math.clamp(limit, 1, MAX_TOP_SIZE));
+    }
+}
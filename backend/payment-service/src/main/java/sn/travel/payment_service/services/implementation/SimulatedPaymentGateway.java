@@ -0,0 +1,37 @@
+package sn.travel.payment_service.services.implementation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import sn.travel.payment_service.data.enums.PaymentMethod;
+import sn.travel.payment_service.data.records.GatewayRequest;
+import sn.travel.payment_service.data.records.GatewayResult;
+import sn.travel.payment_service.services.PaymentGateway;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Default gateway: calls the bank simulator in-process (payment.gateway.mode=in-process).
+ */
+@Service
+@ConditionalOnProperty(name = "payment.gateway.mode", havingValue = "in-process", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final BankSimulator bankSimulator;
+
+    @Override
+    public PaymentMethod method() {
+        return PaymentMethod.SIMULATED;
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> authorize(GatewayRequest request) {
+        return bankSimulator.authorize(request);
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> capture(String authorizationId, GatewayRequest request) {
+        return bankSimulator.capture(authorizationId, request);
+    }
+}
@@ -0,0 +1,22 @@
+package sn.travel.payment_service.web.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import sn.travel.payment_service.data.records.GatewayRequest;
+import sn.travel.payment_service.data.records.GatewayResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controller interface for the local bank stand-in, used by the HTTP payment gateway
+ * to exercise the payment path over the network without an external service.
+ */
+@Tag(name = "Bank simulator", description = "Local HTTP stand-in of a bank (latency and failure injection)")
+public interface BankSimulatorController {
+
+    @Operation(summary = "Authorize", description = "Reserve an amount; answers after the simulated bank latency")
+    CompletableFuture<GatewayResult> authorize(GatewayRequest request);
+
+    @Operation(summary = "Capture", description = "Capture an approved authorization; answers after the simulated bank latency")
+    CompletableFuture<GatewayResult> capture(String authorizationId, GatewayRequest request);
+}
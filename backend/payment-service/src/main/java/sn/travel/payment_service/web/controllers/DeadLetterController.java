@@ -0,0 +1,30 @@
+package sn.travel.payment_service.web.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import sn.travel.messaging.dto.DeadLetterQueueResponse;
+import sn.travel.messaging.dto.ReplayResponse;
+
+import java.util.List;
+
+/**
+ * Controller interface for dead-letter administration (Admin).
+ */
+@Tag(name = "Dead letters", description = "Inspect and replay messages that exhausted their retries")
+public interface DeadLetterController {
+
+    @Operation(summary = "List dead letters", description = "Ready, retrying and dead-lettered message counts per consumed queue, with a sample of dead letters")
+    ResponseEntity<List<DeadLetterQueueResponse>> getDeadLetters(
+            @Parameter(description = "Dead letters to sample per queue (max 100)")
+            int peek
+    );
+
+    @Operation(summary = "Replay dead letters", description = "Moves dead letters back to their queue, oldest first, with a fresh retry budget")
+    ResponseEntity<ReplayResponse> replay(
+            String queue,
+            @Parameter(description = "Maximum number of messages to replay (max 10000)")
+            int limit
+    );
+}
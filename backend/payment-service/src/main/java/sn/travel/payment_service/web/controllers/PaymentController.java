@@ -4,6 +4,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import sn.travel.payment_service.data.enums.PaymentStatus;
+import sn.travel.payment_service.web.dto.responses.CursorPageResponse;
 import sn.travel.payment_service.web.dto.responses.PageResponse;
 import sn.travel.payment_service.web.dto.responses.PaymentResponse;
 
@@ -30,4 +32,7 @@ public interface PaymentController {
 
     @Operation(summary = "Get all payments", description = "Get all payment transactions (Admin)")
     ResponseEntity<PageResponse<PaymentResponse>> getAllPayments(Pageable pageable);
+
+    @Operation(summary = "Stream payments", description = "Keyset-paginated feed of payments with a given status ordered by ID, used to rebuild downstream state")
+    ResponseEntity<CursorPageResponse<PaymentResponse>> getPaymentsFeed(PaymentStatus status, String cursor, int size);
 }
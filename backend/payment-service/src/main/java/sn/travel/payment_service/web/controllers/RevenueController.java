@@ -0,0 +1,59 @@
+package sn.travel.payment_service.web.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import sn.travel.payment_service.web.dto.responses.ManagerBackfillResponse;
+import sn.travel.payment_service.web.dto.responses.ManagerRevenueResponse;
+import sn.travel.payment_service.web.dto.responses.RevenuePeriodResponse;
+import sn.travel.payment_service.web.dto.responses.TravelRevenueResponse;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controller interface for the revenue dashboard (Admin), served from the pre-aggregated rollups.
+ */
+@Tag(name = "Revenue", description = "Revenue analytics from daily/monthly rollups (Admin)")
+public interface RevenueController {
+
+    @Operation(summary = "Daily revenue", description = "Revenue and successful payments per day and currency (range of at most 366 days)")
+    ResponseEntity<List<RevenuePeriodResponse>> getDailyRevenue(
+            @Parameter(description = "First day (yyyy-MM-dd)") LocalDate from,
+            @Parameter(description = "Last day, included (yyyy-MM-dd)") LocalDate to,
+            String currency,
+            UUID travelId,
+            UUID managerId
+    );
+
+    @Operation(summary = "Monthly revenue", description = "Revenue and successful payments per month and currency")
+    ResponseEntity<List<RevenuePeriodResponse>> getMonthlyRevenue(
+            @Parameter(description = "First month (yyyy-MM)") YearMonth from,
+            @Parameter(description = "Last month, included (yyyy-MM)") YearMonth to,
+            String currency,
+            UUID travelId,
+            UUID managerId
+    );
+
+    @Operation(summary = "Top managers", description = "Managers ranked by revenue over a range of months, in one currency")
+    ResponseEntity<List<ManagerRevenueResponse>> getTopManagers(
+            @Parameter(description = "First month (yyyy-MM)") YearMonth from,
+            @Parameter(description = "Last month, included (yyyy-MM)") YearMonth to,
+            String currency,
+            @Parameter(description = "Number of managers (max 100)") int limit
+    );
+
+    @Operation(summary = "Top travels", description = "Travels ranked by revenue over a range of months, in one currency")
+    ResponseEntity<List<TravelRevenueResponse>> getTopTravels(
+            @Parameter(description = "First month (yyyy-MM)") YearMonth from,
+            @Parameter(description = "Last month, included (yyyy-MM)") YearMonth to,
+            String currency,
+            @Parameter(description = "Number of travels (max 100)") int limit
+    );
+
+    @Operation(summary = "Backfill managers", description = "Sets the manager of payments and rollups created before manager attribution, from the travel-service feed (idempotent)")
+    ResponseEntity<ManagerBackfillResponse> backfillManagers();
+}
@@ -0,0 +1,38 @@
+package sn.travel.payment_service.web.controllers.implementation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+import sn.travel.payment_service.data.records.GatewayRequest;
+import sn.travel.payment_service.data.records.GatewayResult;
+import sn.travel.payment_service.services.implementation.BankSimulator;
+import sn.travel.payment_service.web.controllers.BankSimulatorController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST Controller implementation of the bank stand-in (payment.simulator.http.enabled=true).
+ * Answers are asynchronous: no servlet thread is held during the simulated latency.
+ * Simulated errors surface as 500 ProblemDetail responses.
+ */
+@RestController
+@RequestMapping("/simulator/bank")
+@ConditionalOnProperty(name = "payment.simulator.http.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class BankSimulatorControllerImpl implements BankSimulatorController {
+
+    private final BankSimulator bankSimulator;
+
+    @Override
+    @PostMapping("/authorizations")
+    public CompletableFuture<GatewayResult> authorize(@RequestBody GatewayRequest request) {
+        return bankSimulator.authorize(request);
+    }
+
+    @Override
+    @PostMapping("/authorizations/{authorizationId}/capture")
+    public CompletableFuture<GatewayResult> capture(@PathVariable String authorizationId,
+                                                    @RequestBody GatewayRequest request) {
+        return bankSimulator.capture(authorizationId, request);
+    }
+}
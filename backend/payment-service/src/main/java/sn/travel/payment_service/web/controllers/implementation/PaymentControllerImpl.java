@@ -7,6 +7,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sn.travel.payment_service.services.PaymentService;
 import sn.travel.payment_service.web.controllers.PaymentController;
+import sn.travel.payment_service.data.enums.PaymentStatus;
+import sn.travel.payment_service.web.dto.responses.CursorPageResponse;
 import sn.travel.payment_service.web.dto.responses.PageResponse;
 import sn.travel.payment_service.web.dto.responses.PaymentResponse;
 
@@ -24,6 +26,15 @@ public class PaymentControllerImpl implements PaymentController {
 
     private final PaymentService paymentService;
 
+    @Override
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPageResponse<PaymentResponse>> getPaymentsFeed(
+            @RequestParam(defaultValue = "SUCCESS") PaymentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int size) {
+        return ResponseEntity.ok(paymentService.getPaymentsFeed(status, cursor, size));
+    }
+
     @Override
     @GetMapping("/{paymentId}")
     public ResponseEntity<PaymentResponse> getPaymentById(@PathVariable UUID paymentId) {
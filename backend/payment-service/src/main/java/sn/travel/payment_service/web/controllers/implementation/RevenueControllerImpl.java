@@ -0,0 +1,76 @@
+package sn.travel.payment_service.web.controllers.implementation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sn.travel.payment_service.services.RevenueService;
+import sn.travel.payment_service.web.controllers.RevenueController;
+import sn.travel.payment_service.web.dto.responses.ManagerBackfillResponse;
+import sn.travel.payment_service.web.dto.responses.ManagerRevenueResponse;
+import sn.travel.payment_service.web.dto.responses.RevenuePeriodResponse;
+import sn.travel.payment_service.web.dto.responses.TravelRevenueResponse;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller implementation for the revenue dashboard.
+ */
+@RestController
+@RequestMapping("/api/v1/payments/admin/revenue")
+@RequiredArgsConstructor
+public class RevenueControllerImpl implements RevenueController {
+
+    private final RevenueService revenueService;
+
+    @Override
+    @GetMapping("/daily")
+    public ResponseEntity<List<RevenuePeriodResponse>> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) UUID travelId,
+            @RequestParam(required = false) UUID managerId) {
+        return ResponseEntity.ok(revenueService.getDailyRevenue(from, to, currency, travelId, managerId));
+    }
+
+    @Override
+    @GetMapping("/monthly")
+    public ResponseEntity<List<RevenuePeriodResponse>> getMonthlyRevenue(
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) UUID travelId,
+            @RequestParam(required = false) UUID managerId) {
+        return ResponseEntity.ok(revenueService.getMonthlyRevenue(from, to, currency, travelId, managerId));
+    }
+
+    @Override
+    @GetMapping("/top-managers")
+    public ResponseEntity<List<ManagerRevenueResponse>> getTopManagers(
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to,
+            @RequestParam(defaultValue = "XOF") String currency,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(revenueService.getTopManagers(from, to, currency, limit));
+    }
+
+    @Override
+    @GetMapping("/top-travels")
+    public ResponseEntity<List<TravelRevenueResponse>> getTopTravels(
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to,
+            @RequestParam(defaultValue = "XOF") String currency,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(revenueService.getTopTravels(from, to, currency, limit));
+    }
+
+    @Override
+    @PostMapping("/backfill-managers")
+    public ResponseEntity<ManagerBackfillResponse> backfillManagers() {
+        return ResponseEntity.ok(revenueService.backfillManagers());
+    }
+}
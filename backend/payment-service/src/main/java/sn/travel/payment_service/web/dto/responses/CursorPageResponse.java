@@ -0,0 +1,14 @@
+package sn.travel.payment_service.web.dto.responses;
+
+import java.util.List;
+
+/**
+ * Cursor-based (keyset) paginated response wrapper.
+ * Pass nextCursor back as the cursor parameter to fetch the following page.
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {}
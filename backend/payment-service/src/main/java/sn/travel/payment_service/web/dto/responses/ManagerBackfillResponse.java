@@ -0,0 +1,10 @@
+package sn.travel.payment_service.web.dto.responses;
+
+/**
+ * DTO response for a manager backfill run: travels read from travel-service and rows given their manager.
+ */
+public record ManagerBackfillResponse(
+        long travelsScanned,
+        long paymentsUpdated,
+        long rollupsUpdated
+) {}
@@ -0,0 +1,14 @@
+package sn.travel.payment_service.web.dto.responses;
+
+import java.util.UUID;
+
+/**
+ * DTO response for the revenue of a manager's travels over a range of months.
+ */
+public record ManagerRevenueResponse(
+        UUID managerId,
+        String currency,
+        Double revenue,
+        Long paymentCount,
+        Long travelCount
+) {}
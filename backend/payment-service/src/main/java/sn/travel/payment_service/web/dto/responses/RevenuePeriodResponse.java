@@ -0,0 +1,13 @@
+package sn.travel.payment_service.web.dto.responses;
+
+import java.time.LocalDate;
+
+/**
+ * DTO response for the revenue of a day or a month (periodStart = first day) in one currency.
+ */
+public record RevenuePeriodResponse(
+        LocalDate periodStart,
+        String currency,
+        Double revenue,
+        Long paymentCount
+) {}
@@ -0,0 +1,13 @@
+package sn.travel.payment_service.web.dto.responses;
+
+import java.util.UUID;
+
+/**
+ * DTO response for the revenue of a travel over a range of months.
+ */
+public record TravelRevenueResponse(
+        UUID travelId,
+        String currency,
+        Double revenue,
+        Long paymentCount
+) {}
@@ -0,0 +1,4 @@
+-- V2__add_payment_status_id_index.sql
+-- Keyset feed of payments by status ordered by id (GET /api/v1/payments/feed)
+
+CREATE INDEX IF NOT EXISTS idx_payment_status_id ON payments(status, id);
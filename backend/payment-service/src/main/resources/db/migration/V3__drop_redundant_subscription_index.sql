@@ -0,0 +1,5 @@
+-- V3__drop_redundant_subscription_index.sql
+-- The UNIQUE constraint on subscription_id already has its own index, which also backs
+-- INSERT ... ON CONFLICT (subscription_id): idx_payment_subscription only slows down inserts.
+
+DROP INDEX IF EXISTS idx_payment_subscription;
@@ -0,0 +1,36 @@
+-- V4__add_revenue_rollups.sql
+-- Pre-aggregated revenue per day/month, travel and currency, updated in the transaction that marks
+-- a payment SUCCESS. Dashboard queries read a few rows per period instead of scanning payments.
+
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS manager_id UUID;
+
+CREATE TABLE IF NOT EXISTS revenue_rollups (
+    granularity VARCHAR(10) NOT NULL CHECK (granularity IN ('DAY', 'MONTH')),
+    period_start DATE NOT NULL,
+    currency VARCHAR(10) NOT NULL,
+    travel_id UUID NOT NULL,
+    manager_id UUID,
+    revenue DOUBLE PRECISION NOT NULL DEFAULT 0,
+    payment_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (granularity, period_start, currency, travel_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revenue_rollup_manager ON revenue_rollups(manager_id, granularity, period_start);
+CREATE INDEX IF NOT EXISTS idx_revenue_rollup_travel ON revenue_rollups(travel_id, granularity, period_start);
+
+-- Backfill from the payments already successful (their manager is unknown).
+-- Run before the new version starts consuming, so that no payment is counted twice.
+INSERT INTO revenue_rollups (granularity, period_start, currency, travel_id, revenue, payment_count)
+SELECT 'DAY', CAST(COALESCE(updated_at, created_at) AS DATE), currency, travel_id, SUM(amount), COUNT(*)
+FROM payments
+WHERE status = 'SUCCESS'
+GROUP BY CAST(COALESCE(updated_at, created_at) AS DATE), currency, travel_id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO revenue_rollups (granularity, period_start, currency, travel_id, revenue, payment_count)
+SELECT 'MONTH', CAST(DATE_TRUNC('month', COALESCE(updated_at, created_at)) AS DATE), currency, travel_id, SUM(amount), COUNT(*)
+FROM payments
+WHERE status = 'SUCCESS'
+GROUP BY CAST(DATE_TRUNC('month', COALESCE(updated_at, created_at)) AS DATE), currency, travel_id
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,29 @@
+-- V5__create_outbox_events.sql
+-- Transactional outbox for PaymentCompletedEvent (drained by OutboxRelay): the event is written in the
+-- transaction that completes the payment, so an outcome is never committed without its event, nor the reverse.
+-- seq gives a strict insertion order (created_at can tie): the relay only sends the oldest unsent event
+-- of each aggregate (subscription).
+-- claimed_until is a short lease taken by a relay before it publishes, so that it can wait for the
+-- publisher confirms without holding row locks; an expired lease (crashed relay) makes the row claimable again.
+-- Events that keep failing are parked after outbox.relay.max-attempts: kept with their last error for
+-- investigation (re-queue by setting parked_at back to NULL).
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    seq BIGSERIAL,
+    aggregate_id UUID NOT NULL,
+    exchange VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    type_id VARCHAR(255),
+    content_type VARCHAR(100),
+    payload BYTEA NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    parked_at TIMESTAMP,
+    last_error VARCHAR(500),
+    claimed_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Indexes for outbox_events
+CREATE INDEX IF NOT EXISTS idx_outbox_pending_seq ON outbox_events(seq) WHERE parked_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_aggregate_seq ON outbox_events(aggregate_id, seq);
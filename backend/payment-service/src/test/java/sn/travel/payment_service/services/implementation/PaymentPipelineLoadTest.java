@@ -0,0 +1,130 @@
+package sn.travel.payment_service.services.implementation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.travel.payment_service.data.entities.Payment;
+import sn.travel.payment_service.data.enums.PaymentStatus;
+import sn.travel.payment_service.data.records.SubscriptionCreatedEvent;
+import sn.travel.payment_service.data.repositories.PaymentRepository;
+import sn.travel.payment_service.services.OutboxService;
+import sn.travel.payment_service.services.RevenueService;
+import sn.travel.payment_service.web.dto.responses.PaymentResponse;
+import sn.travel.payment_service.web.mappers.PaymentMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load test of the payment pipeline against the in-process bank simulator, without broker or database.
+ * <p>
+ * Tunable with system properties:
+ * -Dpayment.loadtest.payments=2000 -Dpayment.loadtest.bank-latency-ms=500 -Dpayment.loadtest.completion-threads=4
+ * -Dpayment.loadtest.latency-distribution=FIXED
+ */
+class PaymentPipelineLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentPipelineLoadTest.class);
+
+    private static final int PAYMENTS = Integer.getInteger("payment.loadtest.payments", 2000);
+    private static final long BANK_LATENCY_MS = Long.getLong("payment.loadtest.bank-latency-ms", 500);
+    private static final int COMPLETION_THREADS = Integer.getInteger("payment.loadtest.completion-threads", 4);
+    private static final BankSimulator.LatencyDistribution DISTRIBUTION = BankSimulator.LatencyDistribution.valueOf(
+            System.getProperty("payment.loadtest.latency-distribution", "FIXED"));
+
+    private final Map<UUID, Payment> store = new ConcurrentHashMap<>();
+    private PaymentServiceImpl paymentService;
+
+    @BeforeEach
+    void setUp() {
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        when(paymentRepository.insertPendingIfAbsent(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Payment payment = Payment.builder()
+                            .id(invocation.getArgument(0))
+                            .subscriptionId(invocation.getArgument(1))
+                            .travelId(invocation.getArgument(2))
+                            .travelerId(invocation.getArgument(4))
+                            .travelTitle(invocation.getArgument(5))
+                            .amount(invocation.getArgument(6))
+                            .currency(invocation.getArgument(7))
+                            .status(PaymentStatus.PENDING)
+                            .build();
+                    return store.putIfAbsent(payment.getId(), payment) == null ? 1 : 0;
+                });
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            if (payment.getId() == null) {
+                payment.setId(UUID.randomUUID());
+            }
+            store.put(payment.getId(), payment);
+            return payment;
+        });
+        when(paymentRepository.findByIdForUpdate(any())).thenAnswer(invocation ->
+                Optional.ofNullable(store.get(invocation.<UUID>getArgument(0))));
+
+        BankSimulator bankSimulator = new BankSimulator();
+        ReflectionTestUtils.setField(bankSimulator, "distribution", DISTRIBUTION);
+        ReflectionTestUtils.setField(bankSimulator, "meanMs", BANK_LATENCY_MS);
+        ReflectionTestUtils.setField(bankSimulator, "jitterMs", BANK_LATENCY_MS / 4);
+        ReflectionTestUtils.setField(bankSimulator, "sigma", 0.5);
+        ReflectionTestUtils.setField(bankSimulator, "maxMs", BANK_LATENCY_MS * 4);
+
+        paymentService = new PaymentServiceImpl(
+                paymentRepository,
+                new PaymentMapper(),
+                mock(OutboxService.class),
+                new SimulatedPaymentGateway(bankSimulator),
+                mock(RevenueService.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(paymentService, "gatewayTimeoutMs", BANK_LATENCY_MS * 10);
+        ReflectionTestUtils.setField(paymentService, "gatewayMaxAttempts", 1);
+        ReflectionTestUtils.setField(paymentService, "completionThreads", COMPLETION_THREADS);
+        ReflectionTestUtils.setField(paymentService, "idempotencyCacheSize", PAYMENTS);
+        paymentService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentService.stop();
+    }
+
+    @Test
+    void thousandsOfPaymentsWaitForTheBankConcurrently() {
+        long start = System.nanoTime();
+
+        List<CompletableFuture<PaymentResponse>> futures = new ArrayList<>(PAYMENTS);
+        for (int i = 0; i < PAYMENTS; i++) {
+            futures.add(paymentService.processPayment(new SubscriptionCreatedEvent(
+                    UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "Load test", 1000.0, "XOF")));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("{} payments, bank latency {} ms, {} completion threads: {} ms ({} payments/s)",
+                PAYMENTS, BANK_LATENCY_MS, COMPLETION_THREADS, elapsed.toMillis(),
+                Math.round(PAYMENTS / Math.max(elapsed.toMillis() / 1000.0, 0.001)));
+
+        assertThat(futures).allSatisfy(future -> assertThat(future.join().status()).isEqualTo(PaymentStatus.SUCCESS));
+        // Latencies overlap: the run takes about one authorize + capture round trip (at most maxMs each), not PAYMENTS of them
+        assertThat(elapsed).isLessThan(Duration.ofMillis(BANK_LATENCY_MS * 8 + 5000));
+    }
+}
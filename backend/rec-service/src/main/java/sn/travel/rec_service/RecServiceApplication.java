@@ -2,8 +2,10 @@ package sn.travel.rec_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RecServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,73 @@
+package sn.travel.rec_service.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execution des evenements de synchronisation sur des partitions mono-thread choisies par id de voyage :
+ * les evenements d'un meme voyage sont traites dans l'ordre de reception, ceux de voyages differents en parallele.
+ * <p>
+ * Les listeners renvoient le CompletableFuture : le message n'est acquitte qu'une fois traite, et le prefetch
+ * du conteneur borne le nombre de messages en attente dans les partitions.
+ */
+@Component
+@Slf4j
+public class ListenerPartitions {
+
+    private final ThreadPoolExecutor[] partitions;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ListenerPartitions(MeterRegistry meterRegistry,
+                              @Value("${rec.listener.partitions:8}") int partitionCount) {
+        this.meterRegistry = meterRegistry;
+        this.partitions = new ThreadPoolExecutor[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            String threadName = "rec-sync-partition-" + i;
+            partitions[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), r -> new Thread(r, threadName));
+        }
+        Gauge.builder("rec.listener.partition.backlog", this, ListenerPartitions::backlog)
+                .description("Evenements recus en attente dans les partitions de synchronisation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Execute la tache sur la partition du voyage et mesure sa duree (rec.listener.processing, tag listener).
+     */
+    public CompletableFuture<Void> submit(String listener, UUID travelId, Runnable task) {
+        Timer timer = timers.computeIfAbsent(listener, name -> Timer.builder("rec.listener.processing")
+                .description("Duree de traitement d'un evenement de synchronisation")
+                .tag("listener", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+
+        ThreadPoolExecutor partition = partitions[Math.floorMod(travelId.hashCode(), partitions.length)];
+        return CompletableFuture.runAsync(() -> timer.record(task), partition);
+    }
+
+    private long backlog() {
+        return Arrays.stream(partitions).mapToLong(partition -> partition.getQueue().size()).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ThreadPoolExecutor partition : partitions) {
+            partition.shutdown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package sn.travel.rec_service.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Component;
+import sn.travel.rec_service.data.repositories.GraphSyncRepository;
+import sn.travel.rec_service.data.repositories.TravelCounterRepository;
+
+import java.util.List;
+
+/**
+ * Creation des contraintes et index Neo4j au demarrage (idempotent, IF NOT EXISTS).
+ * Les contraintes d'unicite sur les ids rendent les MATCH {id: ...} en acces direct par index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class Neo4jSchemaConfig implements ApplicationRunner {
+
+    /**
+     * Dedoublonnage des Destination/Activity creees par l'ancienne synchronisation (verifier puis creer),
+     * prealable aux contraintes d'unicite : les relations sont reportees sur le premier noeud de chaque cle.
+     */
+    static final List<String> DEDUPLICATION_STATEMENTS = List.of(
+            "MATCH (d:Destination) WHERE d.key IS NULL SET d.key = " + GraphSyncRepository.destinationKey("d"),
+            "MATCH (d:Destination) WITH d.key AS key, collect(d) AS nodes WHERE size(nodes) > 1 " +
+            "WITH head(nodes) AS keep, tail(nodes) AS duplicates UNWIND duplicates AS duplicate " +
+            "CALL { WITH keep, duplicate MATCH (t:Travel)-[:HAS_DESTINATION]->(duplicate) MERGE (t)-[:HAS_DESTINATION]->(keep) } " +
+            "DETACH DELETE duplicate",
+            "MATCH (a:Activity) WHERE a.name IS NOT NULL WITH a.name AS name, collect(a) AS nodes WHERE size(nodes) > 1 " +
+            "WITH head(nodes) AS keep, tail(nodes) AS duplicates UNWIND duplicates AS duplicate " +
+            "CALL { WITH keep, duplicate MATCH (t:Travel)-[:HAS_ACTIVITY]->(duplicate) MERGE (t)-[:HAS_ACTIVITY]->(keep) } " +
+            "DETACH DELETE duplicate"
+    );
+
+    static final List<String> SCHEMA_STATEMENTS = List.of(
+            "CREATE CONSTRAINT traveler_id IF NOT EXISTS FOR (t:Traveler) REQUIRE t.id IS UNIQUE",
+            "CREATE CONSTRAINT travel_id IF NOT EXISTS FOR (t:Travel) REQUIRE t.id IS UNIQUE",
+            "CREATE CONSTRAINT destination_key IF NOT EXISTS FOR (d:Destination) REQUIRE d.key IS UNIQUE",
+            "CREATE CONSTRAINT activity_name IF NOT EXISTS FOR (a:Activity) REQUIRE a.name IS UNIQUE",
+            "CREATE INDEX reported_status IF NOT EXISTS FOR ()-[r:REPORTED]-() ON (r.status)",
+            "CREATE INDEX travel_popularity IF NOT EXISTS FOR (t:Travel) ON (t.popularityScore)"
+    );
+
+    private final Neo4jClient neo4jClient;
+    private final TravelCounterRepository travelCounterRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String statement : DEDUPLICATION_STATEMENTS) {
+            try {
+                neo4jClient.query(statement).run();
+            } catch (Exception e) {
+                log.error("Echec du dedoublonnage Neo4j ({}) : {}", statement, e.getMessage());
+            }
+        }
+
+        for (String statement : SCHEMA_STATEMENTS) {
+            try {
+                neo4jClient.query(statement).run();
+            } catch (Exception e) {
+                log.error("Echec de la creation du schema Neo4j ({}) : {}", statement, e.getMessage());
+            }
+        }
+        log.info("Schema Neo4j verifie ({} contraintes/index)", SCHEMA_STATEMENTS.size());
+
+        // Compteurs de popularite des voyages synchronises avant leur introduction
+        try {
+            long total = 0;
+            for (long batch; (batch = travelCounterRepository.backfillMissing(1000)) > 0; ) {
+                total += batch;
+            }
+            if (total > 0) {
+                log.info("Compteurs de popularite initialises pour {} voyage(s)", total);
+            }
+        } catch (Exception e) {
+            log.error("Echec de l'initialisation des compteurs de popularite : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package sn.travel.rec_service.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sn.travel.messaging.DeadLetterRouter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Profondeur des files consommees et de leurs DLQ (rec.listener.queue.depth, tag queue), relevee periodiquement
+ * plutot qu'a chaque lecture des metriques pour ne pas interroger le broker a chaque scrape.
+ */
+@Component
+@Slf4j
+public class QueueDepthMonitor {
+
+    private static final List<String> QUEUES = RabbitMQConfig.DEAD_LETTERED_QUEUES.stream()
+            .flatMap(queue -> Stream.of(queue, DeadLetterRouter.deadLetterQueue(queue)))
+            .toList();
+
+    private final AmqpAdmin amqpAdmin;
+    private final Map<String, AtomicLong> depths = new ConcurrentHashMap<>();
+
+    public QueueDepthMonitor(AmqpAdmin amqpAdmin, MeterRegistry meterRegistry) {
+        this.amqpAdmin = amqpAdmin;
+        for (String queue : QUEUES) {
+            AtomicLong depth = depths.computeIfAbsent(queue, name -> new AtomicLong());
+            Gauge.builder("rec.listener.queue.depth", depth, AtomicLong::get)
+                    .description("Messages prets dans la file")
+                    .tag("queue", queue)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rec.listener.queue-depth-poll-ms:5000}")
+    public void poll() {
+        for (String queue : QUEUES) {
+            try {
+                QueueInformation info = amqpAdmin.getQueueInfo(queue);
+                if (info != null) {
+                    depths.get(queue).set(info.getMessageCount());
+                }
+            } catch (Exception e) {
+                log.debug("Profondeur de la file {} indisponible : {}", queue, e.getMessage());
+            }
+        }
+    }
+}
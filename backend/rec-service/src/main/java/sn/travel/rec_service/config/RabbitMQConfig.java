@@ -1,19 +1,29 @@
 package sn.travel.rec_service.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import sn.travel.messaging.DeadLetterAdmin;
+import sn.travel.messaging.DeadLetterRouter;
+
+import java.util.List;
 
 /**
  * Configuration RabbitMQ pour la consommation des evenements voyage et souscription.
  * Le rec-service est un pur consommateur — il ecoute les evenements publies par
  * le travel-service pour alimenter le graphe Neo4j.
+ * Les messages en echec passent par les paliers de reessai puis la DLQ de DeadLetterRouter.
  */
 @Configuration
+@Import({DeadLetterRouter.class, DeadLetterAdmin.class})
 public class RabbitMQConfig {
 
     // ---- Exchanges (declares par travel-service, re-declares ici par securite) ----
@@ -32,6 +42,22 @@ public class RabbitMQConfig {
     public static final String TRAVEL_DELETED_KEY = "travel.deleted";
     public static final String SUBSCRIPTION_CREATED_KEY = "subscription.created";
 
+    // ---- Files consommees, avec paliers de reessai et DLQ ----
+    public static final List<String> DEAD_LETTERED_QUEUES = List.of(
+            TRAVEL_CREATED_QUEUE, TRAVEL_UPDATED_QUEUE, TRAVEL_DELETED_QUEUE, SUBSCRIPTION_CREATED_QUEUE);
+
+    // ---- Listeners (id = cle de configuration rec.listener.<id>.*) ----
+    public static final String SYNC_LISTENER_FACTORY = "syncListenerContainerFactory";
+    public static final String TRAVEL_CREATED_LISTENER = "travel-created";
+    public static final String TRAVEL_UPDATED_LISTENER = "travel-updated";
+    public static final String TRAVEL_DELETED_LISTENER = "travel-deleted";
+    public static final String SUBSCRIPTION_CREATED_LISTENER = "subscription-created";
+
+    private static final int DEFAULT_PREFETCH = 250;
+
+    @Value("${messaging.retry.delays-ms:1000,10000,60000}")
+    private List<Long> retryDelaysMs;
+
     // ---- Exchanges ----
 
     @Bean
@@ -48,22 +74,27 @@ public class RabbitMQConfig {
 
     @Bean
     public Queue travelCreatedQueue() {
-        return QueueBuilder.durable(TRAVEL_CREATED_QUEUE).build();
+        return DeadLetterRouter.durableQueue(TRAVEL_CREATED_QUEUE);
     }
 
     @Bean
     public Queue travelUpdatedQueue() {
-        return QueueBuilder.durable(TRAVEL_UPDATED_QUEUE).build();
+        return DeadLetterRouter.durableQueue(TRAVEL_UPDATED_QUEUE);
     }
 
     @Bean
     public Queue travelDeletedQueue() {
-        return QueueBuilder.durable(TRAVEL_DELETED_QUEUE).build();
+        return DeadLetterRouter.durableQueue(TRAVEL_DELETED_QUEUE);
     }
 
     @Bean
     public Queue subscriptionCreatedQueue() {
-        return QueueBuilder.durable(SUBSCRIPTION_CREATED_QUEUE).build();
+        return DeadLetterRouter.durableQueue(SUBSCRIPTION_CREATED_QUEUE);
+    }
+
+    @Bean
+    public Declarables retryTopology() {
+        return DeadLetterRouter.retryTopology(retryDelaysMs, DEAD_LETTERED_QUEUES);
     }
 
     // ---- Bindings ----
@@ -95,6 +126,27 @@ public class RabbitMQConfig {
         return new Jackson2JsonMessageConverter();
     }
 
+    /**
+     * Conteneurs des listeners de synchronisation : prefetch par listener (rec.listener.<id>.prefetch),
+     * la concurrence etant portee par chaque @RabbitListener. L'acquittement est manuel car les listeners
+     * renvoient un CompletableFuture, acquitte a la fin du traitement dans ListenerPartitions.
+     * Les echecs sont aiguilles par DeadLetterRouter (paliers de reessai puis DLQ) au lieu d'etre remis en file.
+     */
+    @Bean(name = SYNC_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory syncListenerContainerFactory(ConnectionFactory connectionFactory,
+                                                                             Environment environment,
+                                                                             DeadLetterRouter deadLetterRouter) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(deadLetterRouter.recoveryAdvice(true));
+        factory.setContainerCustomizer(container -> container.setPrefetchCount(environment.getProperty(
+                "rec.listener." + container.getListenerId() + ".prefetch", Integer.class, DEFAULT_PREFETCH)));
+        return factory;
+    }
+
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
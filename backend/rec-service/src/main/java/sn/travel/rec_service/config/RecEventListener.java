@@ -2,17 +2,28 @@ package sn.travel.rec_service.config;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
+import sn.travel.messaging.DeadLetterRouter;
 import sn.travel.rec_service.data.records.SubscriptionCreatedEvent;
 import sn.travel.rec_service.data.records.TravelCreatedEvent;
 import sn.travel.rec_service.data.records.TravelDeletedEvent;
 import sn.travel.rec_service.data.records.TravelUpdatedEvent;
 import sn.travel.rec_service.services.GraphSyncService;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Consommateur d'evenements RabbitMQ pour la synchronisation du graphe Neo4j.
  * Ecoute les evenements du cycle de vie des voyages et des souscriptions.
+ * <p>
+ * Le traitement est delegue aux partitions par voyage (ListenerPartitions). Concurrence et prefetch
+ * se reglent par listener (rec.listener.&lt;id&gt;.concurrency / .prefetch) ; au-dela d'un consommateur,
+ * l'ordre entre evenements d'un meme voyage n'est plus garanti, d'ou 1 par defaut pour les voyages.
+ * <p>
+ * Un echec de traitement est propage au CompletableFuture : DeadLetterRouter republie alors le message
+ * sur le palier de reessai suivant (ou la DLQ) avant l'acquittement.
  */
 @Component
 @RequiredArgsConstructor
@@ -20,50 +31,80 @@ import sn.travel.rec_service.services.GraphSyncService;
 public class RecEventListener {
 
     private final GraphSyncService graphSyncService;
+    private final ListenerPartitions listenerPartitions;
+    private final DeadLetterRouter deadLetterRouter;
 
-    @RabbitListener(queues = RabbitMQConfig.TRAVEL_CREATED_QUEUE)
-    public void handleTravelCreated(TravelCreatedEvent event) {
+    @RabbitListener(id = RabbitMQConfig.TRAVEL_CREATED_LISTENER,
+            queues = RabbitMQConfig.TRAVEL_CREATED_QUEUE,
+            containerFactory = RabbitMQConfig.SYNC_LISTENER_FACTORY,
+            concurrency = "${rec.listener.travel-created.concurrency:1}")
+    public CompletableFuture<Void> handleTravelCreated(TravelCreatedEvent event, Message message) {
         log.info("Evenement recu : TravelCreatedEvent, travelId={}, title='{}'", event.travelId(), event.title());
 
-        try {
-            graphSyncService.syncTravel(event);
-        } catch (Exception e) {
-            log.error("Echec de la synchronisation du voyage {} : {}", event.travelId(), e.getMessage(), e);
-        }
+        return deadLetterRouter.guard(message, listenerPartitions.submit(RabbitMQConfig.TRAVEL_CREATED_LISTENER, event.travelId(), () -> {
+            try {
+                graphSyncService.syncTravel(event);
+            } catch (Exception e) {
+                log.error("Echec de la synchronisation du voyage {} : {}", event.travelId(), e.getMessage(), e);
+                throw e;
+            }
+        }));
     }
 
-    @RabbitListener(queues = RabbitMQConfig.TRAVEL_UPDATED_QUEUE)
-    public void handleTravelUpdated(TravelUpdatedEvent event) {
+    @RabbitListener(id = RabbitMQConfig.TRAVEL_UPDATED_LISTENER,
+            queues = RabbitMQConfig.TRAVEL_UPDATED_QUEUE,
+            containerFactory = RabbitMQConfig.SYNC_LISTENER_FACTORY,
+            concurrency = "${rec.listener.travel-updated.concurrency:1}")
+    public CompletableFuture<Void> handleTravelUpdated(TravelUpdatedEvent event, Message message) {
         log.info("Evenement recu : TravelUpdatedEvent, travelId={}, title='{}'", event.travelId(), event.title());
 
-        try {
-            graphSyncService.updateTravel(event);
-        } catch (Exception e) {
-            log.error("Echec de la mise a jour du voyage {} : {}", event.travelId(), e.getMessage(), e);
-        }
+        return deadLetterRouter.guard(message, listenerPartitions.submit(RabbitMQConfig.TRAVEL_UPDATED_LISTENER, event.travelId(), () -> {
+            try {
+                graphSyncService.updateTravel(event);
+            } catch (Exception e) {
+                log.error("Echec de la mise a jour du voyage {} : {}", event.travelId(), e.getMessage(), e);
+                throw e;
+            }
+        }));
     }
 
-    @RabbitListener(queues = RabbitMQConfig.TRAVEL_DELETED_QUEUE)
-    public void handleTravelDeleted(TravelDeletedEvent event) {
+    @RabbitListener(id = RabbitMQConfig.TRAVEL_DELETED_LISTENER,
+            queues = RabbitMQConfig.TRAVEL_DELETED_QUEUE,
+            containerFactory = RabbitMQConfig.SYNC_LISTENER_FACTORY,
+            concurrency = "${rec.listener.travel-deleted.concurrency:1}")
+    public CompletableFuture<Void> handleTravelDeleted(TravelDeletedEvent event, Message message) {
         log.info("Evenement recu : TravelDeletedEvent, travelId={}", event.travelId());
 
-        try {
-            graphSyncService.deleteTravel(event.travelId());
-        } catch (Exception e) {
-            log.error("Echec de la suppression du voyage {} : {}", event.travelId(), e.getMessage(), e);
-        }
+        return deadLetterRouter.guard(message, listenerPartitions.submit(RabbitMQConfig.TRAVEL_DELETED_LISTENER, event.travelId(), () -> {
+            try {
+                graphSyncService.deleteTravel(event.travelId());
+            } catch (Exception e) {
+                log.error("Echec de la suppression du voyage {} : {}", event.travelId(), e.getMessage(), e);
+                throw e;
+            }
+        }));
     }
 
-    @RabbitListener(queues = RabbitMQConfig.SUBSCRIPTION_CREATED_QUEUE)
-    public void handleSubscriptionCreated(SubscriptionCreatedEvent event) {
+    /**
+     * Les souscriptions sont commutatives (MERGE) : plusieurs consommateurs sont possibles ; la partition
+     * par voyage evite la contention sur les compteurs du voyage.
+     */
+    @RabbitListener(id = RabbitMQConfig.SUBSCRIPTION_CREATED_LISTENER,
+            queues = RabbitMQConfig.SUBSCRIPTION_CREATED_QUEUE,
+            containerFactory = RabbitMQConfig.SYNC_LISTENER_FACTORY,
+            concurrency = "${rec.listener.subscription-created.concurrency:2}")
+    public CompletableFuture<Void> handleSubscriptionCreated(SubscriptionCreatedEvent event, Message message) {
         log.info("Evenement recu : SubscriptionCreatedEvent, travelerId={}, travelId={}",
                 event.travelerId(), event.travelId());
 
-        try {
-            graphSyncService.syncSubscription(event);
-        } catch (Exception e) {
-            log.error("Echec de la synchronisation de la souscription traveler={}, travel={} : {}",
-                    event.travelerId(), event.travelId(), e.getMessage(), e);
-        }
+        return deadLetterRouter.guard(message, listenerPartitions.submit(RabbitMQConfig.SUBSCRIPTION_CREATED_LISTENER, event.travelId(), () -> {
+            try {
+                graphSyncService.syncSubscription(event);
+            } catch (Exception e) {
+                log.error("Echec de la synchronisation de la souscription traveler={}, travel={} : {}",
+                        event.travelerId(), event.travelId(), e.getMessage(), e);
+                throw e;
+            }
+        }));
     }
 }
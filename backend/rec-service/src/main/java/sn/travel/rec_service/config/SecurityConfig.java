@@ -56,6 +56,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/reports").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/reports/{id}").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/reports/*/resolve").hasRole("ADMIN")
+                        // Administration du graphe : ADMIN uniquement
+                        .requestMatchers("/api/v1/recommendations/admin/**").hasRole("ADMIN")
                         // Tout le reste necessite une authentification
                         .anyRequest().authenticated()
                 )
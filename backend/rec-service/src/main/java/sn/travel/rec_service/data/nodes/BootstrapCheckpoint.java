@@ -0,0 +1,40 @@
+package sn.travel.rec_service.data.nodes;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.neo4j.core.schema.Id;
+import org.springframework.data.neo4j.core.schema.Node;
+
+import java.time.LocalDateTime;
+
+/**
+ * Avancement de l'amorcage du graphe, enregistre apres chaque page pour
+ * qu'une execution interrompue reprenne au dernier curseur.
+ */
+@Node("BootstrapCheckpoint")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BootstrapCheckpoint {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    public enum Phase { TRAVELS, SUBSCRIPTIONS, DONE }
+
+    @Id
+    private String id;
+
+    private State state;
+    private Phase phase;
+    private String travelCursor;
+    private String subscriptionCursor;
+    private long travelsLoaded;
+    private long subscriptionsLoaded;
+    private long subscriptionsSkipped;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
@@ -4,12 +4,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.neo4j.core.schema.Id;
 import org.springframework.data.neo4j.core.schema.Node;
 import org.springframework.data.neo4j.core.schema.Relationship;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -39,6 +41,23 @@ public class TravelNode {
     private String accommodationType;
     private String transportationType;
 
+    // Date de mise a jour cote travel-service : garde d'ordre des evenements (GraphSyncRepository.upsertTravels)
+    @ReadOnlyProperty
+    private LocalDateTime updatedAt;
+
+    // Compteurs de popularite maintenus en Cypher (TravelCounterRepository), jamais ecrits par SDN
+    @ReadOnlyProperty
+    private Long subscriptionCount;
+
+    @ReadOnlyProperty
+    private Long ratingSum;
+
+    @ReadOnlyProperty
+    private Long ratingCount;
+
+    @ReadOnlyProperty
+    private Double popularityScore;
+
     @Builder.Default
     @Relationship(type = "HAS_DESTINATION", direction = Relationship.Direction.OUTGOING)
     private List<DestinationNode> destinations = new ArrayList<>();
@@ -46,4 +65,11 @@ public class TravelNode {
     @Builder.Default
     @Relationship(type = "HAS_ACTIVITY", direction = Relationship.Direction.OUTGOING)
     private List<ActivityNode> activities = new ArrayList<>();
+
+    /**
+     * Note moyenne a partir des compteurs (null si aucune note).
+     */
+    public Double averageRating() {
+        return ratingCount != null && ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+    }
 }
@@ -0,0 +1,22 @@
+package sn.travel.rec_service.data.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Page du flux des paiements reussis du payment-service (GET /api/v1/payments/feed),
+ * c'est-a-dire des souscriptions confirmees.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PaymentFeedPage(
+        List<Item> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Item(UUID travelId, UUID travelerId, LocalDateTime createdAt) {}
+}
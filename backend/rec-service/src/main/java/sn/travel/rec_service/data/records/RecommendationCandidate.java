@@ -0,0 +1,20 @@
+package sn.travel.rec_service.data.records;
+
+import java.util.UUID;
+
+/**
+ * Voyage candidat a la recommandation et ses signaux (co-souscriptions depuis la projection en memoire,
+ * le reste depuis Neo4j).
+ *
+ * @param coSubscriptions    chemins moi -> voyage commun <- autre voyageur -> candidat
+ * @param sharedDestinations destinations en commun avec l'historique du voyageur
+ * @param sharedActivities   activites en commun avec l'historique du voyageur
+ * @param averageRating      note moyenne du candidat (null si aucune note)
+ */
+public record RecommendationCandidate(
+        UUID travelId,
+        long coSubscriptions,
+        long sharedDestinations,
+        long sharedActivities,
+        Double averageRating
+) {}
@@ -0,0 +1,52 @@
+package sn.travel.rec_service.data.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Page du flux des voyages du travel-service (GET /api/v1/travels/feed).
+ * Les champs de la reponse du travel-service non utilises par le graphe sont ignores.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TravelFeedPage(
+        List<Item> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Item(
+            UUID id,
+            UUID managerId,
+            String title,
+            String description,
+            LocalDate startDate,
+            LocalDate endDate,
+            Integer duration,
+            Double price,
+            Integer maxCapacity,
+            Integer currentBookings,
+            String status,
+            String accommodationType,
+            String accommodationName,
+            String transportationType,
+            String transportationDetails,
+            List<TravelCreatedEvent.DestinationData> destinations,
+            List<TravelCreatedEvent.ActivityData> activities,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) {
+        /**
+         * Meme forme que l'evenement de publication, pour reutiliser la synchronisation par lot.
+         */
+        public TravelCreatedEvent toEvent() {
+            return new TravelCreatedEvent(id, managerId, title, description, startDate, endDate, duration, price,
+                    maxCapacity, currentBookings, status, accommodationType, accommodationName, transportationType,
+                    transportationDetails, destinations, activities, createdAt, updatedAt);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package sn.travel.rec_service.data.records;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Souscriptions d'un voyageur, lues par pages pour construire la projection en memoire.
+ */
+public record TravelerSubscriptions(
+        UUID travelerId,
+        List<UUID> travelIds
+) {}
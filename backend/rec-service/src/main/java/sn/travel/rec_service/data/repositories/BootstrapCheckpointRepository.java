@@ -0,0 +1,12 @@
+package sn.travel.rec_service.data.repositories;
+
+import org.springframework.data.neo4j.repository.Neo4jRepository;
+import org.springframework.stereotype.Repository;
+import sn.travel.rec_service.data.nodes.BootstrapCheckpoint;
+
+/**
+ * Repository Neo4j pour le point de reprise de l'amorcage du graphe.
+ */
+@Repository
+public interface BootstrapCheckpointRepository extends Neo4jRepository<BootstrapCheckpoint, String> {
+}
@@ -0,0 +1,156 @@
+package sn.travel.rec_service.data.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+import sn.travel.rec_service.web.dto.responses.FeedbackResponse;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Requetes Cypher sur les relations RATED (feedbacks).
+ * Chaque requete part d'un noeud indexe (Travel/Traveler par id) ou d'un id de relation,
+ * son cout depend donc de la taille de la page et non de la taille du graphe.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FeedbackRepository {
+
+    private static final String RETURN_FEEDBACK =
+            "RETURN id(r) AS id, tr.id AS travelerId, t.id AS travelId, t.title AS travelTitle, " +
+            "r.rating AS rating, r.comment AS comment, r.createdAt AS createdAt ";
+
+    private final Neo4jClient neo4jClient;
+
+    public List<FeedbackResponse> findByTravel(UUID travelId, long skip, int limit) {
+        return neo4jClient.query(
+                        "MATCH (tr:Traveler)-[r:RATED]->(t:Travel {id: $travelId}) " +
+                        RETURN_FEEDBACK +
+                        "ORDER BY r.createdAt DESC SKIP $skip LIMIT $limit")
+                .bindAll(Map.of("travelId", travelId.toString(), "skip", skip, "limit", limit))
+                .fetchAs(FeedbackResponse.class)
+                .mappedBy((typeSystem, record) -> toFeedback(record))
+                .all()
+                .stream().toList();
+    }
+
+    public long countByTravel(UUID travelId) {
+        return neo4jClient.query("MATCH (:Traveler)-[r:RATED]->(:Travel {id: $travelId}) RETURN count(r)")
+                .bind(travelId.toString()).to("travelId")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+    }
+
+    public List<FeedbackResponse> findByTraveler(UUID travelerId, long skip, int limit) {
+        return neo4jClient.query(
+                        "MATCH (tr:Traveler {id: $travelerId})-[r:RATED]->(t:Travel) " +
+                        RETURN_FEEDBACK +
+                        "ORDER BY r.createdAt DESC SKIP $skip LIMIT $limit")
+                .bindAll(Map.of("travelerId", travelerId.toString(), "skip", skip, "limit", limit))
+                .fetchAs(FeedbackResponse.class)
+                .mappedBy((typeSystem, record) -> toFeedback(record))
+                .all()
+                .stream().toList();
+    }
+
+    public long countByTraveler(UUID travelerId) {
+        return neo4jClient.query("MATCH (:Traveler {id: $travelerId})-[r:RATED]->(:Travel) RETURN count(r)")
+                .bind(travelerId.toString()).to("travelerId")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+    }
+
+    public boolean exists(UUID travelerId, UUID travelId) {
+        return neo4jClient.query(
+                        "MATCH (:Traveler {id: $travelerId})-[r:RATED]->(:Travel {id: $travelId}) RETURN count(r) > 0")
+                .bindAll(Map.of("travelerId", travelerId.toString(), "travelId", travelId.toString()))
+                .fetchAs(Boolean.class)
+                .one()
+                .orElse(false);
+    }
+
+    /**
+     * Recherche directe par id de relation.
+     */
+    public Optional<FeedbackResponse> findById(Long feedbackId) {
+        return neo4jClient.query(
+                        "MATCH (tr:Traveler)-[r:RATED]->(t:Travel) WHERE id(r) = $feedbackId " +
+                        RETURN_FEEDBACK)
+                .bind(feedbackId).to("feedbackId")
+                .fetchAs(FeedbackResponse.class)
+                .mappedBy((typeSystem, record) -> toFeedback(record))
+                .one();
+    }
+
+    /**
+     * Cree la relation RATED (le voyageur est cree s'il n'existe pas encore).
+     *
+     * @return le feedback cree, vide si le voyage n'existe pas
+     */
+    public Optional<FeedbackResponse> create(UUID travelerId, UUID travelId, Integer rating, String comment,
+                                             LocalDateTime createdAt) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("travelerId", travelerId.toString());
+        params.put("travelId", travelId.toString());
+        params.put("rating", rating);
+        params.put("comment", comment);
+        params.put("createdAt", createdAt);
+
+        return neo4jClient.query(
+                        "MATCH (t:Travel {id: $travelId}) " +
+                        "MERGE (tr:Traveler {id: $travelerId}) ON CREATE SET tr.version = 0 " +
+                        "CREATE (tr)-[r:RATED {rating: $rating, comment: $comment, createdAt: $createdAt}]->(t) " +
+                        RETURN_FEEDBACK)
+                .bindAll(params)
+                .fetchAs(FeedbackResponse.class)
+                .mappedBy((typeSystem, record) -> toFeedback(record))
+                .one();
+    }
+
+    /**
+     * Met a jour la note et/ou le commentaire (les valeurs nulles sont ignorees).
+     */
+    public Optional<FeedbackResponse> update(Long feedbackId, Integer rating, String comment) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("feedbackId", feedbackId);
+        params.put("rating", rating);
+        params.put("comment", comment);
+
+        return neo4jClient.query(
+                        "MATCH (tr:Traveler)-[r:RATED]->(t:Travel) WHERE id(r) = $feedbackId " +
+                        "SET r.rating = coalesce($rating, r.rating), r.comment = coalesce($comment, r.comment) " +
+                        RETURN_FEEDBACK)
+                .bindAll(params)
+                .fetchAs(FeedbackResponse.class)
+                .mappedBy((typeSystem, record) -> toFeedback(record))
+                .one();
+    }
+
+    public void delete(Long feedbackId) {
+        neo4jClient.query("MATCH (:Traveler)-[r:RATED]->(:Travel) WHERE id(r) = $feedbackId DELETE r")
+                .bind(feedbackId).to("feedbackId")
+                .run();
+    }
+
+    private FeedbackResponse toFeedback(Record record) {
+        Value createdAt = record.get("createdAt");
+        return new FeedbackResponse(
+                record.get("id").asLong(),
+                UUID.fromString(record.get("travelerId").asString()),
+                UUID.fromString(record.get("travelId").asString()),
+                record.get("travelTitle").asString(null),
+                record.get("rating").isNull() ? null : record.get("rating").asInt(),
+                record.get("comment").asString(null),
+                createdAt.isNull() ? null : createdAt.asLocalDateTime()
+        );
+    }
+}
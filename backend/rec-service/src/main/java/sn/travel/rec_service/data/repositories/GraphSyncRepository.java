@@ -0,0 +1,127 @@
+package sn.travel.rec_service.data.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ecritures de synchronisation du graphe en une requete UNWIND ... MERGE par lot d'evenements.
+ * <p>
+ * Les MERGE s'appuient sur les contraintes d'unicite (travel_id, traveler_id, destination_key, activity_name) :
+ * deux consommateurs concurrents ne peuvent pas creer de doublons.
+ * Une destination est identifiee par sa cle naturelle {@code key} = nom|pays|ville.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GraphSyncRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    /**
+     * Expression Cypher de la cle naturelle d'une destination (partagee avec la migration de dedoublonnage).
+     */
+    public static String destinationKey(String alias) {
+        return "coalesce(" + alias + ".name, '') + '|' + coalesce(" + alias + ".country, '') + '|' + coalesce(" + alias + ".city, '')";
+    }
+
+    /**
+     * Cree ou met a jour des voyages et leurs relations HAS_DESTINATION/HAS_ACTIVITY.
+     * Seules les relations qui ne font plus partie du voyage sont supprimees ; les compteurs
+     * de popularite sont initialises a la creation.
+     * <p>
+     * Une ligne plus ancienne que le voyage stocke (updatedAt strictement anterieur) est ignoree :
+     * un evenement repasse par un palier de reessai ou un instantane d'amorcage ne peut pas ecraser
+     * une mise a jour plus recente. Les lignes d'un meme lot doivent porter des voyages distincts.
+     *
+     * @param travels lignes {id, title, description, price, startDate, endDate, status, accommodationType,
+     *                transportationType, updatedAt, destinations: [{name, country, city}], activities: [{name, description}]}
+     * @return voyages deja presents dont le statut ou la date de depart a change (leur eligibilite
+     *         aux recommandations a pu changer)
+     */
+    public List<UUID> upsertTravels(List<Map<String, Object>> travels) {
+        return neo4jClient.query(
+                        "UNWIND $travels AS row " +
+                        "OPTIONAL MATCH (old:Travel {id: row.id}) " +
+                        "WITH row, old " +
+                        "WHERE old IS NULL OR old.updatedAt IS NULL OR row.updatedAt IS NULL OR row.updatedAt >= old.updatedAt " +
+                        "WITH row, old IS NOT NULL " +
+                        "AND (coalesce(old.status, '') <> coalesce(row.status, '') " +
+                        "OR coalesce(toString(old.startDate), '') <> coalesce(toString(row.startDate), '')) AS changed " +
+                        "MERGE (t:Travel {id: row.id}) " +
+                        "ON CREATE SET t.version = 0, t.subscriptionCount = 0, t.ratingSum = 0, t.ratingCount = 0, " +
+                        "t.popularityScore = 0.0 " +
+                        "SET t.title = row.title, t.description = row.description, t.price = row.price, " +
+                        "t.startDate = row.startDate, t.endDate = row.endDate, t.status = row.status, " +
+                        "t.accommodationType = row.accommodationType, t.transportationType = row.transportationType, " +
+                        "t.updatedAt = coalesce(row.updatedAt, t.updatedAt), t.version = coalesce(t.version, 0) + 1 " +
+                        "WITH t, row, changed, [x IN row.destinations | " + destinationKey("x") + "] AS destinationKeys " +
+                        "CALL { " +
+                        "  WITH t, destinationKeys " +
+                        "  OPTIONAL MATCH (t)-[old:HAS_DESTINATION]->(d:Destination) " +
+                        "  WHERE NOT d.key IN destinationKeys " +
+                        "  DELETE old " +
+                        "} " +
+                        "CALL { " +
+                        "  WITH t, row " +
+                        "  UNWIND row.destinations AS x " +
+                        "  MERGE (d:Destination {key: " + destinationKey("x") + "}) " +
+                        "  ON CREATE SET d.name = x.name, d.country = x.country, d.city = x.city " +
+                        "  MERGE (t)-[:HAS_DESTINATION]->(d) " +
+                        "} " +
+                        "CALL { " +
+                        "  WITH t, row " +
+                        "  OPTIONAL MATCH (t)-[old:HAS_ACTIVITY]->(a:Activity) " +
+                        "  WHERE NOT a.name IN [x IN row.activities | x.name] " +
+                        "  DELETE old " +
+                        "} " +
+                        "CALL { " +
+                        "  WITH t, row " +
+                        "  UNWIND row.activities AS x " +
+                        "  MERGE (a:Activity {name: x.name}) " +
+                        "  ON CREATE SET a.description = x.description " +
+                        "  MERGE (t)-[:HAS_ACTIVITY]->(a) " +
+                        "} " +
+                        "WITH DISTINCT t, changed WHERE changed " +
+                        "RETURN t.id")
+                .bind(travels).to("travels")
+                .fetchAs(String.class)
+                .all()
+                .stream().map(UUID::fromString).toList();
+    }
+
+    /**
+     * Cree les relations SUBSCRIBED_TO (et les voyageurs manquants) ; une souscription deja presente
+     * n'est pas dupliquee et n'incremente pas le compteur du voyage.
+     * Les lignes d'un meme lot doivent etre distinctes.
+     *
+     * @param subscriptions lignes {travelerId, travelId, createdAt}
+     * @return une entree par souscription dont le voyage existe dans le graphe
+     */
+    public List<SubscriptionLink> linkSubscriptions(List<Map<String, Object>> subscriptions) {
+        return neo4jClient.query(
+                        "UNWIND $subscriptions AS row " +
+                        "MATCH (t:Travel {id: row.travelId}) " +
+                        "MERGE (u:Traveler {id: row.travelerId}) ON CREATE SET u.version = 0 " +
+                        "WITH u, t, row, EXISTS { (u)-[:SUBSCRIBED_TO]->(t) } AS existed " +
+                        "MERGE (u)-[s:SUBSCRIBED_TO]->(t) ON CREATE SET s.createdAt = row.createdAt " +
+                        "FOREACH (_ IN CASE WHEN existed THEN [] ELSE [1] END | " +
+                        "  SET t.subscriptionCount = coalesce(t.subscriptionCount, 0) + 1 " +
+                        "  " + TravelCounterRepository.UPDATE_SCORE +
+                        ") " +
+                        "RETURN u.id AS travelerId, t.id AS travelId, NOT existed AS created")
+                .bind(subscriptions).to("subscriptions")
+                .fetchAs(SubscriptionLink.class)
+                .mappedBy((typeSystem, record) -> new SubscriptionLink(
+                        UUID.fromString(record.get("travelerId").asString()),
+                        UUID.fromString(record.get("travelId").asString()),
+                        record.get("created").asBoolean()))
+                .all()
+                .stream().toList();
+    }
+
+    public record SubscriptionLink(UUID travelerId, UUID travelId, boolean created) {}
+}
@@ -0,0 +1,198 @@
+package sn.travel.rec_service.data.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+import sn.travel.rec_service.data.records.RecommendationCandidate;
+import sn.travel.rec_service.data.records.TravelerSubscriptions;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Requetes Cypher sur les recommandations materialisees :
+ * (:Traveler)-[:RECOMMENDED {rank, computedAt}]->(:Travel), avec la date du dernier calcul
+ * stockee sur le voyageur (recommendationsComputedAt).
+ */
+@Repository
+@RequiredArgsConstructor
+public class RecommendationRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    /**
+     * Remplace la liste materialisee d'un voyageur (l'ordre de travelIds donne le rang).
+     */
+    public void replaceMaterialized(UUID travelerId, List<UUID> travelIds, LocalDateTime computedAt) {
+        List<String> ids = travelIds.stream().map(UUID::toString).toList();
+
+        neo4jClient.query(
+                        "MERGE (me:Traveler {id: $travelerId}) ON CREATE SET me.version = 0 " +
+                        "SET me.recommendationsComputedAt = $computedAt " +
+                        "WITH me " +
+                        "OPTIONAL MATCH (me)-[old:RECOMMENDED]->() " +
+                        "DELETE old " +
+                        "WITH DISTINCT me " +
+                        "UNWIND range(0, size($travelIds) - 1) AS rank " +
+                        "MATCH (t:Travel {id: $travelIds[rank]}) " +
+                        "CREATE (me)-[:RECOMMENDED {rank: rank, computedAt: $computedAt}]->(t)")
+                .bindAll(Map.of("travelerId", travelerId.toString(), "travelIds", ids, "computedAt", computedAt))
+                .run();
+    }
+
+    /**
+     * Date du dernier calcul, vide si la liste n'a jamais ete materialisee.
+     */
+    public Optional<LocalDateTime> findComputedAt(UUID travelerId) {
+        return neo4jClient.query(
+                        "MATCH (me:Traveler {id: $travelerId}) " +
+                        "WHERE me.recommendationsComputedAt IS NOT NULL " +
+                        "RETURN me.recommendationsComputedAt")
+                .bind(travelerId.toString()).to("travelerId")
+                .fetchAs(LocalDateTime.class)
+                .one();
+    }
+
+    /**
+     * Candidats d'un voyageur avec leurs signaux, en une seule requete : les co-souscriptions viennent
+     * de la projection en memoire (coSubscriptions), les destinations/activites communes et la note de Neo4j.
+     * Exclut les voyages deja souscrits, annules ou deja partis.
+     */
+    public List<RecommendationCandidate> findCandidates(UUID travelerId, Map<UUID, Long> coSubscriptions,
+                                                        LocalDate today) {
+        List<String> coTravelIds = coSubscriptions.keySet().stream().map(UUID::toString).toList();
+
+        return neo4jClient.query(
+                        "MATCH (me:Traveler {id: $travelerId}) " +
+                        "CALL { " +
+                        "  WITH me " +
+                        "  UNWIND $coTravelIds AS coTravelId " +
+                        "  MATCH (rec:Travel {id: coTravelId}) " +
+                        "  RETURN rec, 0 AS dest, 0 AS act " +
+                        "  UNION ALL " +
+                        "  WITH me " +
+                        "  MATCH (me)-[:SUBSCRIBED_TO]->(:Travel)-[:HAS_DESTINATION]->(d:Destination)<-[:HAS_DESTINATION]-(rec:Travel) " +
+                        "  RETURN rec, count(DISTINCT d) AS dest, 0 AS act " +
+                        "  UNION ALL " +
+                        "  WITH me " +
+                        "  MATCH (me)-[:SUBSCRIBED_TO]->(:Travel)-[:HAS_ACTIVITY]->(a:Activity)<-[:HAS_ACTIVITY]-(rec:Travel) " +
+                        "  RETURN rec, 0 AS dest, count(DISTINCT a) AS act " +
+                        "} " +
+                        "WITH me, rec, sum(dest) AS dest, sum(act) AS act " +
+                        "WHERE NOT (me)-[:SUBSCRIBED_TO]->(rec) " +
+                        "AND coalesce(rec.status, '') <> 'CANCELLED' " +
+                        "AND (rec.startDate IS NULL OR rec.startDate >= $today) " +
+                        "RETURN rec.id AS travelId, dest, act, " +
+                        "CASE WHEN rec.ratingCount > 0 THEN toFloat(rec.ratingSum) / rec.ratingCount END AS averageRating")
+                .bindAll(Map.of("travelerId", travelerId.toString(), "coTravelIds", coTravelIds, "today", today))
+                .fetchAs(RecommendationCandidate.class)
+                .mappedBy((typeSystem, record) -> {
+                    UUID travelId = UUID.fromString(record.get("travelId").asString());
+                    return new RecommendationCandidate(
+                            travelId,
+                            coSubscriptions.getOrDefault(travelId, 0L),
+                            record.get("dest").asLong(),
+                            record.get("act").asLong(),
+                            record.get("averageRating").isNull() ? null : record.get("averageRating").asDouble());
+                })
+                .all()
+                .stream().toList();
+    }
+
+    /**
+     * Note moyenne et nombre de souscriptions de plusieurs voyages en une seule requete, calcules
+     * depuis les relations : sert aux voyages dont les compteurs ne sont pas encore initialises.
+     *
+     * @return statistiques indexees par id de voyage (les voyages inconnus sont absents)
+     */
+    public Map<UUID, TravelStats> findStats(Collection<UUID> travelIds) {
+        if (travelIds.isEmpty()) {
+            return Map.of();
+        }
+        List<String> ids = travelIds.stream().map(UUID::toString).toList();
+
+        Map<UUID, TravelStats> stats = new HashMap<>();
+        neo4jClient.query(
+                        "UNWIND $travelIds AS travelId " +
+                        "MATCH (t:Travel {id: travelId}) " +
+                        "CALL { WITH t OPTIONAL MATCH (:Traveler)-[r:RATED]->(t) RETURN avg(r.rating) AS averageRating } " +
+                        "RETURN t.id AS travelId, averageRating, " +
+                        "COUNT { (:Traveler)-[:SUBSCRIBED_TO]->(t) } AS subscriptionCount")
+                .bind(ids).to("travelIds")
+                .fetch()
+                .all()
+                .forEach(row -> stats.put(
+                        UUID.fromString((String) row.get("travelId")),
+                        new TravelStats(
+                                row.get("averageRating") != null ? ((Number) row.get("averageRating")).doubleValue() : null,
+                                ((Number) row.get("subscriptionCount")).longValue())));
+        return stats;
+    }
+
+    /**
+     * Voyageurs ayant souscrit au voyage : leur voisinage collaboratif change quand
+     * une nouvelle souscription y arrive.
+     */
+    public List<UUID> findSubscribers(UUID travelId, int limit) {
+        return neo4jClient.query(
+                        "MATCH (:Travel {id: $travelId})<-[:SUBSCRIBED_TO]-(other:Traveler) " +
+                        "RETURN other.id LIMIT $limit")
+                .bindAll(Map.of("travelId", travelId.toString(), "limit", limit))
+                .fetchAs(String.class)
+                .all()
+                .stream().map(UUID::fromString).toList();
+    }
+
+    /**
+     * Voyageurs a qui le voyage est actuellement recommande : leur liste est a revoir quand
+     * le voyage est annule ou change de date.
+     */
+    public List<UUID> findRecommendedTo(UUID travelId, int limit) {
+        return neo4jClient.query(
+                        "MATCH (:Travel {id: $travelId})<-[:RECOMMENDED]-(other:Traveler) " +
+                        "RETURN other.id LIMIT $limit")
+                .bindAll(Map.of("travelId", travelId.toString(), "limit", limit))
+                .fetchAs(String.class)
+                .all()
+                .stream().map(UUID::fromString).toList();
+    }
+
+    /**
+     * Page de souscriptions par voyageur, en keyset sur l'id (index de la contrainte traveler_id).
+     * Les voyageurs sans souscription sont renvoyes avec une liste vide pour que la pagination avance.
+     *
+     * @param afterTravelerId dernier voyageur de la page precedente, null pour la premiere page
+     */
+    public List<TravelerSubscriptions> findSubscriptionsPage(UUID afterTravelerId, int limit) {
+        return neo4jClient.query(
+                        "MATCH (u:Traveler) " +
+                        "WHERE u.id > $afterTravelerId " +
+                        "WITH u ORDER BY u.id LIMIT $limit " +
+                        "OPTIONAL MATCH (u)-[:SUBSCRIBED_TO]->(t:Travel) " +
+                        "RETURN u.id AS travelerId, collect(t.id) AS travelIds " +
+                        "ORDER BY travelerId")
+                .bindAll(Map.of(
+                        "afterTravelerId", afterTravelerId != null ? afterTravelerId.toString() : "",
+                        "limit", limit))
+                .fetchAs(TravelerSubscriptions.class)
+                .mappedBy((typeSystem, record) -> new TravelerSubscriptions(
+                        UUID.fromString(record.get("travelerId").asString()),
+                        record.get("travelIds").asList(value -> UUID.fromString(value.asString()))))
+                .all()
+                .stream().toList();
+    }
+
+    /**
+     * Statistiques d'un voyage affichees avec chaque recommandation.
+     */
+    public record TravelStats(Double averageRating, long subscriptionCount) {
+
+        public static final TravelStats EMPTY = new TravelStats(null, 0L);
+    }
+}
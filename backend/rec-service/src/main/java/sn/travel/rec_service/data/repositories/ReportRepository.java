@@ -0,0 +1,136 @@
+package sn.travel.rec_service.data.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+import sn.travel.rec_service.data.enums.ReportStatus;
+import sn.travel.rec_service.web.dto.responses.ReportResponse;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Requetes Cypher sur les relations REPORTED (signalements).
+ * Les listes ne parcourent que les relations REPORTED (filtrees par l'index sur status),
+ * jamais l'ensemble des voyageurs ; lecture et resolution se font par id de relation.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReportRepository {
+
+    private static final String RETURN_REPORT =
+            "RETURN id(r) AS id, reporter.id AS reporterId, reported.id AS reportedUserId, r.reason AS reason, " +
+            "r.status AS status, r.createdAt AS createdAt, r.resolvedAt AS resolvedAt ";
+
+    private final Neo4jClient neo4jClient;
+
+    /**
+     * Page de signalements, du plus recent au plus ancien.
+     *
+     * @param status filtre optionnel (null = tous)
+     */
+    public List<ReportResponse> findAll(ReportStatus status, long skip, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", status != null ? status.name() : null);
+        params.put("skip", skip);
+        params.put("limit", limit);
+
+        return neo4jClient.query(
+                        "MATCH (reporter:Traveler)-[r:REPORTED]->(reported:Traveler) " +
+                        statusFilter(status) +
+                        RETURN_REPORT +
+                        "ORDER BY r.createdAt DESC SKIP $skip LIMIT $limit")
+                .bindAll(params)
+                .fetchAs(ReportResponse.class)
+                .mappedBy((typeSystem, record) -> toReport(record))
+                .all()
+                .stream().toList();
+    }
+
+    public long count(ReportStatus status) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", status != null ? status.name() : null);
+
+        return neo4jClient.query(
+                        "MATCH (:Traveler)-[r:REPORTED]->(:Traveler) " +
+                        statusFilter(status) +
+                        "RETURN count(r)")
+                .bindAll(params)
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+    }
+
+    public Optional<ReportResponse> findById(Long reportId) {
+        return neo4jClient.query(
+                        "MATCH (reporter:Traveler)-[r:REPORTED]->(reported:Traveler) WHERE id(r) = $reportId " +
+                        RETURN_REPORT)
+                .bind(reportId).to("reportId")
+                .fetchAs(ReportResponse.class)
+                .mappedBy((typeSystem, record) -> toReport(record))
+                .one();
+    }
+
+    /**
+     * Cree la relation REPORTED (les deux voyageurs sont crees s'ils n'existent pas encore).
+     */
+    public ReportResponse create(UUID reporterId, UUID reportedUserId, String reason, LocalDateTime createdAt) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("reporterId", reporterId.toString());
+        params.put("reportedUserId", reportedUserId.toString());
+        params.put("reason", reason);
+        params.put("status", ReportStatus.PENDING.name());
+        params.put("createdAt", createdAt);
+
+        return neo4jClient.query(
+                        "MERGE (reporter:Traveler {id: $reporterId}) ON CREATE SET reporter.version = 0 " +
+                        "MERGE (reported:Traveler {id: $reportedUserId}) ON CREATE SET reported.version = 0 " +
+                        "CREATE (reporter)-[r:REPORTED {reason: $reason, status: $status, createdAt: $createdAt}]->(reported) " +
+                        RETURN_REPORT)
+                .bindAll(params)
+                .fetchAs(ReportResponse.class)
+                .mappedBy((typeSystem, record) -> toReport(record))
+                .one()
+                .orElseThrow();
+    }
+
+    /**
+     * Passe un signalement au statut RESOLVED.
+     *
+     * @return le signalement mis a jour, vide s'il n'existe pas
+     */
+    public Optional<ReportResponse> resolve(Long reportId, LocalDateTime resolvedAt) {
+        return neo4jClient.query(
+                        "MATCH (reporter:Traveler)-[r:REPORTED]->(reported:Traveler) WHERE id(r) = $reportId " +
+                        "SET r.status = $status, r.resolvedAt = $resolvedAt " +
+                        RETURN_REPORT)
+                .bindAll(Map.of("reportId", reportId, "status", ReportStatus.RESOLVED.name(), "resolvedAt", resolvedAt))
+                .fetchAs(ReportResponse.class)
+                .mappedBy((typeSystem, record) -> toReport(record))
+                .one();
+    }
+
+    private String statusFilter(ReportStatus status) {
+        return status != null ? "WHERE r.status = $status " : "";
+    }
+
+    private ReportResponse toReport(Record record) {
+        Value resolvedAt = record.get("resolvedAt");
+        Value createdAt = record.get("createdAt");
+        return new ReportResponse(
+                record.get("id").asLong(),
+                UUID.fromString(record.get("reporterId").asString()),
+                UUID.fromString(record.get("reportedUserId").asString()),
+                record.get("reason").asString(null),
+                record.get("status").asString(null),
+                createdAt.isNull() ? null : createdAt.asLocalDateTime(),
+                resolvedAt.isNull() ? null : resolvedAt.asLocalDateTime()
+        );
+    }
+}
@@ -0,0 +1,63 @@
+package sn.travel.rec_service.data.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintenance des compteurs de popularite des noeuds Travel
+ * (subscriptionCount, ratingSum, ratingCount, popularityScore).
+ * <p>
+ * Les compteurs sont initialises et les souscriptions comptees par GraphSyncRepository, dans les requetes
+ * de synchronisation. Les increments sont atomiques cote Neo4j ; le score classe d'abord par nombre de souscriptions,
+ * puis par note moyenne (moyenne / 10 &lt; 1), comme l'ancienne agregation.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TravelCounterRepository {
+
+    static final String UPDATE_SCORE =
+            "SET t.popularityScore = t.subscriptionCount + " +
+            "CASE WHEN t.ratingCount > 0 THEN toFloat(t.ratingSum) / t.ratingCount / 10 ELSE 0.0 END ";
+
+    private final Neo4jClient neo4jClient;
+
+    /**
+     * Applique la variation d'une note (creation : +note/+1, modification : +delta/0, suppression : -note/-1).
+     */
+    public void applyRating(UUID travelId, long ratingSumDelta, long ratingCountDelta) {
+        neo4jClient.query(
+                        "MATCH (t:Travel {id: $travelId}) " +
+                        "SET t.ratingSum = coalesce(t.ratingSum, 0) + $sumDelta, " +
+                        "t.ratingCount = coalesce(t.ratingCount, 0) + $countDelta, " +
+                        "t.subscriptionCount = coalesce(t.subscriptionCount, 0) " +
+                        UPDATE_SCORE)
+                .bindAll(Map.of("travelId", travelId.toString(), "sumDelta", ratingSumDelta, "countDelta", ratingCountDelta))
+                .run();
+    }
+
+    /**
+     * Calcule les compteurs d'au plus batchSize voyages qui n'en ont pas encore
+     * (graphe anterieur a leur introduction). A rappeler jusqu'a ce qu'il renvoie 0.
+     *
+     * @return nombre de voyages initialises
+     */
+    public long backfillMissing(int batchSize) {
+        return neo4jClient.query(
+                        "MATCH (t:Travel) WHERE t.popularityScore IS NULL " +
+                        "WITH t LIMIT $batchSize " +
+                        "OPTIONAL MATCH (:Traveler)-[r:RATED]->(t) " +
+                        "WITH t, coalesce(sum(r.rating), 0) AS ratingSum, count(r) AS ratingCount " +
+                        "SET t.subscriptionCount = COUNT { (:Traveler)-[:SUBSCRIBED_TO]->(t) }, " +
+                        "t.ratingSum = ratingSum, t.ratingCount = ratingCount " +
+                        UPDATE_SCORE +
+                        "RETURN count(t)")
+                .bind(batchSize).to("batchSize")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+    }
+}
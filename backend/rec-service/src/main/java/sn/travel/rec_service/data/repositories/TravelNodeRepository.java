@@ -6,6 +6,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import sn.travel.rec_service.data.nodes.TravelNode;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,17 +17,33 @@ import java.util.UUID;
 public interface TravelNodeRepository extends Neo4jRepository<TravelNode, UUID> {
 
     /**
-     * Voyages les plus populaires (nombre de souscriptions + note moyenne).
+     * Voyages les plus populaires : top-K lu dans l'ordre de l'index sur popularityScore
+     * (compteurs maintenus par TravelCounterRepository).
      */
-    @Query("MATCH (t:Travel) " +
-           "OPTIONAL MATCH (tr:Traveler)-[s:SUBSCRIBED_TO]->(t) " +
-           "OPTIONAL MATCH (tr2:Traveler)-[r:RATED]->(t) " +
-           "WITH t, count(DISTINCT s) AS subCount, avg(r.rating) AS avgRating " +
-           "RETURN t " +
-           "ORDER BY subCount DESC, avgRating DESC " +
-           "LIMIT $limit")
+    @Query("MATCH (t:Travel) WHERE t.popularityScore IS NOT NULL " +
+           "WITH t ORDER BY t.popularityScore DESC LIMIT $limit " +
+           "OPTIONAL MATCH (t)-[hd:HAS_DESTINATION]->(d:Destination) " +
+           "OPTIONAL MATCH (t)-[ha:HAS_ACTIVITY]->(a:Activity) " +
+           "RETURN t, collect(DISTINCT hd), collect(DISTINCT d), collect(DISTINCT ha), collect(DISTINCT a) " +
+           "ORDER BY t.popularityScore DESC")
     List<TravelNode> findPopular(@Param("limit") int limit);
 
+    /**
+     * Recommandations materialisees d'un voyageur, dans l'ordre du rang (une seule requete,
+     * destinations et activites incluses). Les voyages annules ou deja partis depuis le calcul
+     * sont ecartes a la lecture, en attendant le recalcul de la liste.
+     */
+    @Query("MATCH (:Traveler {id: $travelerId})-[r:RECOMMENDED]->(t:Travel) " +
+           "WHERE coalesce(t.status, '') <> 'CANCELLED' " +
+           "AND (t.startDate IS NULL OR t.startDate >= $today) " +
+           "WITH t, r.rank AS rank ORDER BY rank LIMIT $limit " +
+           "OPTIONAL MATCH (t)-[hd:HAS_DESTINATION]->(d:Destination) " +
+           "OPTIONAL MATCH (t)-[ha:HAS_ACTIVITY]->(a:Activity) " +
+           "RETURN t, collect(DISTINCT hd), collect(DISTINCT d), collect(DISTINCT ha), collect(DISTINCT a), rank " +
+           "ORDER BY rank")
+    List<TravelNode> findRecommendedFor(@Param("travelerId") UUID travelerId, @Param("today") LocalDate today,
+                                        @Param("limit") int limit);
+
     /**
      * Voyages similaires (partageant des destinations avec le voyage donne).
      */
@@ -36,18 +53,4 @@ public interface TravelNodeRepository extends Neo4jRepository<TravelNode, UUID>
            "ORDER BY similar.title " +
            "LIMIT $limit")
     List<TravelNode> findSimilar(@Param("travelId") UUID travelId, @Param("limit") int limit);
-
-    /**
-     * Note moyenne d'un voyage.
-     */
-    @Query("MATCH (tr:Traveler)-[r:RATED]->(t:Travel {id: $travelId}) " +
-           "RETURN avg(r.rating)")
-    Double findAverageRating(@Param("travelId") UUID travelId);
-
-    /**
-     * Nombre de souscriptions pour un voyage.
-     */
-    @Query("MATCH (tr:Traveler)-[:SUBSCRIBED_TO]->(t:Travel {id: $travelId}) " +
-           "RETURN count(tr)")
-    Long countSubscriptions(@Param("travelId") UUID travelId);
 }
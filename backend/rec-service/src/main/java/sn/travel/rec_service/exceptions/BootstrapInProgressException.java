@@ -0,0 +1,19 @@
+package sn.travel.rec_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception levee lorsqu'un amorcage du graphe est demande alors qu'un autre est en cours.
+ */
+public class BootstrapInProgressException extends RecServiceException {
+
+    private static final String ERROR_CODE = "REC_005";
+
+    public BootstrapInProgressException() {
+        super(
+                "Un amorcage du graphe est deja en cours",
+                ERROR_CODE,
+                HttpStatus.CONFLICT
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package sn.travel.rec_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception levee lorsqu'une operation sur les lettres mortes vise une file non consommee par ce service.
+ */
+public class UnknownQueueException extends RecServiceException {
+    private static final String ERROR_CODE = "REC_006";
+
+    public UnknownQueueException(String queue) {
+        super(
+                String.format("Aucune file de lettres mortes pour la file : %s", queue),
+                ERROR_CODE,
+                HttpStatus.NOT_FOUND
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package sn.travel.rec_service.services;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Filtrage collaboratif sur une projection en memoire du graphe des souscriptions.
+ * La projection est construite au demarrage depuis Neo4j et tenue a jour par les evenements.
+ */
+public interface CollaborativeFilteringService {
+
+    /**
+     * Reconstruit entierement la projection depuis Neo4j.
+     */
+    void rebuild();
+
+    void addSubscription(UUID travelerId, UUID travelId);
+
+    void removeTravel(UUID travelId);
+
+    /**
+     * Fusionne dans la projection les souscriptions et suppressions en attente.
+     * Appele periodiquement, et avant chaque recalcul des recommandations.
+     */
+    void mergePending();
+
+    /**
+     * Voyages non souscrits et leur nombre de co-souscriptions, par compte decroissant.
+     */
+    Map<UUID, Long> coSubscriptionCounts(UUID travelerId, int maxCandidates);
+}
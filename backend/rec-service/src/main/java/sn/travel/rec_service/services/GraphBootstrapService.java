@@ -0,0 +1,23 @@
+package sn.travel.rec_service.services;
+
+import sn.travel.rec_service.web.dto.responses.BootstrapStatusResponse;
+
+/**
+ * Amorcage complet du graphe depuis les services sources : voyages publies (travel-service)
+ * puis souscriptions confirmees (historique des paiements du payment-service).
+ */
+public interface GraphBootstrapService {
+
+    /**
+     * Lance l'amorcage en arriere-plan.
+     *
+     * @param resume reprendre la derniere execution inachevee a son point de reprise au lieu de recommencer
+     * @return l'etat initial du traitement
+     */
+    BootstrapStatusResponse start(boolean resume);
+
+    /**
+     * Etat du traitement en cours (ou du dernier).
+     */
+    BootstrapStatusResponse getStatus();
+}
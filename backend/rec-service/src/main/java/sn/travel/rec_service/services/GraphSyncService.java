@@ -4,18 +4,26 @@ import sn.travel.rec_service.data.records.SubscriptionCreatedEvent;
 import sn.travel.rec_service.data.records.TravelCreatedEvent;
 import sn.travel.rec_service.data.records.TravelUpdatedEvent;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Service de synchronisation du graphe Neo4j a partir des evenements RabbitMQ.
+ * Les variantes par lot appliquent tous les evenements en une requete et une transaction.
  */
 public interface GraphSyncService {
 
     void syncTravel(TravelCreatedEvent event);
 
+    void syncTravels(List<TravelCreatedEvent> events);
+
     void updateTravel(TravelUpdatedEvent event);
 
+    void updateTravels(List<TravelUpdatedEvent> events);
+
     void deleteTravel(UUID travelId);
 
     void syncSubscription(SubscriptionCreatedEvent event);
+
+    void syncSubscriptions(List<SubscriptionCreatedEvent> events);
 }
@@ -0,0 +1,32 @@
+package sn.travel.rec_service.services;
+
+import java.util.UUID;
+
+/**
+ * Suivi des recommandations materialisees a recalculer.
+ * Les evenements marquent les voyageurs concernes, un job en arriere-plan les recalcule.
+ */
+public interface RecommendationRefreshService {
+
+    /**
+     * Marque la liste d'un voyageur comme obsolete (feedback, nouvelle souscription).
+     */
+    void markStale(UUID travelerId);
+
+    /**
+     * Marque comme obsoletes les listes des voyageurs abonnes a ce voyage
+     * (leur voisinage collaboratif a change).
+     */
+    void markSubscribersStale(UUID travelId);
+
+    /**
+     * Marque comme obsoletes les listes des abonnes du voyage et des voyageurs a qui il est recommande
+     * (changement de statut ou de date de depart).
+     */
+    void markTravelChanged(UUID travelId);
+
+    /**
+     * Recalcule les listes marquees (appele periodiquement).
+     */
+    void refreshStale();
+}
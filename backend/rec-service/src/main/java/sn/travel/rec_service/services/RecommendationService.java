@@ -10,9 +10,18 @@ import java.util.UUID;
  */
 public interface RecommendationService {
 
+    /**
+     * Recommandations personnalisees, lues depuis la liste materialisee du voyageur
+     * (calculee a la volee si elle n'existe pas encore).
+     */
     List<RecommendationResponse> getPersonalized(UUID travelerId, int limit);
 
     List<RecommendationResponse> getPopular(int limit);
 
     List<RecommendationResponse> getSimilar(UUID travelId, int limit);
+
+    /**
+     * Recalcule et materialise la liste de recommandations d'un voyageur.
+     */
+    void refresh(UUID travelerId);
 }
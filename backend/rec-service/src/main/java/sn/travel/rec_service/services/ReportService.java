@@ -1,5 +1,6 @@
 package sn.travel.rec_service.services;
 
+import sn.travel.rec_service.data.enums.ReportStatus;
 import sn.travel.rec_service.web.dto.requests.CreateReportRequest;
 import sn.travel.rec_service.web.dto.responses.PageResponse;
 import sn.travel.rec_service.web.dto.responses.ReportResponse;
@@ -13,7 +14,10 @@ public interface ReportService {
 
     ReportResponse create(UUID reporterId, CreateReportRequest request);
 
-    PageResponse<ReportResponse> getAll(int page, int size);
+    /**
+     * Liste paginee des signalements, filtree par statut si fourni (null = tous).
+     */
+    PageResponse<ReportResponse> getAll(ReportStatus status, int page, int size);
 
     ReportResponse getById(Long reportId);
 
@@ -0,0 +1,37 @@
+package sn.travel.rec_service.services.clients;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import sn.travel.rec_service.data.records.PaymentFeedPage;
+
+/**
+ * Client HTTP du flux des paiements du payment-service : un paiement SUCCESS est une souscription confirmee.
+ */
+@Component
+public class PaymentFeedClient {
+
+    private final RestClient restClient;
+
+    public PaymentFeedClient(@Value("${rec.bootstrap.payment-service-uri:http://localhost:8083}") String paymentServiceUri) {
+        this.restClient = RestClient.builder().baseUrl(paymentServiceUri).build();
+    }
+
+    /**
+     * Page de paiements reussis suivant le curseur donne (null pour la premiere page).
+     */
+    public PaymentFeedPage fetchSucceeded(String cursor, int size) {
+        return restClient.get()
+                .uri(uri -> {
+                    uri.path("/api/v1/payments/feed")
+                            .queryParam("status", "SUCCESS")
+                            .queryParam("size", size);
+                    if (cursor != null) {
+                        uri.queryParam("cursor", cursor);
+                    }
+                    return uri.build();
+                })
+                .retrieve()
+                .body(PaymentFeedPage.class);
+    }
+}
@@ -0,0 +1,39 @@
+package sn.travel.rec_service.services.clients;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import sn.travel.rec_service.data.records.TravelFeedPage;
+
+import java.util.Collection;
+
+/**
+ * Client HTTP du flux des voyages du travel-service (source de verite pour l'amorcage du graphe).
+ */
+@Component
+public class TravelFeedClient {
+
+    private final RestClient restClient;
+
+    public TravelFeedClient(@Value("${rec.bootstrap.travel-service-uri:http://localhost:8082}") String travelServiceUri) {
+        this.restClient = RestClient.builder().baseUrl(travelServiceUri).build();
+    }
+
+    /**
+     * Page de voyages ayant l'un des statuts donnes, suivant le curseur donne (null pour la premiere page).
+     */
+    public TravelFeedPage fetch(Collection<String> statuses, String cursor, int size) {
+        return restClient.get()
+                .uri(uri -> {
+                    uri.path("/api/v1/travels/feed")
+                            .queryParam("status", statuses.toArray())
+                            .queryParam("size", size);
+                    if (cursor != null) {
+                        uri.queryParam("cursor", cursor);
+                    }
+                    return uri.build();
+                })
+                .retrieve()
+                .body(TravelFeedPage.class);
+    }
+}
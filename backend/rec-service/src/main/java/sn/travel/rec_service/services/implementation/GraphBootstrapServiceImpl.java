@@ -0,0 +1,332 @@
+package sn.travel.rec_service.services.implementation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import sn.travel.rec_service.data.nodes.BootstrapCheckpoint;
+import sn.travel.rec_service.data.nodes.BootstrapCheckpoint.Phase;
+import sn.travel.rec_service.data.nodes.BootstrapCheckpoint.State;
+import sn.travel.rec_service.data.records.PaymentFeedPage;
+import sn.travel.rec_service.data.records.TravelCreatedEvent;
+import sn.travel.rec_service.data.records.TravelFeedPage;
+import sn.travel.rec_service.data.repositories.BootstrapCheckpointRepository;
+import sn.travel.rec_service.data.repositories.GraphSyncRepository;
+import sn.travel.rec_service.exceptions.BootstrapInProgressException;
+import sn.travel.rec_service.services.CollaborativeFilteringService;
+import sn.travel.rec_service.services.GraphBootstrapService;
+import sn.travel.rec_service.services.GraphSyncService;
+import sn.travel.rec_service.services.clients.PaymentFeedClient;
+import sn.travel.rec_service.services.clients.TravelFeedClient;
+import sn.travel.rec_service.web.dto.responses.BootstrapStatusResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation de l'amorcage du graphe.
+ * <p>
+ * Deroulement :
+ * 1. Voyages : flux keyset du travel-service, chaque page ecrite en morceaux paralleles (UNWIND ... MERGE).
+ *    Tous les statuts pouvant porter une souscription sont charges (pas seulement PUBLISHED), sinon les
+ *    souscriptions des voyages annules ou termines seraient perdues a l'etape suivante
+ * 2. Souscriptions : flux keyset des paiements SUCCESS, morceaux partitionnes par voyage
+ *    (deux ecrivains ne verrouillent jamais le meme noeud Travel). Les souscriptions dont le voyage est
+ *    absent du graphe (voyage supprime) sont ignorees, comptees et rapportees dans l'etat de l'amorcage
+ * 3. Point de reprise enregistre apres chaque page ; la page suivante est lue pendant l'ecriture de la courante
+ * 4. Reconstruction de la projection collaborative en memoire
+ * <p>
+ * Les ecritures sont des MERGE idempotents : rejouer une page deja partiellement ecrite est sans effet.
+ * Les recommandations materialisees sont calculees a la premiere lecture de chaque voyageur.
+ */
+@Service
+@Slf4j
+public class GraphBootstrapServiceImpl implements GraphBootstrapService {
+
+    private static final String CHECKPOINT_ID = "graph";
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    // Les brouillons ne peuvent pas avoir de souscription et ne sont pas exposes par le flux
+    private static final List<String> TRAVEL_STATUSES = List.of("PUBLISHED", "CANCELLED", "COMPLETED");
+
+    private final TravelFeedClient travelFeedClient;
+    private final PaymentFeedClient paymentFeedClient;
+    private final GraphSyncService graphSyncService;
+    private final GraphSyncRepository graphSyncRepository;
+    private final BootstrapCheckpointRepository checkpointRepository;
+    private final CollaborativeFilteringService collaborativeFilteringService;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(r -> new Thread(r, "graph-bootstrap"));
+    private final ExecutorService writers;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile double travelsPerSecond;
+    private volatile double subscriptionsPerSecond;
+
+    @Value("${rec.bootstrap.page-size:1000}")
+    private int pageSize;
+
+    @Value("${rec.bootstrap.chunk-size:250}")
+    private int chunkSize;
+
+    private final int writerThreads;
+
+    public GraphBootstrapServiceImpl(TravelFeedClient travelFeedClient,
+                                     PaymentFeedClient paymentFeedClient,
+                                     GraphSyncService graphSyncService,
+                                     GraphSyncRepository graphSyncRepository,
+                                     BootstrapCheckpointRepository checkpointRepository,
+                                     CollaborativeFilteringService collaborativeFilteringService,
+                                     @Value("${rec.bootstrap.writer-threads:4}") int writerThreads) {
+        this.travelFeedClient = travelFeedClient;
+        this.paymentFeedClient = paymentFeedClient;
+        this.graphSyncService = graphSyncService;
+        this.graphSyncRepository = graphSyncRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.collaborativeFilteringService = collaborativeFilteringService;
+        this.writerThreads = writerThreads;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads,
+                r -> new Thread(r, "graph-bootstrap-writer-" + threadCount.incrementAndGet()));
+    }
+
+    @Override
+    public BootstrapStatusResponse start(boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BootstrapInProgressException();
+        }
+
+        try {
+            BootstrapCheckpoint checkpoint = resume ? findResumableCheckpoint() : null;
+            if (checkpoint == null) {
+                checkpoint = BootstrapCheckpoint.builder()
+                        .id(CHECKPOINT_ID)
+                        .phase(Phase.TRAVELS)
+                        .startedAt(LocalDateTime.now())
+                        .build();
+            } else {
+                log.info("Reprise de l'amorcage du graphe en phase {} ({} voyages, {} souscriptions deja charges)",
+                        checkpoint.getPhase(), checkpoint.getTravelsLoaded(), checkpoint.getSubscriptionsLoaded());
+            }
+
+            checkpoint.setState(State.RUNNING);
+            checkpoint.setError(null);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+
+            travelsPerSecond = 0;
+            subscriptionsPerSecond = 0;
+            BootstrapCheckpoint job = checkpoint;
+            coordinator.submit(() -> run(job));
+            return toStatus(checkpoint);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    @Override
+    public BootstrapStatusResponse getStatus() {
+        return checkpointRepository.findById(CHECKPOINT_ID)
+                .map(this::toStatus)
+                .orElse(new BootstrapStatusResponse("NEVER_RUN", null, 0, 0, 0, 0, 0, null, null, null, null, null));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    // ---- Job ----
+
+    private void run(BootstrapCheckpoint job) {
+        try {
+            if (job.getPhase() == Phase.TRAVELS) {
+                loadTravels(job);
+                job.setPhase(Phase.SUBSCRIPTIONS);
+                save(job);
+            }
+            if (job.getPhase() == Phase.SUBSCRIPTIONS) {
+                loadSubscriptions(job);
+                job.setPhase(Phase.DONE);
+            }
+
+            collaborativeFilteringService.rebuild();
+            job.setState(State.COMPLETED);
+            log.info("Amorcage du graphe termine : {} voyages ({} /s), {} souscriptions ({} /s)",
+                    job.getTravelsLoaded(), Math.round(travelsPerSecond),
+                    job.getSubscriptionsLoaded(), Math.round(subscriptionsPerSecond));
+            if (job.getSubscriptionsSkipped() > 0) {
+                log.warn("Amorcage du graphe : {} souscription(s) ignoree(s), voyage absent du graphe",
+                        job.getSubscriptionsSkipped());
+            }
+        } catch (Exception e) {
+            job.setState(State.FAILED);
+            job.setError(e.getMessage());
+            log.error("Echec de l'amorcage du graphe en phase {} : {}", job.getPhase(), e.getMessage(), e);
+        } finally {
+            save(job);
+            running.set(false);
+        }
+    }
+
+    private void loadTravels(BootstrapCheckpoint job) {
+        long start = System.nanoTime();
+        long loaded = 0;
+
+        TravelFeedPage page = travelFeedClient.fetch(TRAVEL_STATUSES, job.getTravelCursor(), pageSize);
+        while (true) {
+            List<TravelCreatedEvent> travels = page.content().stream().map(TravelFeedPage.Item::toEvent).toList();
+            List<CompletableFuture<Void>> writes = partition(travels, chunkSize).stream()
+                    .map(chunk -> write(() -> graphSyncService.syncTravels(chunk)))
+                    .toList();
+
+            // La page suivante est lue pendant l'ecriture de la courante
+            TravelFeedPage next = page.hasNext() ? travelFeedClient.fetch(TRAVEL_STATUSES, page.nextCursor(), pageSize) : null;
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+            loaded += page.content().size();
+            travelsPerSecond = loaded / Math.max((System.nanoTime() - start) / 1e9, 1e-3);
+            if (page.nextCursor() != null) {
+                job.setTravelCursor(page.nextCursor());
+            }
+            job.setTravelsLoaded(job.getTravelsLoaded() + page.content().size());
+            save(job);
+            log.debug("Amorcage : {} voyages charges ({} /s)", job.getTravelsLoaded(), Math.round(travelsPerSecond));
+
+            if (next == null) {
+                return;
+            }
+            page = next;
+        }
+    }
+
+    private void loadSubscriptions(BootstrapCheckpoint job) {
+        long start = System.nanoTime();
+        long loaded = 0;
+
+        PaymentFeedPage page = paymentFeedClient.fetchSucceeded(job.getSubscriptionCursor(), pageSize);
+        while (true) {
+            // Lignes sans noeud Travel : le MATCH de linkSubscriptions ne renvoie rien pour elles
+            AtomicLong skipped = new AtomicLong();
+            List<CompletableFuture<Void>> writes = partitionByTravel(page.content()).stream()
+                    .map(rows -> write(() -> skipped.addAndGet(rows.size() - graphSyncRepository.linkSubscriptions(rows).size())))
+                    .toList();
+
+            PaymentFeedPage next = page.hasNext() ? paymentFeedClient.fetchSucceeded(page.nextCursor(), pageSize) : null;
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+            loaded += page.content().size();
+            subscriptionsPerSecond = loaded / Math.max((System.nanoTime() - start) / 1e9, 1e-3);
+            if (page.nextCursor() != null) {
+                job.setSubscriptionCursor(page.nextCursor());
+            }
+            job.setSubscriptionsLoaded(job.getSubscriptionsLoaded() + page.content().size());
+            job.setSubscriptionsSkipped(job.getSubscriptionsSkipped() + skipped.get());
+            save(job);
+            if (skipped.get() > 0) {
+                log.warn("Amorcage : {} souscription(s) ignoree(s) dans cette page, voyage absent du graphe", skipped.get());
+            }
+            log.debug("Amorcage : {} souscriptions chargees ({} /s)", job.getSubscriptionsLoaded(),
+                    Math.round(subscriptionsPerSecond));
+
+            if (next == null) {
+                return;
+            }
+            page = next;
+        }
+    }
+
+    // ---- Ecriture parallele ----
+
+    /**
+     * Execute un morceau sur le pool d'ecrivains, avec nouvelle tentative sur erreur transitoire (verrou mort).
+     */
+    private CompletableFuture<Void> write(Runnable chunkWrite) {
+        return CompletableFuture.runAsync(() -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    chunkWrite.run();
+                    return;
+                } catch (TransientDataAccessException e) {
+                    if (attempt == MAX_WRITE_ATTEMPTS) {
+                        throw e;
+                    }
+                    log.debug("Ecriture transitoirement en echec (tentative {}) : {}", attempt, e.getMessage());
+                }
+            }
+        }, writers);
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += size) {
+            chunks.add(items.subList(i, Math.min(i + size, items.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Lignes de souscription distinctes, reparties par voyage : toutes les souscriptions d'un voyage
+     * tombent dans le meme morceau, ce qui evite la contention sur ses compteurs.
+     */
+    private List<List<Map<String, Object>>> partitionByTravel(List<PaymentFeedPage.Item> payments) {
+        int partitions = Math.max(writerThreads, (payments.size() + chunkSize - 1) / chunkSize);
+        List<Map<String, Map<String, Object>>> buckets = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            buckets.add(new LinkedHashMap<>());
+        }
+
+        for (PaymentFeedPage.Item payment : payments) {
+            int bucket = Math.floorMod(payment.travelId().hashCode(), partitions);
+            buckets.get(bucket).putIfAbsent(payment.travelerId() + "|" + payment.travelId(), Map.of(
+                    "travelerId", payment.travelerId().toString(),
+                    "travelId", payment.travelId().toString(),
+                    "createdAt", payment.createdAt() != null ? payment.createdAt() : LocalDateTime.now()));
+        }
+
+        return buckets.stream()
+                .filter(bucket -> !bucket.isEmpty())
+                .map(bucket -> List.copyOf(bucket.values()))
+                .toList();
+    }
+
+    // ---- Point de reprise ----
+
+    private BootstrapCheckpoint findResumableCheckpoint() {
+        return checkpointRepository.findById(CHECKPOINT_ID)
+                .filter(checkpoint -> checkpoint.getState() != State.COMPLETED)
+                .orElse(null);
+    }
+
+    private void save(BootstrapCheckpoint job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(job);
+    }
+
+    private BootstrapStatusResponse toStatus(BootstrapCheckpoint checkpoint) {
+        return new BootstrapStatusResponse(
+                checkpoint.getState() != null ? checkpoint.getState().name() : null,
+                checkpoint.getPhase() != null ? checkpoint.getPhase().name() : null,
+                checkpoint.getTravelsLoaded(),
+                checkpoint.getSubscriptionsLoaded(),
+                checkpoint.getSubscriptionsSkipped(),
+                travelsPerSecond,
+                subscriptionsPerSecond,
+                checkpoint.getTravelCursor(),
+                checkpoint.getSubscriptionCursor(),
+                checkpoint.getError(),
+                checkpoint.getStartedAt(),
+                checkpoint.getUpdatedAt()
+        );
+    }
+}
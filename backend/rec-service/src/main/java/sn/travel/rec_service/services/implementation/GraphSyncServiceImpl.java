@@ -4,27 +4,30 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import sn.travel.rec_service.data.nodes.ActivityNode;
-import sn.travel.rec_service.data.nodes.DestinationNode;
-import sn.travel.rec_service.data.nodes.TravelNode;
-import sn.travel.rec_service.data.nodes.TravelerNode;
 import sn.travel.rec_service.data.records.SubscriptionCreatedEvent;
 import sn.travel.rec_service.data.records.TravelCreatedEvent;
 import sn.travel.rec_service.data.records.TravelUpdatedEvent;
-import sn.travel.rec_service.data.relationships.SubscribedToRelationship;
-import sn.travel.rec_service.data.repositories.ActivityNodeRepository;
-import sn.travel.rec_service.data.repositories.DestinationNodeRepository;
+import sn.travel.rec_service.data.repositories.GraphSyncRepository;
+import sn.travel.rec_service.data.repositories.GraphSyncRepository.SubscriptionLink;
 import sn.travel.rec_service.data.repositories.TravelNodeRepository;
-import sn.travel.rec_service.data.repositories.TravelerNodeRepository;
+import sn.travel.rec_service.services.CollaborativeFilteringService;
 import sn.travel.rec_service.services.GraphSyncService;
+import sn.travel.rec_service.services.RecommendationRefreshService;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Implementation du service de synchronisation du graphe Neo4j.
+ * Chaque appel (evenement unitaire ou lot) est une seule requete UNWIND ... MERGE (GraphSyncRepository).
  */
 @Service
 @RequiredArgsConstructor
@@ -33,61 +36,63 @@ import java.util.UUID;
 public class GraphSyncServiceImpl implements GraphSyncService {
 
     private final TravelNodeRepository travelNodeRepository;
-    private final TravelerNodeRepository travelerNodeRepository;
-    private final DestinationNodeRepository destinationNodeRepository;
-    private final ActivityNodeRepository activityNodeRepository;
+    private final GraphSyncRepository graphSyncRepository;
+    private final RecommendationRefreshService recommendationRefreshService;
+    private final CollaborativeFilteringService collaborativeFilteringService;
 
     @Override
     public void syncTravel(TravelCreatedEvent event) {
         log.info("Synchronisation du voyage dans le graphe : {}", event.travelId());
-
-        List<DestinationNode> destinations = resolveDestinations(event.destinations());
-        List<ActivityNode> activities = resolveActivities(event.activities());
-
-        TravelNode travelNode = TravelNode.builder()
-                .id(event.travelId())
-                .title(event.title())
-                .description(event.description())
-                .price(event.price())
-                .startDate(event.startDate())
-                .endDate(event.endDate())
-                .status(event.status())
-                .accommodationType(event.accommodationType())
-                .transportationType(event.transportationType())
-                .destinations(destinations)
-                .activities(activities)
-                .build();
-
-        travelNodeRepository.save(travelNode);
+        syncTravels(List.of(event));
         log.info("Voyage synchronise avec succes : {}", event.travelId());
     }
 
+    @Override
+    public void syncTravels(List<TravelCreatedEvent> events) {
+        if (events.isEmpty()) return;
+
+        graphSyncRepository.upsertTravels(latestPerTravel(events.stream()
+                .map(e -> travelRow(e.travelId(), e.title(), e.description(), e.price(), e.startDate(), e.endDate(),
+                        e.status(), e.accommodationType(), e.transportationType(), e.updatedAt(),
+                        e.destinations() == null ? List.of() : e.destinations().stream()
+                                .map(d -> destinationRow(d.name(), d.country(), d.city())).toList(),
+                        e.activities() == null ? List.of() : e.activities().stream()
+                                .map(a -> activityRow(a.name(), a.description())).filter(Objects::nonNull).toList()))
+                .toList()));
+        log.debug("{} voyage(s) synchronise(s)", events.size());
+    }
+
     @Override
     public void updateTravel(TravelUpdatedEvent event) {
         log.info("Mise a jour du voyage dans le graphe : {}", event.travelId());
-
-        TravelNode travelNode = travelNodeRepository.findById(event.travelId())
-                .orElse(TravelNode.builder().id(event.travelId()).build());
-
-        travelNode.setTitle(event.title());
-        travelNode.setDescription(event.description());
-        travelNode.setPrice(event.price());
-        travelNode.setStartDate(event.startDate());
-        travelNode.setEndDate(event.endDate());
-        travelNode.setStatus(event.status());
-        travelNode.setAccommodationType(event.accommodationType());
-        travelNode.setTransportationType(event.transportationType());
-        travelNode.setDestinations(resolveUpdatedDestinations(event.destinations()));
-        travelNode.setActivities(resolveUpdatedActivities(event.activities()));
-
-        travelNodeRepository.save(travelNode);
+        updateTravels(List.of(event));
         log.info("Voyage mis a jour avec succes : {}", event.travelId());
     }
 
+    @Override
+    public void updateTravels(List<TravelUpdatedEvent> events) {
+        if (events.isEmpty()) return;
+
+        List<UUID> changed = graphSyncRepository.upsertTravels(latestPerTravel(events.stream()
+                .map(e -> travelRow(e.travelId(), e.title(), e.description(), e.price(), e.startDate(), e.endDate(),
+                        e.status(), e.accommodationType(), e.transportationType(), e.updatedAt(),
+                        e.destinations() == null ? List.of() : e.destinations().stream()
+                                .map(d -> destinationRow(d.name(), d.country(), d.city())).toList(),
+                        e.activities() == null ? List.of() : e.activities().stream()
+                                .map(a -> activityRow(a.name(), a.description())).filter(Objects::nonNull).toList()))
+                .toList()));
+
+        // Annulation ou nouvelle date : le voyage peut entrer ou sortir des listes de ses abonnes
+        // et des voyageurs a qui il est recommande
+        changed.forEach(recommendationRefreshService::markTravelChanged);
+        log.debug("{} voyage(s) mis a jour, {} avec un nouveau statut ou une nouvelle date", events.size(), changed.size());
+    }
+
     @Override
     public void deleteTravel(UUID travelId) {
         log.info("Suppression du voyage du graphe : {}", travelId);
         travelNodeRepository.deleteById(travelId);
+        collaborativeFilteringService.removeTravel(travelId);
         log.info("Voyage supprime avec succes : {}", travelId);
     }
 
@@ -95,80 +100,103 @@ public class GraphSyncServiceImpl implements GraphSyncService {
     public void syncSubscription(SubscriptionCreatedEvent event) {
         log.info("Synchronisation de la souscription dans le graphe : traveler={}, travel={}",
                 event.travelerId(), event.travelId());
+        syncSubscriptions(List.of(event));
+    }
 
-        TravelerNode traveler = travelerNodeRepository.findById(event.travelerId())
-                .orElseGet(() -> TravelerNode.builder()
-                        .id(event.travelerId())
-                        .subscriptions(new ArrayList<>())
-                        .ratings(new ArrayList<>())
-                        .reports(new ArrayList<>())
-                        .build());
-
-        TravelNode travel = travelNodeRepository.findById(event.travelId()).orElse(null);
-        if (travel == null) {
-            log.warn("Voyage non trouve dans le graphe pour la souscription : {}", event.travelId());
-            return;
+    @Override
+    public void syncSubscriptions(List<SubscriptionCreatedEvent> events) {
+        if (events.isEmpty()) return;
+
+        // Lignes distinctes : un couple rejoue dans le meme lot ne doit etre compte qu'une fois
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Map<String, Object>> rows = new LinkedHashMap<>();
+        for (SubscriptionCreatedEvent event : events) {
+            rows.putIfAbsent(event.travelerId() + "|" + event.travelId(), Map.of(
+                    "travelerId", event.travelerId().toString(),
+                    "travelId", event.travelId().toString(),
+                    "createdAt", now));
         }
 
-        SubscribedToRelationship subscription = SubscribedToRelationship.builder()
-                .travel(travel)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        traveler.getSubscriptions().add(subscription);
-        travelerNodeRepository.save(traveler);
-        log.info("Souscription synchronisee avec succes : traveler={}, travel={}",
-                event.travelerId(), event.travelId());
+        List<SubscriptionLink> links = graphSyncRepository.linkSubscriptions(List.copyOf(rows.values()));
+
+        Set<UUID> linkedTravels = links.stream().map(SubscriptionLink::travelId).collect(Collectors.toSet());
+        events.stream()
+                .map(SubscriptionCreatedEvent::travelId)
+                .filter(travelId -> !linkedTravels.contains(travelId))
+                .distinct()
+                .forEach(travelId -> log.warn("Voyage non trouve dans le graphe pour la souscription : {}", travelId));
+
+        for (SubscriptionLink link : links) {
+            if (!link.created()) {
+                continue;
+            }
+            collaborativeFilteringService.addSubscription(link.travelerId(), link.travelId());
+            // Le voyageur et les autres abonnes du voyage ont un nouveau voisinage collaboratif
+            recommendationRefreshService.markStale(link.travelerId());
+            recommendationRefreshService.markSubscribersStale(link.travelId());
+        }
+        log.info("{} souscription(s) synchronisee(s), {} nouvelle(s)", links.size(),
+                links.stream().filter(SubscriptionLink::created).count());
     }
 
-    private List<DestinationNode> resolveDestinations(List<TravelCreatedEvent.DestinationData> destinations) {
-        if (destinations == null) return new ArrayList<>();
-
-        return destinations.stream()
-                .map(d -> resolveDestination(d.name(), d.country(), d.city()))
-                .toList();
+    /**
+     * Une ligne par voyage, la plus recente (a updatedAt egal, la derniere recue) : les lignes d'un lot
+     * sont lues avant d'etre ecrites, la garde d'ordre de upsertTravels ne les departage pas entre elles.
+     */
+    private List<Map<String, Object>> latestPerTravel(List<Map<String, Object>> rows) {
+        Map<Object, Map<String, Object>> latest = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            latest.merge(row.get("id"), row, (current, candidate) -> isBefore(candidate, current) ? current : candidate);
+        }
+        return List.copyOf(latest.values());
     }
 
-    private List<DestinationNode> resolveUpdatedDestinations(List<TravelUpdatedEvent.DestinationData> destinations) {
-        if (destinations == null) return new ArrayList<>();
-
-        return destinations.stream()
-                .map(d -> resolveDestination(d.name(), d.country(), d.city()))
-                .toList();
+    private boolean isBefore(Map<String, Object> row, Map<String, Object> other) {
+        LocalDateTime updatedAt = (LocalDateTime) row.get("updatedAt");
+        LocalDateTime otherUpdatedAt = (LocalDateTime) other.get("updatedAt");
+        return updatedAt != null && otherUpdatedAt != null && updatedAt.isBefore(otherUpdatedAt);
     }
 
-    private DestinationNode resolveDestination(String name, String country, String city) {
-        return destinationNodeRepository
-                .findByNameAndCountryAndCity(name, country, city)
-                .orElseGet(() -> DestinationNode.builder()
-                        .name(name)
-                        .country(country)
-                        .city(city)
-                        .build());
+    private Map<String, Object> travelRow(UUID id, String title, String description, Double price,
+                                          LocalDate startDate, LocalDate endDate, String status,
+                                          String accommodationType, String transportationType,
+                                          LocalDateTime updatedAt,
+                                          List<Map<String, Object>> destinations,
+                                          List<Map<String, Object>> activities) {
+        // HashMap : les champs optionnels peuvent etre null
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id.toString());
+        row.put("title", title);
+        row.put("description", description);
+        row.put("price", price);
+        row.put("startDate", startDate);
+        row.put("endDate", endDate);
+        row.put("status", status);
+        row.put("accommodationType", accommodationType);
+        row.put("transportationType", transportationType);
+        row.put("updatedAt", updatedAt);
+        row.put("destinations", destinations);
+        row.put("activities", activities);
+        return row;
     }
 
-    private List<ActivityNode> resolveActivities(List<TravelCreatedEvent.ActivityData> activities) {
-        if (activities == null) return new ArrayList<>();
-
-        return activities.stream()
-                .map(a -> resolveActivity(a.name(), a.description()))
-                .toList();
+    private Map<String, Object> destinationRow(String name, String country, String city) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", name);
+        row.put("country", country);
+        row.put("city", city);
+        return row;
     }
 
-    private List<ActivityNode> resolveUpdatedActivities(List<TravelUpdatedEvent.ActivityData> activities) {
-        if (activities == null) return new ArrayList<>();
-
-        return activities.stream()
-                .map(a -> resolveActivity(a.name(), a.description()))
-                .toList();
-    }
+    /**
+     * Null si l'activite n'a pas de nom (cle de MERGE obligatoire).
+     */
+    private Map<String, Object> activityRow(String name, String description) {
+        if (name == null) return null;
 
-    private ActivityNode resolveActivity(String name, String description) {
-        return activityNodeRepository
-                .findByName(name)
-                .orElseGet(() -> ActivityNode.builder()
-                        .name(name)
-                        .description(description)
-                        .build());
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", name);
+        row.put("description", description);
+        return row;
     }
 }
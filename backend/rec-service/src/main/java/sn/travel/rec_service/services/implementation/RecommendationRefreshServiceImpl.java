@@ -0,0 +1,130 @@
+package sn.travel.rec_service.services.implementation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sn.travel.rec_service.data.repositories.RecommendationRepository;
+import sn.travel.rec_service.services.CollaborativeFilteringService;
+import sn.travel.rec_service.services.RecommendationRefreshService;
+import sn.travel.rec_service.services.RecommendationService;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation du suivi et du recalcul incremental des recommandations materialisees.
+ * <p>
+ * Les marques sont gardees en memoire : apres un redemarrage, une liste jamais calculee
+ * est calculee a la premiere lecture (RecommendationServiceImpl.getPersonalized).
+ */
+@Service
+@Slf4j
+public class RecommendationRefreshServiceImpl implements RecommendationRefreshService {
+
+    private final RecommendationService recommendationService;
+    private final RecommendationRepository recommendationRepository;
+    private final CollaborativeFilteringService collaborativeFilteringService;
+
+    private final Set<UUID> staleTravelers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> staleTravels = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> changedTravels = ConcurrentHashMap.newKeySet();
+
+    @Value("${rec.materialized.refresh-batch-size:500}")
+    private int batchSize;
+
+    @Value("${rec.materialized.max-neighbours:1000}")
+    private int maxNeighbours;
+
+    public RecommendationRefreshServiceImpl(RecommendationService recommendationService,
+                                            RecommendationRepository recommendationRepository,
+                                            CollaborativeFilteringService collaborativeFilteringService,
+                                            MeterRegistry meterRegistry) {
+        this.recommendationService = recommendationService;
+        this.recommendationRepository = recommendationRepository;
+        this.collaborativeFilteringService = collaborativeFilteringService;
+        Gauge.builder("rec.materialized.pending", staleTravelers, Set::size)
+                .description("Voyageurs dont les recommandations sont a recalculer")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void markStale(UUID travelerId) {
+        staleTravelers.add(travelerId);
+    }
+
+    @Override
+    public void markSubscribersStale(UUID travelId) {
+        staleTravels.add(travelId);
+    }
+
+    @Override
+    public void markTravelChanged(UUID travelId) {
+        changedTravels.add(travelId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${rec.materialized.refresh-interval-ms:5000}")
+    public void refreshStale() {
+        // Les voyages marques sont etendus a leurs abonnes au moment du recalcul,
+        // pour garder le traitement des evenements leger
+        for (UUID travelId : drain(staleTravels, batchSize)) {
+            try {
+                staleTravelers.addAll(recommendationRepository.findSubscribers(travelId, maxNeighbours));
+            } catch (Exception e) {
+                log.error("Echec de la recuperation des abonnes du voyage {} : {}", travelId, e.getMessage());
+            }
+        }
+        for (UUID travelId : drain(changedTravels, batchSize)) {
+            try {
+                staleTravelers.addAll(recommendationRepository.findSubscribers(travelId, maxNeighbours));
+                staleTravelers.addAll(recommendationRepository.findRecommendedTo(travelId, maxNeighbours));
+            } catch (Exception e) {
+                log.error("Echec de la recuperation des voyageurs concernes par le voyage {} : {}", travelId, e.getMessage());
+            }
+        }
+
+        Set<UUID> travelers = drain(staleTravelers, batchSize);
+        if (travelers.isEmpty()) {
+            return;
+        }
+
+        // Une souscription est mise en file avant que son voyageur soit marque : fusionner apres avoir vide
+        // les marques garantit que chaque voyageur recalcule voit les souscriptions qui l'ont marque
+        try {
+            collaborativeFilteringService.mergePending();
+        } catch (Exception e) {
+            log.error("Echec de la fusion de la projection avant recalcul : {}", e.getMessage());
+            staleTravelers.addAll(travelers);
+            return;
+        }
+
+        long start = System.nanoTime();
+        int refreshed = 0;
+        for (UUID travelerId : travelers) {
+            try {
+                recommendationService.refresh(travelerId);
+                refreshed++;
+            } catch (Exception e) {
+                log.error("Echec du recalcul des recommandations du voyageur {} : {}", travelerId, e.getMessage());
+            }
+        }
+        log.debug("{} liste(s) de recommandations recalculee(s) en {} ms", refreshed,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Set<UUID> drain(Set<UUID> source, int max) {
+        Set<UUID> drained = new HashSet<>();
+        Iterator<UUID> iterator = source.iterator();
+        while (iterator.hasNext() && drained.size() < max) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,71 @@
+package sn.travel.rec_service.services.implementation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sn.travel.rec_service.data.records.RecommendationCandidate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Classement des candidats par score pondere :
+ * score = wCo * coSouscriptions + wDest * destinationsCommunes + wAct * activitesCommunes + wRating * (note / 5).
+ * Les poids sont configurables (rec.scoring.weight.*) ; seuls les K meilleurs sont gardes (tas de taille K).
+ */
+@Component
+public class RecommendationScorer {
+
+    private static final double MAX_RATING = 5.0;
+
+    @Value("${rec.scoring.weight.co-subscription:1.0}")
+    private double coSubscriptionWeight;
+
+    @Value("${rec.scoring.weight.destination:0.5}")
+    private double destinationWeight;
+
+    @Value("${rec.scoring.weight.activity:0.3}")
+    private double activityWeight;
+
+    @Value("${rec.scoring.weight.rating:0.5}")
+    private double ratingWeight;
+
+    public double score(RecommendationCandidate candidate) {
+        double rating = candidate.averageRating() != null ? candidate.averageRating() / MAX_RATING : 0.0;
+        return coSubscriptionWeight * candidate.coSubscriptions()
+                + destinationWeight * candidate.sharedDestinations()
+                + activityWeight * candidate.sharedActivities()
+                + ratingWeight * rating;
+    }
+
+    /**
+     * Les k meilleurs candidats, du meilleur au moins bon (egalites departagees par id pour un ordre stable).
+     */
+    public List<UUID> topK(List<RecommendationCandidate> candidates, int k) {
+        Comparator<Scored> order = Comparator.comparingDouble(Scored::score)
+                .thenComparing(Scored::travelId, Comparator.reverseOrder());
+
+        // Tas min : la racine est le moins bon des k retenus
+        PriorityQueue<Scored> heap = new PriorityQueue<>(k + 1, order);
+        for (RecommendationCandidate candidate : candidates) {
+            Scored scored = new Scored(candidate.travelId(), score(candidate));
+            if (scored.score() <= 0) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(scored);
+            } else if (order.compare(scored, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(heap);
+        ranked.sort(order.reversed());
+        return ranked.stream().map(Scored::travelId).toList();
+    }
+
+    private record Scored(UUID travelId, double score) {}
+}
@@ -2,22 +2,29 @@ package sn.travel.rec_service.services.implementation;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import sn.travel.rec_service.data.nodes.TravelNode;
+import sn.travel.rec_service.data.repositories.RecommendationRepository;
+import sn.travel.rec_service.data.repositories.RecommendationRepository.TravelStats;
 import sn.travel.rec_service.data.repositories.TravelNodeRepository;
-import sn.travel.rec_service.data.repositories.TravelerNodeRepository;
+import sn.travel.rec_service.services.CollaborativeFilteringService;
 import sn.travel.rec_service.services.RecommendationService;
 import sn.travel.rec_service.web.dto.responses.RecommendationResponse;
 
-import java.util.LinkedHashSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Implementation du service de recommandations.
- * Combine trois strategies : collaborative, destinations, activites.
+ * Les recommandations personnalisees sont precalculees (relations RECOMMENDED) et
+ * recalculees en arriere-plan par RecommendationRefreshService ; la lecture est une seule requete.
+ * Le calcul combine co-souscriptions, destinations/activites communes et notes en un score pondere
+ * (RecommendationScorer).
  */
 @Service
 @RequiredArgsConstructor
@@ -25,46 +32,85 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class RecommendationServiceImpl implements RecommendationService {
 
-    private final TravelerNodeRepository travelerNodeRepository;
     private final TravelNodeRepository travelNodeRepository;
+    private final RecommendationRepository recommendationRepository;
+    private final RecommendationScorer recommendationScorer;
+    private final CollaborativeFilteringService collaborativeFilteringService;
+
+    @Value("${rec.materialized.size:50}")
+    private int materializedSize;
+
+    @Value("${rec.projection.max-candidates:500}")
+    private int maxCoCandidates;
 
     @Override
+    @Transactional
     public List<RecommendationResponse> getPersonalized(UUID travelerId, int limit) {
-        log.debug("Generation des recommandations personnalisees pour le voyageur : {}", travelerId);
+        log.debug("Lecture des recommandations personnalisees du voyageur : {}", travelerId);
 
-        Set<TravelNode> recommendations = new LinkedHashSet<>();
-        recommendations.addAll(travelerNodeRepository.findCollaborativeRecommendations(travelerId, limit));
-        recommendations.addAll(travelerNodeRepository.findDestinationBasedRecommendations(travelerId, limit));
-        recommendations.addAll(travelerNodeRepository.findActivityBasedRecommendations(travelerId, limit));
+        int size = Math.min(limit, materializedSize);
+        List<TravelNode> recommendations = travelNodeRepository.findRecommendedFor(travelerId, LocalDate.now(), size);
 
-        return recommendations.stream()
-                .limit(limit)
-                .map(this::toRecommendationResponse)
-                .toList();
+        // Premiere lecture : la liste n'a jamais ete calculee
+        if (recommendations.isEmpty() && recommendationRepository.findComputedAt(travelerId).isEmpty()) {
+            refresh(travelerId);
+            recommendations = travelNodeRepository.findRecommendedFor(travelerId, LocalDate.now(), size);
+        }
+
+        return toRecommendationResponses(recommendations);
     }
 
     @Override
     public List<RecommendationResponse> getPopular(int limit) {
         log.debug("Recuperation des voyages populaires (limit={})", limit);
 
-        return travelNodeRepository.findPopular(limit).stream()
-                .map(this::toRecommendationResponse)
-                .toList();
+        return toRecommendationResponses(travelNodeRepository.findPopular(limit));
     }
 
     @Override
     public List<RecommendationResponse> getSimilar(UUID travelId, int limit) {
         log.debug("Recherche de voyages similaires a : {}", travelId);
 
-        return travelNodeRepository.findSimilar(travelId, limit).stream()
-                .map(this::toRecommendationResponse)
-                .toList();
+        return toRecommendationResponses(travelNodeRepository.findSimilar(travelId, limit));
     }
 
-    private RecommendationResponse toRecommendationResponse(TravelNode travel) {
-        Double avgRating = travelNodeRepository.findAverageRating(travel.getId());
-        Long subCount = travelNodeRepository.countSubscriptions(travel.getId());
+    @Override
+    @Transactional
+    public void refresh(UUID travelerId) {
+        List<UUID> travelIds = computeRecommendations(travelerId, materializedSize);
+        recommendationRepository.replaceMaterialized(travelerId, travelIds, LocalDateTime.now());
+        log.debug("Recommandations materialisees pour le voyageur {} : {} voyage(s)", travelerId, travelIds.size());
+    }
+
+    /**
+     * Co-souscriptions depuis la projection en memoire, autres signaux en une requete,
+     * puis classement pondere top-K en memoire.
+     */
+    private List<UUID> computeRecommendations(UUID travelerId, int limit) {
+        Map<UUID, Long> coSubscriptions = collaborativeFilteringService.coSubscriptionCounts(travelerId, maxCoCandidates);
+        return recommendationScorer.topK(
+                recommendationRepository.findCandidates(travelerId, coSubscriptions, LocalDate.now()), limit);
+    }
+
+    /**
+     * Les statistiques viennent des compteurs portes par les noeuds Travel. Les voyages dont les compteurs
+     * ne sont pas encore initialises (backfill en cours) sont completes par une seule requete pour toute la liste.
+     */
+    private List<RecommendationResponse> toRecommendationResponses(List<TravelNode> travels) {
+        List<UUID> withoutCounters = travels.stream()
+                .filter(travel -> travel.getSubscriptionCount() == null)
+                .map(TravelNode::getId)
+                .toList();
+        Map<UUID, TravelStats> fallback = recommendationRepository.findStats(withoutCounters);
+
+        return travels.stream()
+                .map(travel -> toRecommendationResponse(travel, travel.getSubscriptionCount() != null
+                        ? new TravelStats(travel.averageRating(), travel.getSubscriptionCount())
+                        : fallback.getOrDefault(travel.getId(), TravelStats.EMPTY)))
+                .toList();
+    }
 
+    private RecommendationResponse toRecommendationResponse(TravelNode travel, TravelStats stats) {
         return new RecommendationResponse(
                 travel.getId(),
                 travel.getTitle(),
@@ -81,8 +127,8 @@ public class RecommendationServiceImpl implements RecommendationService {
                 travel.getActivities() != null
                         ? travel.getActivities().stream().map(a -> a.getName()).toList()
                         : List.of(),
-                avgRating,
-                subCount != null ? subCount : 0L
+                stats.averageRating(),
+                stats.subscriptionCount()
         );
     }
 }
@@ -0,0 +1,274 @@
+package sn.travel.rec_service.services.implementation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Projection immuable du graphe biparti voyageur <-> voyage (SUBSCRIBED_TO) au format CSR :
+ * les UUID sont remplaces par des index int, et les voisins de chaque noeud sont une tranche
+ * contigue (et triee) d'un tableau int[] commun, delimitee par un tableau d'offsets.
+ * <p>
+ * Memoire : 2 x 4 octets par souscription (les deux sens) + 4 octets par noeud pour les offsets,
+ * plus ~100 octets par noeud pour l'internement des UUID (objet UUID + entree HashMap).
+ * Pour 1M de souscriptions, 200k voyageurs et 50k voyages : ~8 Mo d'adjacence + ~25 Mo d'index.
+ */
+final class SubscriptionGraph {
+
+    static final SubscriptionGraph EMPTY = new Builder().build();
+
+    private final UUID[] travelerIds;
+    private final UUID[] travelIds;
+    private final Map<UUID, Integer> travelerIndex;
+    private final Map<UUID, Integer> travelIndex;
+
+    // voyageur -> voyages
+    private final int[] travelerOffsets;
+    private final int[] travelerAdjacency;
+
+    // voyage -> voyageurs
+    private final int[] travelOffsets;
+    private final int[] travelAdjacency;
+
+    private SubscriptionGraph(UUID[] travelerIds, UUID[] travelIds,
+                              Map<UUID, Integer> travelerIndex, Map<UUID, Integer> travelIndex,
+                              int[] travelerOffsets, int[] travelerAdjacency,
+                              int[] travelOffsets, int[] travelAdjacency) {
+        this.travelerIds = travelerIds;
+        this.travelIds = travelIds;
+        this.travelerIndex = travelerIndex;
+        this.travelIndex = travelIndex;
+        this.travelerOffsets = travelerOffsets;
+        this.travelerAdjacency = travelerAdjacency;
+        this.travelOffsets = travelOffsets;
+        this.travelAdjacency = travelAdjacency;
+    }
+
+    int subscriptionCount() {
+        return travelerAdjacency.length;
+    }
+
+    int travelerCount() {
+        return travelerIds.length;
+    }
+
+    int travelCount() {
+        return travelIds.length;
+    }
+
+    /**
+     * Estimation de l'empreinte memoire (tableaux CSR + internement des UUID).
+     */
+    long estimatedBytes() {
+        long arrays = 4L * (travelerOffsets.length + travelerAdjacency.length + travelOffsets.length + travelAdjacency.length);
+        return arrays + 100L * (travelerIds.length + travelIds.length);
+    }
+
+    /**
+     * Co-occurrences item-item : pour chaque voyage non souscrit, le nombre de chemins
+     * moi -> voyage commun <- autre voyageur -> voyage. Les maxCandidates meilleurs, par compte decroissant.
+     *
+     * @param maxNeighbours nombre maximal d'abonnes parcourus par voyage commun (borne les voyages tres populaires)
+     */
+    Map<UUID, Long> coSubscriptionCounts(UUID travelerId, int maxNeighbours, int maxCandidates) {
+        Integer index = travelerIndex.get(travelerId);
+        if (index == null) {
+            return Map.of();
+        }
+        int me = index;
+
+        int[] counts = new int[travelIds.length];
+        int[] touched = new int[Math.min(travelIds.length, 1024)];
+        int touchedCount = 0;
+
+        // Les voyages deja souscrits sont exclus (sentinelle negative)
+        for (int i = travelerOffsets[me]; i < travelerOffsets[me + 1]; i++) {
+            counts[travelerAdjacency[i]] = Integer.MIN_VALUE;
+        }
+
+        for (int i = travelerOffsets[me]; i < travelerOffsets[me + 1]; i++) {
+            int travel = travelerAdjacency[i];
+            int neighboursEnd = Math.min(travelOffsets[travel + 1], travelOffsets[travel] + maxNeighbours);
+            for (int j = travelOffsets[travel]; j < neighboursEnd; j++) {
+                int other = travelAdjacency[j];
+                if (other == me) {
+                    continue;
+                }
+                for (int k = travelerOffsets[other]; k < travelerOffsets[other + 1]; k++) {
+                    int candidate = travelerAdjacency[k];
+                    if (counts[candidate] < 0) {
+                        continue;
+                    }
+                    if (counts[candidate]++ == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touched.length * 2);
+                        }
+                        touched[touchedCount++] = candidate;
+                    }
+                }
+            }
+        }
+
+        // Tri par compte decroissant via des cles long (compte << 32 | index) : pas d'objets intermediaires
+        long[] keyed = new long[touchedCount];
+        for (int i = 0; i < touchedCount; i++) {
+            keyed[i] = ((long) counts[touched[i]] << 32) | touched[i];
+        }
+        Arrays.sort(keyed);
+
+        Map<UUID, Long> result = new LinkedHashMap<>();
+        for (int i = keyed.length - 1; i >= 0 && result.size() < maxCandidates; i--) {
+            result.put(travelIds[(int) keyed[i]], keyed[i] >>> 32);
+        }
+        return result;
+    }
+
+    /**
+     * Builder initialise avec les aretes de cette projection (fusion des deltas, puis reconstruction).
+     */
+    Builder toBuilder() {
+        Builder builder = new Builder();
+        for (int traveler = 0; traveler < travelerIds.length; traveler++) {
+            for (int i = travelerOffsets[traveler]; i < travelerOffsets[traveler + 1]; i++) {
+                builder.add(travelerIds[traveler], travelIds[travelerAdjacency[i]]);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Accumule les aretes (voyageur, voyage) puis construit les tableaux CSR par tri comptage.
+     * Non thread-safe.
+     */
+    static final class Builder {
+
+        private final Map<UUID, Integer> travelerIndex = new HashMap<>();
+        private final Map<UUID, Integer> travelIndex = new HashMap<>();
+        private final Set<UUID> removedTravels = new HashSet<>();
+        private UUID[] travelerIds = new UUID[16];
+        private UUID[] travelIds = new UUID[16];
+        private int[] edgeTravelers = new int[64];
+        private int[] edgeTravels = new int[64];
+        private int edgeCount;
+
+        Builder add(UUID travelerId, UUID travelId) {
+            if (edgeCount == edgeTravelers.length) {
+                edgeTravelers = Arrays.copyOf(edgeTravelers, edgeCount * 2);
+                edgeTravels = Arrays.copyOf(edgeTravels, edgeCount * 2);
+            }
+            edgeTravelers[edgeCount] = internTraveler(travelerId);
+            edgeTravels[edgeCount] = internTravel(travelId);
+            edgeCount++;
+            return this;
+        }
+
+        Builder removeTravel(UUID travelId) {
+            removedTravels.add(travelId);
+            return this;
+        }
+
+        SubscriptionGraph build() {
+            // Les voyages supprimes et leurs aretes sont ecartes par re-indexation des voyages conserves
+            int[] travelRemap = new int[travelIndex.size()];
+            Map<UUID, Integer> keptTravelIndex = new HashMap<>();
+            UUID[] keptTravelIds = new UUID[travelIndex.size()];
+            for (int travel = 0; travel < travelIndex.size(); travel++) {
+                if (removedTravels.contains(travelIds[travel])) {
+                    travelRemap[travel] = -1;
+                } else {
+                    travelRemap[travel] = keptTravelIndex.size();
+                    keptTravelIds[keptTravelIndex.size()] = travelIds[travel];
+                    keptTravelIndex.put(travelIds[travel], keptTravelIndex.size());
+                }
+            }
+            keptTravelIds = Arrays.copyOf(keptTravelIds, keptTravelIndex.size());
+
+            int travelerCount = travelerIndex.size();
+            int[] travelerOffsets = new int[travelerCount + 1];
+            int[] travelerAdjacency = buildRows(edgeTravelers, edgeTravels, travelRemap, travelerCount, true, travelerOffsets);
+
+            int travelCount = keptTravelIds.length;
+            int[] travelOffsets = new int[travelCount + 1];
+            int[] travelAdjacency = buildRows(edgeTravelers, edgeTravels, travelRemap, travelCount, false, travelOffsets);
+
+            return new SubscriptionGraph(
+                    Arrays.copyOf(travelerIds, travelerCount), keptTravelIds,
+                    Map.copyOf(travelerIndex), Map.copyOf(keptTravelIndex),
+                    travelerOffsets, travelerAdjacency, travelOffsets, travelAdjacency);
+        }
+
+        /**
+         * Tri comptage des aretes par ligne (voyageur ou voyage), puis tri et dedoublonnage de chaque ligne.
+         * Remplit offsets et renvoie le tableau d'adjacence compacte.
+         */
+        private int[] buildRows(int[] travelers, int[] travels, int[] travelRemap,
+                                int rowCount, boolean byTraveler, int[] offsets) {
+            int[] cursor = new int[rowCount + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                int travel = travelRemap[travels[e]];
+                if (travel >= 0) {
+                    cursor[(byTraveler ? travelers[e] : travel) + 1]++;
+                }
+            }
+            for (int row = 0; row < rowCount; row++) {
+                cursor[row + 1] += cursor[row];
+            }
+
+            int[] raw = new int[cursor[rowCount]];
+            int[] fill = Arrays.copyOf(cursor, rowCount);
+            for (int e = 0; e < edgeCount; e++) {
+                int travel = travelRemap[travels[e]];
+                if (travel >= 0) {
+                    int row = byTraveler ? travelers[e] : travel;
+                    raw[fill[row]++] = byTraveler ? travel : travelers[e];
+                }
+            }
+
+            // Dedoublonnage : une souscription rejouee ne compte qu'une fois
+            int size = 0;
+            for (int row = 0; row < rowCount; row++) {
+                int from = cursor[row];
+                int to = cursor[row + 1];
+                Arrays.sort(raw, from, to);
+                offsets[row] = size;
+                for (int i = from; i < to; i++) {
+                    if (i == from || raw[i] != raw[i - 1]) {
+                        raw[size++] = raw[i];
+                    }
+                }
+            }
+            offsets[rowCount] = size;
+            return Arrays.copyOf(raw, size);
+        }
+
+        private int internTraveler(UUID id) {
+            Integer index = travelerIndex.get(id);
+            if (index == null) {
+                index = travelerIndex.size();
+                if (index == travelerIds.length) {
+                    travelerIds = Arrays.copyOf(travelerIds, index * 2);
+                }
+                travelerIds[index] = id;
+                travelerIndex.put(id, index);
+            }
+            return index;
+        }
+
+        private int internTravel(UUID id) {
+            Integer index = travelIndex.get(id);
+            if (index == null) {
+                index = travelIndex.size();
+                if (index == travelIds.length) {
+                    travelIds = Arrays.copyOf(travelIds, index * 2);
+                }
+                travelIds[index] = id;
+                travelIndex.put(id, index);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package sn.travel.rec_service.web.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import sn.travel.messaging.dto.DeadLetterQueueResponse;
+import sn.travel.messaging.dto.ReplayResponse;
+
+import java.util.List;
+
+/**
+ * Interface du controleur d'administration des lettres mortes (ADMIN).
+ */
+@Tag(name = "Lettres mortes", description = "Consultation et rejeu des messages ayant epuise leurs reessais")
+public interface DeadLetterController {
+
+    @Operation(summary = "Lister les lettres mortes", description = "Messages prets, en reessai et en DLQ par file consommee, avec un echantillon de lettres mortes (ADMIN)")
+    ResponseEntity<List<DeadLetterQueueResponse>> getDeadLetters(
+            @Parameter(description = "Lettres mortes a echantillonner par file (max 100)")
+            int peek
+    );
+
+    @Operation(summary = "Rejouer les lettres mortes", description = "Renvoie les lettres mortes sur leur file, les plus anciennes d'abord, avec un budget de reessai neuf (ADMIN)")
+    ResponseEntity<ReplayResponse> replay(
+            String queue,
+            @Parameter(description = "Nombre maximal de messages a rejouer (max 10000)")
+            int limit
+    );
+}
@@ -0,0 +1,27 @@
+package sn.travel.rec_service.web.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import sn.travel.rec_service.web.dto.responses.BootstrapStatusResponse;
+
+/**
+ * Interface du controleur d'administration du graphe (ADMIN).
+ */
+@Tag(name = "Administration du graphe", description = "Amorcage du graphe depuis les services sources")
+public interface GraphAdminController {
+
+    @Operation(
+            summary = "Lancer l'amorcage du graphe",
+            description = "Charge tous les voyages publies (travel-service) puis les souscriptions confirmees " +
+                    "(paiements reussis du payment-service). Traitement en arriere-plan (ADMIN)"
+    )
+    ResponseEntity<BootstrapStatusResponse> start(
+            @Parameter(description = "Reprendre la derniere execution inachevee a son point de reprise")
+            boolean resume
+    );
+
+    @Operation(summary = "Etat de l'amorcage", description = "Avancement, debit (elements/s) et point de reprise (ADMIN)")
+    ResponseEntity<BootstrapStatusResponse> getStatus();
+}
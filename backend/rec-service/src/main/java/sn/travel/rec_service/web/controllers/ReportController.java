@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import sn.travel.rec_service.data.enums.ReportStatus;
 import sn.travel.rec_service.web.dto.requests.CreateReportRequest;
 import sn.travel.rec_service.web.dto.responses.MessageResponse;
 import sn.travel.rec_service.web.dto.responses.PageResponse;
@@ -20,8 +21,8 @@ public interface ReportController {
     @Operation(summary = "Creer un signalement", description = "Signaler un utilisateur (authentifie)")
     ResponseEntity<ReportResponse> create(@Valid CreateReportRequest request, Principal principal);
 
-    @Operation(summary = "Lister les signalements", description = "Obtenir tous les signalements (ADMIN)")
-    ResponseEntity<PageResponse<ReportResponse>> getAll(int page, int size);
+    @Operation(summary = "Lister les signalements", description = "Obtenir les signalements, filtres par statut PENDING/RESOLVED si fourni (ADMIN)")
+    ResponseEntity<PageResponse<ReportResponse>> getAll(ReportStatus status, int page, int size);
 
     @Operation(summary = "Obtenir un signalement", description = "Obtenir un signalement par ID (ADMIN)")
     ResponseEntity<ReportResponse> getById(Long reportId);
@@ -0,0 +1,32 @@
+package sn.travel.rec_service.web.controllers.implementation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sn.travel.rec_service.services.GraphBootstrapService;
+import sn.travel.rec_service.web.controllers.GraphAdminController;
+import sn.travel.rec_service.web.dto.responses.BootstrapStatusResponse;
+
+/**
+ * Implementation du controleur d'administration du graphe.
+ */
+@RestController
+@RequestMapping("/api/v1/recommendations/admin/bootstrap")
+@RequiredArgsConstructor
+public class GraphAdminControllerImpl implements GraphAdminController {
+
+    private final GraphBootstrapService graphBootstrapService;
+
+    @Override
+    @PostMapping
+    public ResponseEntity<BootstrapStatusResponse> start(@RequestParam(defaultValue = "false") boolean resume) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(graphBootstrapService.start(resume));
+    }
+
+    @Override
+    @GetMapping
+    public ResponseEntity<BootstrapStatusResponse> getStatus() {
+        return ResponseEntity.ok(graphBootstrapService.getStatus());
+    }
+}
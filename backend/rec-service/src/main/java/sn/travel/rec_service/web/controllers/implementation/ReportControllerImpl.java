@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import sn.travel.rec_service.data.enums.ReportStatus;
 import sn.travel.rec_service.services.ReportService;
 import sn.travel.rec_service.web.controllers.ReportController;
 import sn.travel.rec_service.web.dto.requests.CreateReportRequest;
@@ -38,9 +39,10 @@ public class ReportControllerImpl implements ReportController {
     @Override
     @GetMapping
     public ResponseEntity<PageResponse<ReportResponse>> getAll(
+            @RequestParam(required = false) ReportStatus status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(reportService.getAll(page, size));
+        return ResponseEntity.ok(reportService.getAll(status, page, size));
     }
 
     @Override
@@ -0,0 +1,21 @@
+package sn.travel.rec_service.web.dto.responses;
+
+import java.time.LocalDateTime;
+
+/**
+ * Avancement de l'amorcage du graphe.
+ */
+public record BootstrapStatusResponse(
+        String state,
+        String phase,
+        long travelsLoaded,
+        long subscriptionsLoaded,
+        long subscriptionsSkipped,
+        double travelsPerSecond,
+        double subscriptionsPerSecond,
+        String travelCursor,
+        String subscriptionCursor,
+        String error,
+        LocalDateTime startedAt,
+        LocalDateTime updatedAt
+) {}
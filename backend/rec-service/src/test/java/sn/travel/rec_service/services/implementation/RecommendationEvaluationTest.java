@@ -0,0 +1,201 @@
+package sn.travel.rec_service.services.implementation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import sn.travel.rec_service.data.records.RecommendationCandidate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Evaluation hors ligne du classement sur un graphe synthetique, sans Neo4j.
+ * <p>
+ * Chaque voyage appartient a un centre d'interet (ses destinations et activites en viennent) et a une qualite
+ * qui fixe sa note. Chaque voyageur a un centre d'interet et souscrit surtout a des voyages de ce centre,
+ * de preference les mieux notes. Une partie des souscriptions de chaque voyageur est masquee ; les candidats
+ * sont calcules sur le reste comme en production (co-souscriptions par SubscriptionGraph, destinations et
+ * activites communes comme RecommendationRepository.findCandidates), puis precision@k = part des k voyages
+ * recommandes qui figurent dans les souscriptions masquees.
+ * <p>
+ * Compare le score pondere (poids par defaut), les co-souscriptions seules et la popularite.
+ * Parametrable : -Drec.eval.travelers=2000 -Drec.eval.travels=500 -Drec.eval.clusters=10
+ * -Drec.eval.subscriptions=10 -Drec.eval.hidden-ratio=0.2 -Drec.eval.k=10
+ */
+class RecommendationEvaluationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationEvaluationTest.class);
+
+    private static final int TRAVELERS = Integer.getInteger("rec.eval.travelers", 2000);
+    private static final int TRAVELS = Integer.getInteger("rec.eval.travels", 500);
+    private static final int CLUSTERS = Integer.getInteger("rec.eval.clusters", 10);
+    private static final int SUBSCRIPTIONS = Integer.getInteger("rec.eval.subscriptions", 10);
+    private static final double HIDDEN_RATIO = Double.parseDouble(System.getProperty("rec.eval.hidden-ratio", "0.2"));
+    private static final int K = Integer.getInteger("rec.eval.k", 10);
+
+    private static final int POOL_SIZE = 6;
+    private static final double IN_CLUSTER_PROBABILITY = 0.8;
+    private static final int MAX_NEIGHBOURS = 1000;
+    private static final int MAX_CANDIDATES = 500;
+
+    private final Random random = new Random(42);
+    private final List<SyntheticTravel> travels = new ArrayList<>();
+    private final Map<UUID, SyntheticTravel> travelsById = new HashMap<>();
+    private final Map<UUID, Set<UUID>> training = new HashMap<>();
+    private final Map<UUID, Set<UUID>> hidden = new HashMap<>();
+    private SubscriptionGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < TRAVELS; i++) {
+            int cluster = i % CLUSTERS;
+            double quality = random.nextDouble();
+            SyntheticTravel travel = new SyntheticTravel(UUID.randomUUID(), cluster,
+                    sample(cluster, "destination"), sample(cluster, "activity"),
+                    random.nextDouble() < 0.8 ? 1 + 4 * quality : null, quality);
+            travels.add(travel);
+            travelsById.put(travel.id(), travel);
+        }
+
+        SubscriptionGraph.Builder builder = new SubscriptionGraph.Builder();
+        for (int u = 0; u < TRAVELERS; u++) {
+            UUID travelerId = UUID.randomUUID();
+            int cluster = random.nextInt(CLUSTERS);
+            List<UUID> subscribed = new ArrayList<>(subscriptions(cluster));
+            Collections.shuffle(subscribed, random);
+
+            int hiddenCount = Math.max(1, (int) Math.round(subscribed.size() * HIDDEN_RATIO));
+            hidden.put(travelerId, new HashSet<>(subscribed.subList(0, hiddenCount)));
+            Set<UUID> kept = new HashSet<>(subscribed.subList(hiddenCount, subscribed.size()));
+            training.put(travelerId, kept);
+            kept.forEach(travelId -> builder.add(travelerId, travelId));
+        }
+        graph = builder.build();
+    }
+
+    @Test
+    void weightedScoreBeatsPopularity() {
+        RecommendationScorer hybrid = scorer(1.0, 0.5, 0.3, 0.5);
+        RecommendationScorer coSubscriptionOnly = scorer(1.0, 0.0, 0.0, 0.0);
+
+        Map<UUID, Long> popularity = new HashMap<>();
+        training.values().forEach(travelIds -> travelIds.forEach(id -> popularity.merge(id, 1L, Long::sum)));
+        List<UUID> byPopularity = popularity.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Long>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+
+        double hybridPrecision = precisionAtK(travelerId -> hybrid.topK(candidates(travelerId), K));
+        double coSubscriptionPrecision = precisionAtK(travelerId -> coSubscriptionOnly.topK(candidates(travelerId), K));
+        double popularityPrecision = precisionAtK(travelerId -> byPopularity.stream()
+                .filter(travelId -> !training.get(travelerId).contains(travelId))
+                .limit(K)
+                .toList());
+
+        log.info("{} voyageurs, {} voyages, {} centres d'interet, precision@{} : score pondere {}, co-souscriptions {}, popularite {}",
+                TRAVELERS, TRAVELS, CLUSTERS, K, format(hybridPrecision), format(coSubscriptionPrecision),
+                format(popularityPrecision));
+        assertThat(hybridPrecision).isGreaterThan(popularityPrecision);
+        assertThat(coSubscriptionPrecision).isGreaterThan(popularityPrecision);
+    }
+
+    // ---- Helpers ----
+
+    private double precisionAtK(Function<UUID, List<UUID>> recommender) {
+        double sum = 0;
+        for (UUID travelerId : training.keySet()) {
+            Set<UUID> expected = hidden.get(travelerId);
+            long hits = recommender.apply(travelerId).stream().filter(expected::contains).count();
+            sum += (double) hits / K;
+        }
+        return sum / training.size();
+    }
+
+    /**
+     * Memes candidats et signaux que findCandidates : co-souscriptions de la projection, plus les voyages
+     * partageant une destination ou une activite avec l'historique, hors voyages deja souscrits.
+     */
+    private List<RecommendationCandidate> candidates(UUID travelerId) {
+        Set<UUID> subscribed = training.get(travelerId);
+        Map<UUID, Long> coSubscriptions = graph.coSubscriptionCounts(travelerId, MAX_NEIGHBOURS, MAX_CANDIDATES);
+
+        Set<String> destinations = new HashSet<>();
+        Set<String> activities = new HashSet<>();
+        for (UUID travelId : subscribed) {
+            destinations.addAll(travelsById.get(travelId).destinations());
+            activities.addAll(travelsById.get(travelId).activities());
+        }
+
+        List<RecommendationCandidate> candidates = new ArrayList<>();
+        for (SyntheticTravel travel : travels) {
+            if (subscribed.contains(travel.id())) {
+                continue;
+            }
+            long co = coSubscriptions.getOrDefault(travel.id(), 0L);
+            long dest = travel.destinations().stream().filter(destinations::contains).count();
+            long act = travel.activities().stream().filter(activities::contains).count();
+            if (co > 0 || dest > 0 || act > 0) {
+                candidates.add(new RecommendationCandidate(travel.id(), co, dest, act, travel.rating()));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Souscriptions distinctes d'un voyageur : surtout dans son centre d'interet, avec une preference
+     * pour les voyages de meilleure qualite, le reste au hasard.
+     */
+    private Set<UUID> subscriptions(int cluster) {
+        List<SyntheticTravel> inCluster = travels.stream().filter(travel -> travel.cluster() == cluster).toList();
+        Set<UUID> subscribed = new HashSet<>();
+        while (subscribed.size() < SUBSCRIPTIONS) {
+            if (random.nextDouble() < IN_CLUSTER_PROBABILITY) {
+                SyntheticTravel travel = inCluster.get(random.nextInt(inCluster.size()));
+                if (random.nextDouble() < 0.3 + 0.7 * travel.quality()) {
+                    subscribed.add(travel.id());
+                }
+            } else {
+                subscribed.add(travels.get(random.nextInt(travels.size())).id());
+            }
+        }
+        return subscribed;
+    }
+
+    private List<String> sample(int cluster, String kind) {
+        Set<String> values = new HashSet<>();
+        while (values.size() < 2) {
+            values.add(kind + "-" + cluster + "-" + random.nextInt(POOL_SIZE));
+        }
+        return values.stream().sorted(Comparator.naturalOrder()).toList();
+    }
+
+    private static RecommendationScorer scorer(double coSubscription, double destination, double activity, double rating) {
+        RecommendationScorer scorer = new RecommendationScorer();
+        ReflectionTestUtils.setField(scorer, "coSubscriptionWeight", coSubscription);
+        ReflectionTestUtils.setField(scorer, "destinationWeight", destination);
+        ReflectionTestUtils.setField(scorer, "activityWeight", activity);
+        ReflectionTestUtils.setField(scorer, "ratingWeight", rating);
+        return scorer;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private record SyntheticTravel(UUID id, int cluster, List<String> destinations, List<String> activities,
+                                   Double rating, double quality) {}
+}
@@ -0,0 +1,114 @@
+package sn.travel.rec_service.services.implementation;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import sn.travel.rec_service.data.records.RecommendationCandidate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latence de RecommendationScorer.topK (tas de taille K) face a un tri complet des candidats,
+ * pour plusieurs tailles de liste de candidats, apres une phase de chauffe.
+ * <p>
+ * Parametrable : -Drec.benchmark.candidates=500,5000,50000 -Drec.benchmark.k=50 -Drec.benchmark.operations=2000000
+ * (operations = nombre total de candidats traites par taille, qui fixe le nombre d'iterations)
+ */
+class RecommendationScorerBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationScorerBenchmarkTest.class);
+
+    private static final int[] CANDIDATES = Arrays.stream(System.getProperty("rec.benchmark.candidates", "500,5000,50000")
+            .split(",")).mapToInt(value -> Integer.parseInt(value.trim())).toArray();
+    private static final int K = Integer.getInteger("rec.benchmark.k", 50);
+    private static final long OPERATIONS = Long.getLong("rec.benchmark.operations", 2_000_000L);
+
+    private final Random random = new Random(42);
+
+    @Test
+    void topKLatencyPerCandidateListSize() {
+        RecommendationScorer scorer = new RecommendationScorer();
+        ReflectionTestUtils.setField(scorer, "coSubscriptionWeight", 1.0);
+        ReflectionTestUtils.setField(scorer, "destinationWeight", 0.5);
+        ReflectionTestUtils.setField(scorer, "activityWeight", 0.3);
+        ReflectionTestUtils.setField(scorer, "ratingWeight", 0.5);
+
+        for (int size : CANDIDATES) {
+            List<RecommendationCandidate> candidates = candidates(size);
+            int iterations = (int) Math.max(20, OPERATIONS / size);
+
+            long[] heap = measure(iterations, () -> scorer.topK(candidates, K));
+            long[] sort = measure(iterations, () -> fullSort(scorer, candidates));
+
+            log.info("{} candidats, k={}, {} iterations : topK p50 {} us / p99 {} us, tri complet p50 {} us / p99 {} us",
+                    size, K, iterations, percentile(heap, 0.5), percentile(heap, 0.99),
+                    percentile(sort, 0.5), percentile(sort, 0.99));
+            assertThat(scorer.topK(candidates, K)).isEqualTo(fullSort(scorer, candidates));
+        }
+    }
+
+    // ---- Helpers ----
+
+    /**
+     * Reference : score de tous les candidats puis tri, memes regles que topK (score > 0, egalites par id).
+     */
+    private static List<UUID> fullSort(RecommendationScorer scorer, List<RecommendationCandidate> candidates) {
+        record Scored(UUID travelId, double score) {}
+        List<Scored> scored = new ArrayList<>(candidates.size());
+        for (RecommendationCandidate candidate : candidates) {
+            double score = scorer.score(candidate);
+            if (score > 0) {
+                scored.add(new Scored(candidate.travelId(), score));
+            }
+        }
+        scored.sort(Comparator.comparingDouble(Scored::score).reversed().thenComparing(Scored::travelId));
+        return scored.stream().limit(K).map(Scored::travelId).toList();
+    }
+
+    /**
+     * Latence de chaque appel en microsecondes (triee), chauffe exclue.
+     */
+    private static long[] measure(int iterations, Runnable call) {
+        int warmUp = Math.max(iterations / 10, 10);
+        for (int i = 0; i < warmUp; i++) {
+            call.run();
+        }
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            call.run();
+            latencies[i] = (System.nanoTime() - start) / 1000;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    /**
+     * Distribution proche de la production : peu de co-souscriptions, quelques destinations/activites communes,
+     * une note pour la plupart des voyages.
+     */
+    private List<RecommendationCandidate> candidates(int size) {
+        List<RecommendationCandidate> candidates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            candidates.add(new RecommendationCandidate(
+                    UUID.randomUUID(),
+                    random.nextInt(4) == 0 ? random.nextInt(20) : 0,
+                    random.nextInt(3),
+                    random.nextInt(3),
+                    random.nextInt(5) == 0 ? null : 1 + 4 * random.nextDouble()));
+        }
+        return candidates;
+    }
+}
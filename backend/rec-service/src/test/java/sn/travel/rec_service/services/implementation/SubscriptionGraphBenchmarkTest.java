@@ -0,0 +1,96 @@
+package sn.travel.rec_service.services.implementation;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cout de la projection CSR a l'echelle cible : construction complete, fusion d'un petit lot de souscriptions
+ * (copie + reconstruction, comme CollaborativeFilteringServiceImpl.mergePending) et requete de co-souscriptions.
+ * La lecture depuis Neo4j n'est pas comprise.
+ * <p>
+ * Parametrable : -Drec.benchmark.subscriptions=1000000 -Drec.benchmark.travelers=200000
+ * -Drec.benchmark.travels=50000 -Drec.benchmark.merge-batch=100 -Drec.benchmark.rounds=5
+ */
+class SubscriptionGraphBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionGraphBenchmarkTest.class);
+
+    private static final int SUBSCRIPTIONS = Integer.getInteger("rec.benchmark.subscriptions", 1_000_000);
+    private static final int TRAVELERS = Integer.getInteger("rec.benchmark.travelers", 200_000);
+    private static final int TRAVELS = Integer.getInteger("rec.benchmark.travels", 50_000);
+    private static final int MERGE_BATCH = Integer.getInteger("rec.benchmark.merge-batch", 100);
+    private static final int ROUNDS = Integer.getInteger("rec.benchmark.rounds", 5);
+
+    private final Random random = new Random(42);
+
+    @Test
+    void rebuildAndMergeCostAtTargetScale() {
+        UUID[] travelerIds = ids(TRAVELERS);
+        UUID[] travelIds = ids(TRAVELS);
+
+        long[] build = new long[ROUNDS];
+        long[] merge = new long[ROUNDS];
+        SubscriptionGraph graph = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            SubscriptionGraph.Builder builder = new SubscriptionGraph.Builder();
+            for (int i = 0; i < SUBSCRIPTIONS; i++) {
+                builder.add(travelerIds[random.nextInt(TRAVELERS)], popularTravel(travelIds));
+            }
+            graph = builder.build();
+            build[round] = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            SubscriptionGraph.Builder delta = graph.toBuilder();
+            for (int i = 0; i < MERGE_BATCH; i++) {
+                delta.add(travelerIds[random.nextInt(TRAVELERS)], popularTravel(travelIds));
+            }
+            graph = delta.build();
+            merge[round] = (System.nanoTime() - start) / 1_000_000;
+        }
+
+        int queries = 1000;
+        long[] query = new long[queries];
+        for (int i = 0; i < queries; i++) {
+            long start = System.nanoTime();
+            graph.coSubscriptionCounts(travelerIds[random.nextInt(TRAVELERS)], 1000, 500);
+            query[i] = (System.nanoTime() - start) / 1000;
+        }
+        Arrays.sort(build);
+        Arrays.sort(merge);
+        Arrays.sort(query);
+
+        log.info("{} souscriptions, {} voyageurs, {} voyages, ~{} Mo : construction complete {} ms (min {}), "
+                        + "fusion de {} souscription(s) {} ms (min {}), co-souscriptions p50 {} us / p99 {} us",
+                graph.subscriptionCount(), graph.travelerCount(), graph.travelCount(),
+                graph.estimatedBytes() / (1024 * 1024), build[ROUNDS / 2], build[0],
+                MERGE_BATCH, merge[ROUNDS / 2], merge[0], query[queries / 2], query[queries * 99 / 100]);
+        assertThat(graph.travelerCount()).isPositive();
+    }
+
+    // ---- Helpers ----
+
+    /**
+     * Popularite asymetrique : la moitie des souscriptions va a 10 % des voyages.
+     */
+    private UUID popularTravel(UUID[] travelIds) {
+        return random.nextBoolean()
+                ? travelIds[random.nextInt(Math.max(1, travelIds.length / 10))]
+                : travelIds[random.nextInt(travelIds.length)];
+    }
+
+    private static UUID[] ids(int count) {
+        UUID[] ids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = UUID.randomUUID();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,62 @@
+package sn.travel.search_service.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-process cache configuration for search results and autocomplete suggestions.
+ * <p>
+ * The cache itself (Caffeine, TTL + maximum size, stats) is configured through
+ * spring.cache.* properties; hit/miss/eviction metrics are exported by Actuator as cache.*.
+ * Search and suggest entries are evicted whenever a travel is indexed, updated or deleted.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SEARCH_RESULTS_CACHE = "travel-search";
+    public static final String SEARCH_KEY_GENERATOR = "searchKeyGenerator";
+    public static final String SUGGEST_CACHE = "travel-suggest";
+    public static final String SUGGEST_KEY_GENERATOR = "suggestKeyGenerator";
+
+    /**
+     * Builds a normalized key from the search arguments (query first, then filters, then pageable),
+     * so that "Dakar", " dakar " and "DAKAR" share one entry. Facet selections are order-insensitive.
+     */
+    @Bean(name = SEARCH_KEY_GENERATOR)
+    public KeyGenerator searchKeyGenerator() {
+        return (target, method, params) -> {
+            Object[] key = new Object[params.length + 1];
+            key[0] = method.getName();
+            key[1] = normalize((String) params[0]);
+            for (int i = 1; i < params.length; i++) {
+                key[i + 1] = switch (params[i]) {
+                    case Pageable pageable -> List.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+                    case Collection<?> values -> values.stream().map(String::valueOf).sorted().toList();
+                    case null, default -> params[i];
+                };
+            }
+            return new SimpleKey(key);
+        };
+    }
+
+    /**
+     * Key for suggest(prefix, size): normalized prefix and requested size.
+     */
+    @Bean(name = SUGGEST_KEY_GENERATOR)
+    public KeyGenerator suggestKeyGenerator() {
+        return (target, method, params) -> normalize((String) params[0]) + '|' + params[1];
+    }
+
+    private static String normalize(String text) {
+        return text == null || text.isBlank() ? "" : text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
@@ -1,19 +1,30 @@
 package sn.travel.search_service.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import sn.travel.messaging.DeadLetterAdmin;
+import sn.travel.messaging.DeadLetterRouter;
+
+import java.util.List;
 
 /**
  * RabbitMQ configuration for consuming travel events.
  * The search-service is a pure consumer — it listens for travel lifecycle events
  * published by the travel-service and indexes/removes documents in Elasticsearch.
+ * Failed messages go through the retry tiers and dead-letter queue of DeadLetterRouter.
  */
 @Configuration
+@Import({DeadLetterRouter.class, DeadLetterAdmin.class})
 public class RabbitMQConfig {
 
     // ---- Exchange (declared by travel-service, re-declared here for safety) ----
@@ -29,6 +40,21 @@ public class RabbitMQConfig {
     public static final String TRAVEL_UPDATED_KEY = "travel.updated";
     public static final String TRAVEL_DELETED_KEY = "travel.deleted";
 
+    // ---- Queues consumed here, with retry tiers and DLQ ----
+    public static final List<String> DEAD_LETTERED_QUEUES = List.of(TRAVEL_CREATED_QUEUE, TRAVEL_UPDATED_QUEUE, TRAVEL_DELETED_QUEUE);
+
+    // ---- Listener container factories ----
+    public static final String BATCH_LISTENER_FACTORY = "batchListenerContainerFactory";
+
+    @Value("${search.indexing.batch-size:500}")
+    private int indexingBatchSize;
+
+    @Value("${search.indexing.batch-window-ms:200}")
+    private long indexingBatchWindowMs;
+
+    @Value("${messaging.retry.delays-ms:1000,10000,60000}")
+    private List<Long> retryDelaysMs;
+
     // ---- Exchange ----
 
     @Bean
@@ -40,17 +66,22 @@ public class RabbitMQConfig {
 
     @Bean
     public Queue travelCreatedQueue() {
-        return QueueBuilder.durable(TRAVEL_CREATED_QUEUE).build();
+        return DeadLetterRouter.durableQueue(TRAVEL_CREATED_QUEUE);
     }
 
     @Bean
     public Queue travelUpdatedQueue() {
-        return QueueBuilder.durable(TRAVEL_UPDATED_QUEUE).build();
+        return DeadLetterRouter.durableQueue(TRAVEL_UPDATED_QUEUE);
     }
 
     @Bean
     public Queue travelDeletedQueue() {
-        return QueueBuilder.durable(TRAVEL_DELETED_QUEUE).build();
+        return DeadLetterRouter.durableQueue(TRAVEL_DELETED_QUEUE);
+    }
+
+    @Bean
+    public Declarables retryTopology() {
+        return DeadLetterRouter.retryTopology(retryDelaysMs, DEAD_LETTERED_QUEUES);
     }
 
     // ---- Bindings ----
@@ -83,4 +114,37 @@ public class RabbitMQConfig {
         template.setMessageConverter(jsonMessageConverter());
         return template;
     }
+
+    /**
+     * Container factory delivering events to listeners as a List.
+     * A batch is handed over when batch-size messages are buffered, or when no new message
+     * arrives within batch-window-ms, so each batch becomes a single Elasticsearch _bulk request.
+     * A failed batch is routed message by message by DeadLetterRouter.
+     */
+    @Bean(name = BATCH_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(ConnectionFactory connectionFactory,
+                                                                              DeadLetterRouter deadLetterRouter) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(indexingBatchSize);
+        factory.setPrefetchCount(indexingBatchSize);
+        factory.setReceiveTimeout(indexingBatchWindowMs);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(deadLetterRouter.recoveryAdvice(false));
+        return factory;
+    }
+
+    /**
+     * Applied to the default listener containers: failures are routed by DeadLetterRouter instead of being requeued.
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> deadLetterContainerCustomizer(DeadLetterRouter deadLetterRouter) {
+        return container -> {
+            container.setDefaultRequeueRejected(false);
+            container.setAdviceChain(deadLetterRouter.recoveryAdvice(container.getAcknowledgeMode().isManual()));
+        };
+    }
 }
@@ -44,6 +44,8 @@ public class SecurityConfig {
                         // Public endpoints
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
+                        // Index administration (re-index) is admin-only
+                        .requestMatchers("/api/v1/search/admin/**").hasRole("ADMIN")
                         // Search endpoints are public (read-only CQRS)
                         .requestMatchers(HttpMethod.GET, "/api/v1/search/**").permitAll()
                         // Everything else requires authentication
@@ -4,19 +4,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
+import sn.travel.messaging.DeadLetterRouter;
 import sn.travel.search_service.data.records.TravelCreatedEvent;
 import sn.travel.search_service.data.records.TravelDeletedEvent;
 import sn.travel.search_service.data.records.TravelUpdatedEvent;
 import sn.travel.search_service.services.SearchService;
 
+import java.util.List;
+
 /**
  * RabbitMQ event consumer for travel lifecycle events.
  * Keeps the Elasticsearch index in sync with the travel-service (CQRS pattern).
  *
  * Events consumed:
- * - TravelCreatedEvent  → Index new travel document
- * - TravelUpdatedEvent  → Re-index updated travel document
+ * - TravelCreatedEvent  → Index new travel documents (batched, one _bulk request per batch)
+ * - TravelUpdatedEvent  → Re-index updated travel documents (batched, one _bulk request per batch)
  * - TravelDeletedEvent  → Remove travel document from index
+ *
+ * Failures are rethrown so the container routes the messages to the retry tiers / DLQ (DeadLetterRouter).
  */
 @Component
 @RequiredArgsConstructor
@@ -26,30 +31,32 @@ public class TravelEventListener {
     private final SearchService searchService;
 
     /**
-     * Handles TravelCreatedEvent — indexes a newly published travel.
+     * Handles a batch of TravelCreatedEvent — indexes newly published travels.
      */
-    @RabbitListener(queues = RabbitMQConfig.TRAVEL_CREATED_QUEUE)
-    public void handleTravelCreated(TravelCreatedEvent event) {
-        log.info("Received TravelCreatedEvent: travelId={}, title='{}'", event.travelId(), event.title());
+    @RabbitListener(queues = RabbitMQConfig.TRAVEL_CREATED_QUEUE, containerFactory = RabbitMQConfig.BATCH_LISTENER_FACTORY)
+    public void handleTravelCreated(List<TravelCreatedEvent> events) {
+        log.info("Received {} TravelCreatedEvent(s)", events.size());
 
         try {
-            searchService.indexTravel(event);
+            searchService.indexTravels(events);
         } catch (Exception e) {
-            log.error("Failed to index travel {}: {}", event.travelId(), e.getMessage(), e);
+            log.error("Failed to index batch of {} travel(s): {}", events.size(), e.getMessage(), e);
+            throw e;
         }
     }
 
     /**
-     * Handles TravelUpdatedEvent — re-indexes an updated travel.
+     * Handles a batch of TravelUpdatedEvent — re-indexes updated travels.
      */
-    @RabbitListener(queues = RabbitMQConfig.TRAVEL_UPDATED_QUEUE)
-    public void handleTravelUpdated(TravelUpdatedEvent event) {
-        log.info("Received TravelUpdatedEvent: travelId={}, title='{}'", event.travelId(), event.title());
+    @RabbitListener(queues = RabbitMQConfig.TRAVEL_UPDATED_QUEUE, containerFactory = RabbitMQConfig.BATCH_LISTENER_FACTORY)
+    public void handleTravelUpdated(List<TravelUpdatedEvent> events) {
+        log.info("Received {} TravelUpdatedEvent(s)", events.size());
 
         try {
-            searchService.updateTravel(event);
+            searchService.updateTravels(events);
         } catch (Exception e) {
-            log.error("Failed to update travel index {}: {}", event.travelId(), e.getMessage(), e);
+            log.error("Failed to re-index batch of {} travel(s): {}", events.size(), e.getMessage(), e);
+            throw e;
         }
     }
 
@@ -64,6 +71,7 @@ public class TravelEventListener {
             searchService.deleteTravel(event.travelId().toString());
         } catch (Exception e) {
             log.error("Failed to delete travel from index {}: {}", event.travelId(), e.getMessage(), e);
+            throw e;
         }
     }
 }
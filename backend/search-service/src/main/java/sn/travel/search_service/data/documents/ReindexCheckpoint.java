@@ -0,0 +1,49 @@
+package sn.travel.search_service.data.documents;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the travels re-index job, persisted after every page so that
+ * an interrupted run can resume from the last cursor.
+ */
+@Document(indexName = "travels-reindex-checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReindexCheckpoint {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    private String id;
+
+    @Field(type = FieldType.Keyword)
+    private String targetIndex;
+
+    @Field(type = FieldType.Keyword)
+    private String lastCursor;
+
+    @Field(type = FieldType.Long)
+    private long indexedCount;
+
+    @Field(type = FieldType.Keyword)
+    private State state;
+
+    @Field(type = FieldType.Text)
+    private String error;
+
+    @Field(type = FieldType.Date, format = DateFormat.date_hour_minute_second_millis)
+    private LocalDateTime startedAt;
+
+    @Field(type = FieldType.Date, format = DateFormat.date_hour_minute_second_millis)
+    private LocalDateTime updatedAt;
+}
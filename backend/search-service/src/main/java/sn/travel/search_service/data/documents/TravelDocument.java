@@ -6,6 +6,8 @@ import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,8 +16,17 @@ import java.util.List;
 /**
  * Elasticsearch document representing a searchable Travel offer.
  * Indexed via RabbitMQ events from the travel-service (CQRS pattern).
+ * <p>
+ * "travels" is an alias pointing at a versioned index (travels_v{timestamp}) once the
+ * first re-index has run, so the mapping can change without downtime.
+ * <p>
+ * title and destinations.name carry a search_as_you_type "suggest" subfield (edge n-grams
+ * built at index time) used by the autocomplete endpoint.
+ * <p>
+ * Writes are externally versioned on updatedAt (EXTERNAL_GTE: replaying the same version is allowed),
+ * so a re-index page or a redelivered event older than the indexed document is rejected.
  */
-@Document(indexName = "travels")
+@Document(indexName = TravelDocument.INDEX_ALIAS, versionType = Document.VersionType.EXTERNAL_GTE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,13 +34,19 @@ import java.util.List;
 @Builder
 public class TravelDocument {
 
+    public static final String INDEX_ALIAS = "travels";
+    public static final String SUGGEST_SUBFIELD = "suggest";
+
     @Id
     private String id;
 
     @Field(type = FieldType.Keyword)
     private String managerId;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = SUGGEST_SUBFIELD, type = FieldType.Search_As_You_Type)
+    )
     private String title;
 
     @Field(type = FieldType.Text, analyzer = "standard")
@@ -89,7 +106,10 @@ public class TravelDocument {
     @Builder
     public static class DestinationDoc {
 
-        @Field(type = FieldType.Text)
+        @MultiField(
+                mainField = @Field(type = FieldType.Text),
+                otherFields = @InnerField(suffix = SUGGEST_SUBFIELD, type = FieldType.Search_As_You_Type)
+        )
         private String name;
 
         @Field(type = FieldType.Keyword)
@@ -0,0 +1,48 @@
+package sn.travel.search_service.data.records;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of the travel-service published-travels feed (GET /api/v1/travels/feed).
+ * Used by the re-index job; unknown fields of the travel-service response are ignored.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TravelCatalogPage(
+        List<Item> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Item(
+            UUID id,
+            UUID managerId,
+            String title,
+            String description,
+            LocalDate startDate,
+            LocalDate endDate,
+            Integer duration,
+            Double price,
+            Integer maxCapacity,
+            Integer currentBookings,
+            String status,
+            String accommodationType,
+            String accommodationName,
+            String transportationType,
+            String transportationDetails,
+            List<DestinationData> destinations,
+            List<ActivityData> activities,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record DestinationData(String name, String country, String city, String description) {}
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ActivityData(String name, String description, String location) {}
+}
@@ -0,0 +1,10 @@
+package sn.travel.search_service.data.repositories;
+
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import sn.travel.search_service.data.documents.ReindexCheckpoint;
+
+/**
+ * Elasticsearch repository for the re-index job checkpoint.
+ */
+public interface ReindexCheckpointRepository extends ElasticsearchRepository<ReindexCheckpoint, String> {
+}
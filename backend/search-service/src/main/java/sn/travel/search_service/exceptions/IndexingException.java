@@ -0,0 +1,22 @@
+package sn.travel.search_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.Collection;
+
+/**
+ * Thrown when travel documents are still rejected by Elasticsearch once the indexing retries are exhausted,
+ * or cannot be mirrored to the re-index target.
+ */
+public class IndexingException extends SearchServiceException {
+
+    private static final String ERROR_CODE = "SEARCH_006";
+
+    public IndexingException(Collection<String> documentIds, String reason) {
+        super(
+                String.format("Could not index %d travel document(s) (%s): %s", documentIds.size(), reason, documentIds),
+                ERROR_CODE,
+                HttpStatus.INTERNAL_SERVER_ERROR
+        );
+    }
+}
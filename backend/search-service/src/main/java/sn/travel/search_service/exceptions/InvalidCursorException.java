@@ -0,0 +1,19 @@
+package sn.travel.search_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a search cursor token cannot be decoded.
+ */
+public class InvalidCursorException extends SearchServiceException {
+
+    private static final String ERROR_CODE = "SEARCH_004";
+
+    public InvalidCursorException(String cursor) {
+        super(
+                String.format("Invalid search cursor: '%s'", cursor),
+                ERROR_CODE,
+                HttpStatus.BAD_REQUEST
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package sn.travel.search_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a re-index is requested while another one is still running.
+ */
+public class ReindexInProgressException extends SearchServiceException {
+
+    private static final String ERROR_CODE = "SEARCH_003";
+
+    public ReindexInProgressException(String targetIndex) {
+        super(
+                String.format("A re-index into '%s' is already running", targetIndex),
+                ERROR_CODE,
+                HttpStatus.CONFLICT
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package sn.travel.search_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a dead-letter operation targets a queue that is not consumed by this service.
+ */
+public class UnknownQueueException extends SearchServiceException {
+    private static final String ERROR_CODE = "SEARCH_005";
+
+    public UnknownQueueException(String queue) {
+        super(
+                String.format("No dead-letter queue for queue: %s", queue),
+                ERROR_CODE,
+                HttpStatus.NOT_FOUND
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package sn.travel.search_service.services;
+
+import sn.travel.search_service.web.dto.responses.ReindexStatusResponse;
+
+/**
+ * Service interface for rebuilding the travels index from the travel-service (source of truth).
+ */
+public interface ReindexService {
+
+    /**
+     * Start a re-index in the background.
+     *
+     * @param resume continue the last unfinished run from its checkpoint instead of starting over
+     * @return the initial job status
+     */
+    ReindexStatusResponse start(boolean resume);
+
+    /**
+     * Current (or last) re-index job status.
+     */
+    ReindexStatusResponse getStatus();
+
+    /**
+     * Index of the unfinished re-index (running, failed or interrupted, until completed or replaced), or null.
+     * Live events are written to it as well so that it does not miss changes made during the copy or before a resume.
+     */
+    String activeTargetIndex();
+}
@@ -3,10 +3,12 @@ package sn.travel.search_service.services;
 import org.springframework.data.domain.Pageable;
 import sn.travel.search_service.data.records.TravelCreatedEvent;
 import sn.travel.search_service.data.records.TravelUpdatedEvent;
+import sn.travel.search_service.web.dto.responses.FacetedSearchResponse;
 import sn.travel.search_service.web.dto.responses.PageResponse;
 import sn.travel.search_service.web.dto.responses.SearchResultResponse;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Service interface for search and indexing operations.
@@ -26,6 +28,33 @@ public interface SearchService {
     PageResponse<SearchResultResponse> search(String query, Double minPrice, Double maxPrice,
                                                LocalDate fromDate, Pageable pageable);
 
+    /**
+     * {@link #search} plus facet counts (accommodation type, transportation type, destination country,
+     * price ranges) in a single Elasticsearch request. Selected facet values narrow the results (post_filter);
+     * each facet is counted with the other facets' selections only, so sibling values of a selection stay listed.
+     *
+     * @param accommodationTypes  selected accommodation types (any of)
+     * @param transportationTypes selected transportation types (any of)
+     * @param countries           selected destination countries (any of)
+     * @return paginated results and facet buckets
+     */
+    FacetedSearchResponse searchWithFacets(String query, Double minPrice, Double maxPrice, LocalDate fromDate,
+                                           List<String> accommodationTypes, List<String> transportationTypes,
+                                           List<String> countries, Pageable pageable);
+
+    /**
+     * Cursor-based variant of {@link #search} using search_after (sorted by score, then id),
+     * so every page costs the same regardless of depth and max_result_window does not apply.
+     *
+     * @param cursor         token from the previous page's nextCursor, null for the first page
+     * @param size           page size (capped by search.cursor.max-size)
+     * @param trackTotalHits whether to count total hits (off keeps every page cheap)
+     * @param pointInTime    pin all pages to a point-in-time snapshot (only read on the first page)
+     * @return one page of results with the next cursor
+     */
+    PageResponse<SearchResultResponse> searchAfter(String query, Double minPrice, Double maxPrice, LocalDate fromDate,
+                                                    String cursor, int size, boolean trackTotalHits, boolean pointInTime);
+
     /**
      * Get a single travel document by its ID.
      *
@@ -35,14 +64,14 @@ public interface SearchService {
     SearchResultResponse getById(String travelId);
 
     /**
-     * Index a new travel document (triggered by TravelCreatedEvent).
+     * Index new travel documents in a single bulk request (triggered by a batch of TravelCreatedEvent).
      */
-    void indexTravel(TravelCreatedEvent event);
+    void indexTravels(List<TravelCreatedEvent> events);
 
     /**
-     * Update an existing travel document (triggered by TravelUpdatedEvent).
+     * Re-index existing travel documents in a single bulk request (triggered by a batch of TravelUpdatedEvent).
      */
-    void updateTravel(TravelUpdatedEvent event);
+    void updateTravels(List<TravelUpdatedEvent> events);
 
     /**
      * Delete a travel document from the index (triggered by TravelDeletedEvent).
@@ -0,0 +1,20 @@
+package sn.travel.search_service.services;
+
+import sn.travel.search_service.web.dto.responses.SuggestionResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for search-as-you-type autocomplete.
+ */
+public interface SuggestService {
+
+    /**
+     * Prefix suggestions on travel titles and destination names.
+     *
+     * @param prefix text typed so far
+     * @param size   maximum number of suggestions (capped by search.suggest.max-size)
+     * @return suggestions ordered by relevance, empty for a blank prefix
+     */
+    List<SuggestionResponse> suggest(String prefix, int size);
+}
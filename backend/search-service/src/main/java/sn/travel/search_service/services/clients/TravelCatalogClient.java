@@ -0,0 +1,35 @@
+package sn.travel.search_service.services.clients;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import sn.travel.search_service.data.records.TravelCatalogPage;
+
+/**
+ * HTTP client for the travel-service published-travels feed (source of truth for re-indexing).
+ */
+@Component
+public class TravelCatalogClient {
+
+    private final RestClient restClient;
+
+    public TravelCatalogClient(@Value("${search.reindex.travel-service-uri:http://localhost:8082}") String travelServiceUri) {
+        this.restClient = RestClient.builder().baseUrl(travelServiceUri).build();
+    }
+
+    /**
+     * Fetches the page of published travels following the given cursor (null for the first page).
+     */
+    public TravelCatalogPage fetchPublished(String cursor, int size) {
+        return restClient.get()
+                .uri(uri -> {
+                    uri.path("/api/v1/travels/feed").queryParam("size", size);
+                    if (cursor != null) {
+                        uri.queryParam("cursor", cursor);
+                    }
+                    return uri.build();
+                })
+                .retrieve()
+                .body(TravelCatalogPage.class);
+    }
+}
@@ -0,0 +1,313 @@
+package sn.travel.search_service.services.implementation;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.stereotype.Service;
+import sn.travel.search_service.config.CacheConfig;
+import sn.travel.search_service.data.documents.ReindexCheckpoint;
+import sn.travel.search_service.data.documents.TravelDocument;
+import sn.travel.search_service.data.records.TravelCatalogPage;
+import sn.travel.search_service.data.repositories.ReindexCheckpointRepository;
+import sn.travel.search_service.exceptions.ReindexInProgressException;
+import sn.travel.search_service.services.ReindexService;
+import sn.travel.search_service.services.clients.TravelCatalogClient;
+import sn.travel.search_service.web.dto.responses.ReindexStatusResponse;
+import sn.travel.search_service.web.mappers.SearchMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of ReindexService.
+ * <p>
+ * Flow:
+ * 1. Create travels_v{timestamp} with the current TravelDocument mapping, refresh disabled and 0 replicas
+ * 2. Stream PUBLISHED travels from travel-service (keyset cursor) and bulk-load each page
+ * 3. Persist a checkpoint after each page (resumable)
+ * 4. Restore refresh/replicas, refresh, then atomically move the "travels" alias to the new index
+ * <p>
+ * Pages are written with external versioning on updatedAt (TravelIndexWrites): a page fetched before a live
+ * update cannot overwrite the newer document mirrored meanwhile. Live changes are mirrored into the target
+ * as long as its checkpoint is unfinished, including while a failed run waits to be resumed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReindexServiceImpl implements ReindexService {
+
+    private static final String CHECKPOINT_ID = TravelDocument.INDEX_ALIAS;
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ReindexCheckpointRepository checkpointRepository;
+    private final TravelCatalogClient travelCatalogClient;
+    private final SearchMapper searchMapper;
+    private final CacheManager cacheManager;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "travels-reindex"));
+    private final AtomicBoolean running = new AtomicBoolean();
+    // Target of the unfinished checkpoint, loaded lazily from the checkpoint index
+    private volatile String activeTargetIndex;
+    private volatile boolean activeTargetLoaded;
+    private volatile double docsPerSecond;
+
+    @Value("${search.reindex.page-size:1000}")
+    private int pageSize;
+
+    @Value("${search.reindex.replicas:1}")
+    private String replicas;
+
+    @Value("${search.reindex.refresh-interval:1s}")
+    private String refreshInterval;
+
+    @Override
+    public ReindexStatusResponse start(boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ReindexInProgressException(activeTargetIndex);
+        }
+
+        try {
+            ReindexCheckpoint checkpoint = resume ? findResumableCheckpoint() : null;
+            if (checkpoint == null) {
+                checkpoint = createTargetIndex();
+            } else {
+                log.info("Resuming re-index into {} after cursor {} ({} docs already indexed)",
+                        checkpoint.getTargetIndex(), checkpoint.getLastCursor(), checkpoint.getIndexedCount());
+            }
+
+            checkpoint.setState(ReindexCheckpoint.State.RUNNING);
+            checkpoint.setError(null);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+
+            activeTargetIndex = checkpoint.getTargetIndex();
+            activeTargetLoaded = true;
+            docsPerSecond = 0;
+            ReindexCheckpoint job = checkpoint;
+            executor.submit(() -> run(job));
+            return toStatus(checkpoint);
+        } catch (RuntimeException e) {
+            activeTargetLoaded = false;
+            running.set(false);
+            throw e;
+        }
+    }
+
+    @Override
+    public ReindexStatusResponse getStatus() {
+        return checkpointRepository.findById(CHECKPOINT_ID)
+                .map(this::toStatus)
+                .orElse(new ReindexStatusResponse("NEVER_RUN", null, 0, 0, null, null, null, null));
+    }
+
+    @Override
+    public String activeTargetIndex() {
+        if (!activeTargetLoaded) {
+            synchronized (this) {
+                if (!activeTargetLoaded) {
+                    ReindexCheckpoint checkpoint = findResumableCheckpoint();
+                    activeTargetIndex = checkpoint != null ? checkpoint.getTargetIndex() : null;
+                    activeTargetLoaded = true;
+                }
+            }
+        }
+        return activeTargetIndex;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ---- Job ----
+
+    private void run(ReindexCheckpoint job) {
+        IndexCoordinates target = IndexCoordinates.of(job.getTargetIndex());
+        long runStart = System.nanoTime();
+        long runIndexed = 0;
+
+        try {
+            String cursor = job.getLastCursor();
+            TravelCatalogPage page;
+            do {
+                page = travelCatalogClient.fetchPublished(cursor, pageSize);
+
+                List<IndexQuery> queries = page.content().stream()
+                        .map(searchMapper::toDocument)
+                        .map(TravelIndexWrites::indexQuery)
+                        .toList();
+                if (!queries.isEmpty()) {
+                    bulkLoad(queries, target);
+                    runIndexed += queries.size();
+                }
+
+                if (page.nextCursor() != null) {
+                    cursor = page.nextCursor();
+                }
+                docsPerSecond = runIndexed / Math.max((System.nanoTime() - runStart) / 1e9, 1e-3);
+
+                job.setLastCursor(cursor);
+                job.setIndexedCount(job.getIndexedCount() + queries.size());
+                job.setUpdatedAt(LocalDateTime.now());
+                checkpointRepository.save(job);
+                log.debug("Re-index progress: {} docs into {} ({} docs/s)",
+                        job.getIndexedCount(), job.getTargetIndex(), Math.round(docsPerSecond));
+            } while (page.hasNext());
+
+            finalizeTargetIndex(job.getTargetIndex());
+            swapAlias(job.getTargetIndex());
+            evictSearchResults();
+
+            job.setState(ReindexCheckpoint.State.COMPLETED);
+            log.info("Re-index completed: {} docs into {} ({} docs/s), alias '{}' swapped",
+                    job.getIndexedCount(), job.getTargetIndex(), Math.round(docsPerSecond), TravelDocument.INDEX_ALIAS);
+        } catch (Exception e) {
+            job.setState(ReindexCheckpoint.State.FAILED);
+            job.setError(e.getMessage());
+            log.error("Re-index into {} failed after cursor {}: {}", job.getTargetIndex(), job.getLastCursor(), e.getMessage(), e);
+        } finally {
+            job.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(job);
+            if (job.getState() == ReindexCheckpoint.State.COMPLETED) {
+                activeTargetIndex = null;
+            }
+            running.set(false);
+        }
+    }
+
+    /**
+     * Documents already newer in the target (mirrored live updates) are skipped, any other rejection fails the run.
+     */
+    private void bulkLoad(List<IndexQuery> queries, IndexCoordinates target) {
+        try {
+            elasticsearchOperations.bulkIndex(queries, target);
+        } catch (BulkFailureException e) {
+            if (!TravelIndexWrites.failedIds(e).isEmpty()) {
+                throw e;
+            }
+            log.debug("Re-index: {} document(s) skipped, a newer version is already in {}",
+                    e.getFailedDocuments().size(), target.getIndexName());
+        }
+    }
+
+    // ---- Index management ----
+
+    private ReindexCheckpoint findResumableCheckpoint() {
+        return checkpointRepository.findById(CHECKPOINT_ID)
+                .filter(checkpoint -> checkpoint.getState() != ReindexCheckpoint.State.COMPLETED)
+                .filter(checkpoint -> elasticsearchOperations.indexOps(IndexCoordinates.of(checkpoint.getTargetIndex())).exists())
+                .orElse(null);
+    }
+
+    /**
+     * Creates the versioned target index with the mapping/settings derived from TravelDocument,
+     * tuned for bulk loading (no refresh, no replicas).
+     */
+    private ReindexCheckpoint createTargetIndex() {
+        String targetIndex = TravelDocument.INDEX_ALIAS + "_v" + LocalDateTime.now().format(VERSION_FORMAT);
+
+        IndexOperations templateOps = elasticsearchOperations.indexOps(TravelDocument.class);
+        elasticsearchOperations.indexOps(IndexCoordinates.of(targetIndex))
+                .create(templateOps.createSettings(), templateOps.createMapping());
+        updateIndexSettings(targetIndex, "-1", "0");
+        log.info("Created re-index target {}", targetIndex);
+
+        LocalDateTime now = LocalDateTime.now();
+        return ReindexCheckpoint.builder()
+                .id(CHECKPOINT_ID)
+                .targetIndex(targetIndex)
+                .indexedCount(0)
+                .startedAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private void finalizeTargetIndex(String targetIndex) throws IOException {
+        updateIndexSettings(targetIndex, refreshInterval, replicas);
+        elasticsearchClient.indices().refresh(r -> r.index(targetIndex));
+    }
+
+    private void updateIndexSettings(String index, String refresh, String numberOfReplicas) {
+        try {
+            elasticsearchClient.indices().putSettings(r -> r
+                    .index(index)
+                    .settings(s -> s
+                            .refreshInterval(t -> t.time(refresh))
+                            .numberOfReplicas(numberOfReplicas)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Points the alias at the new index in a single atomic update-aliases request.
+     * Previous versioned indices are detached but kept for rollback; a legacy concrete
+     * index named like the alias (created before the first re-index) is removed in the same request.
+     */
+    private void swapAlias(String targetIndex) throws IOException {
+        String alias = TravelDocument.INDEX_ALIAS;
+        boolean aliasExists = elasticsearchClient.indices().existsAlias(r -> r.name(alias)).value();
+        Set<String> previousIndices = aliasExists
+                ? elasticsearchClient.indices().getAlias(r -> r.name(alias)).aliases().keySet()
+                : Set.of();
+        boolean legacyIndexExists = !aliasExists && elasticsearchClient.indices().exists(r -> r.index(alias)).value();
+
+        elasticsearchClient.indices().updateAliases(r -> {
+            r.actions(a -> a.add(add -> add.index(targetIndex).alias(alias)));
+            previousIndices.stream()
+                    .filter(index -> !index.equals(targetIndex))
+                    .forEach(index -> r.actions(a -> a.remove(remove -> remove.index(index).alias(alias))));
+            if (legacyIndexExists) {
+                r.actions(a -> a.removeIndex(remove -> remove.index(alias)));
+            }
+            return r;
+        });
+
+        if (!previousIndices.isEmpty()) {
+            log.info("Alias '{}' moved from {} to {} (old indices kept for rollback)", alias, previousIndices, targetIndex);
+        }
+    }
+
+    /**
+     * Results cached before the swap were computed against the old index.
+     */
+    private void evictSearchResults() {
+        for (String name : List.of(CacheConfig.SEARCH_RESULTS_CACHE, CacheConfig.SUGGEST_CACHE)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private ReindexStatusResponse toStatus(ReindexCheckpoint checkpoint) {
+        return new ReindexStatusResponse(
+                checkpoint.getState() != null ? checkpoint.getState().name() : null,
+                checkpoint.getTargetIndex(),
+                checkpoint.getIndexedCount(),
+                docsPerSecond,
+                checkpoint.getLastCursor(),
+                checkpoint.getError(),
+                checkpoint.getStartedAt(),
+                checkpoint.getUpdatedAt()
+        );
+    }
+}
@@ -1,42 +1,102 @@
 package sn.travel.search_service.services.implementation;
 
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.AggregationRange;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
 import org.springframework.stereotype.Service;
+import sn.travel.search_service.config.CacheConfig;
 import sn.travel.search_service.data.documents.TravelDocument;
 import sn.travel.search_service.data.records.TravelCreatedEvent;
 import sn.travel.search_service.data.records.TravelUpdatedEvent;
 import sn.travel.search_service.data.repositories.TravelSearchRepository;
 import sn.travel.search_service.exceptions.DocumentNotFoundException;
+import sn.travel.search_service.exceptions.IndexingException;
+import sn.travel.search_service.exceptions.InvalidCursorException;
 import sn.travel.search_service.exceptions.SearchQueryException;
+import sn.travel.search_service.services.ReindexService;
 import sn.travel.search_service.services.SearchService;
+import sn.travel.search_service.web.dto.responses.FacetedSearchResponse;
 import sn.travel.search_service.web.dto.responses.PageResponse;
 import sn.travel.search_service.web.dto.responses.SearchResultResponse;
 import sn.travel.search_service.web.mappers.SearchMapper;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementation of SearchService.
  * Uses ElasticsearchOperations for advanced queries and TravelSearchRepository for CRUD.
+ * Search results are cached in-process and evicted on every index change. Index writes wait for the refresh
+ * that makes them searchable (RefreshPolicy.WAIT_UNTIL) and caches are evicted after the write returns,
+ * so a search running in between cannot cache the pre-change results again.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SearchServiceImpl implements SearchService {
 
+    private static final String FACET_ACCOMMODATION = "accommodationType";
+    private static final String FACET_TRANSPORTATION = "transportationType";
+    private static final String FACET_COUNTRY = "country";
+    private static final String FACET_PRICE = "price";
+    private static final String FACET_VALUES = "values";
+
+    private static final String FIELD_ACCOMMODATION = "accommodationType";
+    private static final String FIELD_TRANSPORTATION = "transportationType";
+    private static final String FIELD_COUNTRY = "destinations.country";
+
     private final TravelSearchRepository travelSearchRepository;
     private final ElasticsearchOperations elasticsearchOperations;
     private final SearchMapper searchMapper;
+    private final ReindexService reindexService;
+
+    @Value("${search.facets.size:20}")
+    private int facetSize;
+
+    @Value("${search.facets.price-boundaries:100000,250000,500000,1000000}")
+    private double[] priceBoundaries;
+
+    @Value("${search.cursor.max-size:100}")
+    private int cursorMaxSize;
+
+    @Value("${search.cursor.pit-keep-alive-ms:60000}")
+    private long pitKeepAliveMs;
+
+    @Value("${search.indexing.max-retries:3}")
+    private int indexingMaxRetries;
+
+    @Value("${search.indexing.retry-backoff-ms:100}")
+    private long indexingRetryBackoffMs;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SEARCH_RESULTS_CACHE, keyGenerator = CacheConfig.SEARCH_KEY_GENERATOR)
     public PageResponse<SearchResultResponse> search(String query, Double minPrice, Double maxPrice,
                                                       LocalDate fromDate, Pageable pageable) {
         log.info("Searching travels: query='{}', minPrice={}, maxPrice={}, fromDate={}", query, minPrice, maxPrice, fromDate);
@@ -50,27 +110,119 @@ public class SearchServiceImpl implements SearchService {
                     .build();
 
             SearchHits<TravelDocument> searchHits = elasticsearchOperations.search(nativeQuery, TravelDocument.class);
+            return toPageResponse(searchHits, pageable);
+        } catch (Exception e) {
+            log.error("Search query failed: {}", e.getMessage(), e);
+            throw new SearchQueryException(query, e.getMessage());
+        }
+    }
 
-            List<SearchResultResponse> results = searchHits.getSearchHits().stream()
-                    .map(hit -> searchMapper.toResponse(hit.getContent()))
-                    .toList();
+    @Override
+    @Cacheable(cacheNames = CacheConfig.SEARCH_RESULTS_CACHE, keyGenerator = CacheConfig.SEARCH_KEY_GENERATOR)
+    public FacetedSearchResponse searchWithFacets(String query, Double minPrice, Double maxPrice, LocalDate fromDate,
+                                                  List<String> accommodationTypes, List<String> transportationTypes,
+                                                  List<String> countries, Pageable pageable) {
+        log.info("Faceted search: query='{}', accommodation={}, transportation={}, countries={}",
+                query, accommodationTypes, transportationTypes, countries);
 
-            long totalHits = searchHits.getTotalHits();
-            int totalPages = pageable.getPageSize() > 0
-                    ? (int) Math.ceil((double) totalHits / pageable.getPageSize())
-                    : 0;
+        try {
+            // Selections go to post_filter, so each facet can count the values of its own field before selection
+            Map<String, Query> selections = new LinkedHashMap<>();
+            addSelection(selections, FIELD_ACCOMMODATION, accommodationTypes);
+            addSelection(selections, FIELD_TRANSPORTATION, transportationTypes);
+            addSelection(selections, FIELD_COUNTRY, countries);
+
+            NativeQuery nativeQuery = NativeQuery.builder()
+                    .withQuery(buildElasticsearchQuery(query, minPrice, maxPrice, fromDate))
+                    .withFilter(selectionFilter(selections, null))
+                    .withPageable(pageable)
+                    .withAggregation(FACET_ACCOMMODATION,
+                            facetAggregation(selections, FIELD_ACCOMMODATION, termsAggregation(FIELD_ACCOMMODATION)))
+                    .withAggregation(FACET_TRANSPORTATION,
+                            facetAggregation(selections, FIELD_TRANSPORTATION, termsAggregation(FIELD_TRANSPORTATION)))
+                    .withAggregation(FACET_COUNTRY,
+                            facetAggregation(selections, FIELD_COUNTRY, termsAggregation(FIELD_COUNTRY)))
+                    .withAggregation(FACET_PRICE, facetAggregation(selections, null, Aggregation.of(a -> a.range(r -> r
+                            .field("price")
+                            .ranges(priceRanges())))))
+                    .build();
+
+            SearchHits<TravelDocument> searchHits = elasticsearchOperations.search(nativeQuery, TravelDocument.class);
+
+            Map<String, List<FacetedSearchResponse.FacetBucket>> facets = new LinkedHashMap<>();
+            ElasticsearchAggregations aggregations = (ElasticsearchAggregations) searchHits.getAggregations();
+            if (aggregations != null) {
+                for (String name : List.of(FACET_ACCOMMODATION, FACET_TRANSPORTATION, FACET_COUNTRY)) {
+                    facets.put(name, facetValues(aggregations, name).sterms().buckets().array().stream()
+                            .map(bucket -> new FacetedSearchResponse.FacetBucket(bucket.key().stringValue(), bucket.docCount(), null, null))
+                            .toList());
+                }
+                facets.put(FACET_PRICE, facetValues(aggregations, FACET_PRICE).range().buckets().array().stream()
+                        .map(bucket -> new FacetedSearchResponse.FacetBucket(bucket.key(), bucket.docCount(), bucket.from(), bucket.to()))
+                        .toList());
+            }
+
+            return new FacetedSearchResponse(toPageResponse(searchHits, pageable), facets);
+        } catch (Exception e) {
+            log.error("Faceted search query failed: {}", e.getMessage(), e);
+            throw new SearchQueryException(query, e.getMessage());
+        }
+    }
 
+    @Override
+    public PageResponse<SearchResultResponse> searchAfter(String query, Double minPrice, Double maxPrice, LocalDate fromDate,
+                                                           String cursor, int size, boolean trackTotalHits, boolean pointInTime) {
+        SearchCursor position = cursor != null ? SearchCursor.decode(cursor) : null;
+        int pageSize = Math.clamp(size, 1, cursorMaxSize);
+        Duration keepAlive = Duration.ofMillis(pitKeepAliveMs);
+
+        try {
+            String pitId = position != null
+                    ? position.pitId()
+                    : pointInTime ? elasticsearchOperations.openPointInTime(IndexCoordinates.of(TravelDocument.INDEX_ALIAS), keepAlive) : null;
+
+            // One extra hit tells whether a next page exists without counting
+            NativeQueryBuilder queryBuilder = NativeQuery.builder()
+                    .withQuery(buildElasticsearchQuery(query, minPrice, maxPrice, fromDate))
+                    .withSort(so -> so.score(sc -> sc.order(SortOrder.Desc)))
+                    .withSort(so -> so.field(f -> f.field("id").order(SortOrder.Asc)))
+                    .withMaxResults(pageSize + 1)
+                    .withTrackTotalHits(trackTotalHits);
+            if (position != null) {
+                queryBuilder.withSearchAfter(position.sortValues());
+            }
+            if (pitId != null) {
+                queryBuilder.withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(pitId, keepAlive));
+            }
+
+            SearchHits<TravelDocument> searchHits = elasticsearchOperations.search(queryBuilder.build(), TravelDocument.class);
+
+            List<SearchHit<TravelDocument>> hits = searchHits.getSearchHits();
+            boolean hasNext = hits.size() > pageSize;
+            if (hasNext) {
+                hits = hits.subList(0, pageSize);
+            }
+
+            // Elasticsearch may return a refreshed PIT id; always hand out the latest one
+            String nextPitId = searchHits.getPointInTimeId() != null ? searchHits.getPointInTimeId() : pitId;
+            String nextCursor = hasNext ? new SearchCursor(nextPitId, hits.getLast().getSortValues()).encode() : null;
+            if (!hasNext && nextPitId != null) {
+                elasticsearchOperations.closePointInTime(nextPitId);
+            }
+
+            long totalHits = trackTotalHits ? searchHits.getTotalHits() : -1;
             return new PageResponse<>(
-                    results,
-                    pageable.getPageNumber(),
-                    pageable.getPageSize(),
+                    hits.stream().map(hit -> searchMapper.toResponse(hit.getContent())).toList(),
+                    0,
+                    pageSize,
                     totalHits,
-                    totalPages,
-                    pageable.getPageNumber() == 0,
-                    pageable.getPageNumber() >= totalPages - 1
+                    trackTotalHits ? (int) Math.ceil((double) totalHits / pageSize) : -1,
+                    position == null,
+                    !hasNext,
+                    nextCursor
             );
         } catch (Exception e) {
-            log.error("Search query failed: {}", e.getMessage(), e);
+            log.error("Cursor search failed: {}", e.getMessage(), e);
             throw new SearchQueryException(query, e.getMessage());
         }
     }
@@ -86,43 +238,250 @@ public class SearchServiceImpl implements SearchService {
     }
 
     @Override
-    public void indexTravel(TravelCreatedEvent event) {
-        log.info("Indexing new travel document: id={}, title='{}'", event.travelId(), event.title());
-
-        TravelDocument document = searchMapper.toDocument(event);
-        travelSearchRepository.save(document);
-
-        log.info("Travel document indexed successfully: {}", event.travelId());
+    @CacheEvict(cacheNames = {CacheConfig.SEARCH_RESULTS_CACHE, CacheConfig.SUGGEST_CACHE}, allEntries = true)
+    public void indexTravels(List<TravelCreatedEvent> events) {
+        log.info("Bulk indexing {} new travel document(s)", events.size());
+        bulkIndex(events.stream().map(searchMapper::toDocument).toList());
     }
 
     @Override
-    public void updateTravel(TravelUpdatedEvent event) {
-        log.info("Updating travel document: id={}, title='{}'", event.travelId(), event.title());
-
-        TravelDocument document = searchMapper.toDocument(event);
-        travelSearchRepository.save(document);
-
-        log.info("Travel document updated successfully: {}", event.travelId());
+    @CacheEvict(cacheNames = {CacheConfig.SEARCH_RESULTS_CACHE, CacheConfig.SUGGEST_CACHE}, allEntries = true)
+    public void updateTravels(List<TravelUpdatedEvent> events) {
+        log.info("Bulk re-indexing {} updated travel document(s)", events.size());
+        bulkIndex(events.stream().map(searchMapper::toDocument).toList());
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.SEARCH_RESULTS_CACHE, CacheConfig.SUGGEST_CACHE}, allEntries = true)
     public void deleteTravel(String travelId) {
         log.info("Deleting travel document: id={}", travelId);
 
         if (travelSearchRepository.existsById(travelId)) {
-            travelSearchRepository.deleteById(travelId);
+            visibleWrites().delete(travelId, TravelDocument.class);
             log.info("Travel document deleted successfully: {}", travelId);
         } else {
             log.warn("Travel document not found for deletion: {}", travelId);
         }
+
+        String reindexTarget = reindexService.activeTargetIndex();
+        if (reindexTarget != null) {
+            elasticsearchOperations.delete(travelId, IndexCoordinates.of(reindexTarget));
+        }
     }
 
     // ---- Private helpers ----
 
+    /**
+     * Writes documents through a single _bulk request.
+     * Several events for the same travel in one batch collapse to the latest one.
+     * Items rejected by Elasticsearch are retried with exponential backoff, up to max-retries;
+     * an IndexingException is then thrown so the listener hands the batch to the retry tiers / DLQ.
+     * Items rejected because a newer version is already indexed are done (TravelIndexWrites).
+     * The whole batch is then mirrored to an unfinished re-index target.
+     */
+    private void bulkIndex(List<TravelDocument> documents) {
+        Map<String, IndexQuery> batch = new LinkedHashMap<>();
+        documents.forEach(document -> batch.merge(document.getId(), TravelIndexWrites.indexQuery(document),
+                (current, candidate) -> isOlder(candidate, current) ? current : candidate));
+        Map<String, IndexQuery> pending = new LinkedHashMap<>(batch);
+
+        for (int attempt = 0; ; attempt++) {
+            List<IndexQuery> queries = List.copyOf(pending.values());
+            try {
+                visibleWrites().bulkIndex(queries, TravelDocument.class);
+                log.info("Bulk indexed {} travel document(s)", queries.size());
+                break;
+            } catch (BulkFailureException e) {
+                pending.keySet().retainAll(TravelIndexWrites.failedIds(e));
+                log.warn("Bulk indexing: {}/{} document(s) rejected, {} already newer in the index (attempt {})",
+                        pending.size(), queries.size(), e.getFailedDocuments().size() - pending.size(), attempt + 1);
+                if (pending.isEmpty()) {
+                    break;
+                }
+            }
+
+            if (attempt >= indexingMaxRetries) {
+                throw new IndexingException(List.copyOf(pending.keySet()), "after " + indexingMaxRetries + " retries");
+            }
+            backoff(attempt);
+        }
+
+        mirrorToReindexTarget(List.copyOf(batch.values()));
+    }
+
+    private static boolean isOlder(IndexQuery query, IndexQuery other) {
+        return query.getVersion() != null && other.getVersion() != null && query.getVersion() < other.getVersion();
+    }
+
+    /**
+     * Operations whose writes return once searchable. A _bulk of several documents waits for a single refresh.
+     */
+    private ElasticsearchOperations visibleWrites() {
+        return elasticsearchOperations.withRefreshPolicy(RefreshPolicy.WAIT_UNTIL);
+    }
+
+    /**
+     * While a re-index has an unfinished target (running, failed or interrupted), live changes are applied
+     * to it too, so documents copied earlier in the run are not left stale after the alias swap.
+     * A failure is rethrown: the batch goes through the retry tiers and is written to both indices again.
+     */
+    private void mirrorToReindexTarget(List<IndexQuery> queries) {
+        String target = reindexService.activeTargetIndex();
+        if (target == null) {
+            return;
+        }
+        try {
+            elasticsearchOperations.bulkIndex(queries, IndexCoordinates.of(target));
+        } catch (BulkFailureException e) {
+            Set<String> failed = TravelIndexWrites.failedIds(e);
+            if (!failed.isEmpty()) {
+                log.warn("Could not mirror {} document(s) to re-index target {}: {}", failed.size(), target, e.getMessage());
+                throw new IndexingException(List.copyOf(failed), "mirror to re-index target " + target);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(indexingRetryBackoffMs << attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opaque search_after position: optional point-in-time id plus the last hit's sort values,
+     * each tagged with its type so it round-trips exactly, Base64url-encoded.
+     */
+    private record SearchCursor(String pitId, List<Object> sortValues) {
+
+        String encode() {
+            StringBuilder raw = new StringBuilder(pitId != null ? pitId : "");
+            for (Object value : sortValues) {
+                raw.append('\n').append(switch (value) {
+                    case Double d -> "d" + d;
+                    case Float f -> "d" + f;
+                    case Long l -> "l" + l;
+                    case Integer i -> "l" + i;
+                    default -> "s" + value;
+                });
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SearchCursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\n", -1);
+                if (parts.length < 2) {
+                    throw new InvalidCursorException(token);
+                }
+                List<Object> values = new ArrayList<>(parts.length - 1);
+                for (int i = 1; i < parts.length; i++) {
+                    String value = parts[i].substring(1);
+                    values.add(switch (parts[i].charAt(0)) {
+                        case 'd' -> Double.parseDouble(value);
+                        case 'l' -> Long.parseLong(value);
+                        case 's' -> value;
+                        default -> throw new InvalidCursorException(token);
+                    });
+                }
+                return new SearchCursor(parts[0].isEmpty() ? null : parts[0], values);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new InvalidCursorException(token);
+            }
+        }
+    }
+
+    private PageResponse<SearchResultResponse> toPageResponse(SearchHits<TravelDocument> searchHits, Pageable pageable) {
+        List<SearchResultResponse> results = searchHits.getSearchHits().stream()
+                .map(hit -> searchMapper.toResponse(hit.getContent()))
+                .toList();
+
+        long totalHits = searchHits.getTotalHits();
+        int totalPages = pageable.getPageSize() > 0
+                ? (int) Math.ceil((double) totalHits / pageable.getPageSize())
+                : 0;
+
+        return new PageResponse<>(
+                results,
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                totalHits,
+                totalPages,
+                pageable.getPageNumber() == 0,
+                pageable.getPageNumber() >= totalPages - 1,
+                null
+        );
+    }
+
+    private Aggregation termsAggregation(String field) {
+        return Aggregation.of(a -> a.terms(t -> t.field(field).size(facetSize)));
+    }
+
+    /**
+     * Contiguous price ranges from the configured boundaries, open-ended at both ends.
+     */
+    private List<AggregationRange> priceRanges() {
+        List<AggregationRange> ranges = new ArrayList<>(priceBoundaries.length + 1);
+        Double from = null;
+        for (double boundary : priceBoundaries) {
+            Double lower = from;
+            ranges.add(AggregationRange.of(r -> r.key(rangeKey(lower, boundary)).from(lower).to(boundary)));
+            from = boundary;
+        }
+        Double last = from;
+        ranges.add(AggregationRange.of(r -> r.key(rangeKey(last, null)).from(last)));
+        return ranges;
+    }
+
+    private static String rangeKey(Double from, Double to) {
+        return (from != null ? String.valueOf(from.longValue()) : "*") + "-" + (to != null ? String.valueOf(to.longValue()) : "*");
+    }
+
+    private static void addSelection(Map<String, Query> selections, String field, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        List<FieldValue> terms = values.stream().map(FieldValue::of).toList();
+        selections.put(field, Query.of(q -> q.terms(t -> t.field(field).terms(v -> v.value(terms)))));
+    }
+
+    /**
+     * Non-scoring conjunction of the facet selections, except the one on excludedField (null keeps all).
+     * Matches everything when nothing is selected.
+     */
+    private static Query selectionFilter(Map<String, Query> selections, String excludedField) {
+        BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
+        selections.forEach((field, filter) -> {
+            if (!field.equals(excludedField)) {
+                boolBuilder.filter(filter);
+            }
+        });
+        return boolBuilder.build()._toQuery();
+    }
+
+    /**
+     * Multi-select facet: counts over the hits narrowed by the other facets' selections, not its own,
+     * so that values of an already selected facet remain visible with their counts.
+     */
+    private static Aggregation facetAggregation(Map<String, Query> selections, String field, Aggregation values) {
+        return Aggregation.of(a -> a
+                .filter(selectionFilter(selections, field))
+                .aggregations(FACET_VALUES, values));
+    }
+
+    private static Aggregate facetValues(ElasticsearchAggregations aggregations, String name) {
+        return aggregations.get(name).aggregation().getAggregate().filter().aggregations().get(FACET_VALUES);
+    }
+
     /**
      * Builds an Elasticsearch bool query with fuzzy text search and optional filters.
      */
     private Query buildElasticsearchQuery(String searchText, Double minPrice, Double maxPrice, LocalDate fromDate) {
+        return buildBoolQuery(searchText, minPrice, maxPrice, fromDate).build()._toQuery();
+    }
+
+    private BoolQuery.Builder buildBoolQuery(String searchText, Double minPrice, Double maxPrice, LocalDate fromDate) {
         BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
 
         // Always filter by PUBLISHED status
@@ -159,6 +518,6 @@ public class SearchServiceImpl implements SearchService {
             ));
         }
 
-        return boolBuilder.build()._toQuery();
+        return boolBuilder;
     }
 }
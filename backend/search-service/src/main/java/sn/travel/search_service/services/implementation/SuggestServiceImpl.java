@@ -0,0 +1,99 @@
+package sn.travel.search_service.services.implementation;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.stereotype.Service;
+import sn.travel.search_service.config.CacheConfig;
+import sn.travel.search_service.data.documents.TravelDocument;
+import sn.travel.search_service.exceptions.SearchQueryException;
+import sn.travel.search_service.services.SuggestService;
+import sn.travel.search_service.web.dto.responses.SuggestionResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Implementation of SuggestService.
+ * <p>
+ * Runs a bool_prefix multi_match against the search_as_you_type subfields (and their shingles)
+ * of title and destinations.name: no fuzziness, no total-hit count and only the fields
+ * needed for the dropdown are fetched, which keeps it far cheaper than the full search.
+ */
+@Service
+@Slf4j
+public class SuggestServiceImpl implements SuggestService {
+
+    private static final String TITLE = "title." + TravelDocument.SUGGEST_SUBFIELD;
+    private static final String DESTINATION = "destinations.name." + TravelDocument.SUGGEST_SUBFIELD;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final Timer suggestTimer;
+
+    @Value("${search.suggest.max-size:10}")
+    private int maxSize;
+
+    public SuggestServiceImpl(ElasticsearchOperations elasticsearchOperations, MeterRegistry meterRegistry) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.suggestTimer = Timer.builder("search.suggest.latency")
+                .description("Autocomplete query latency")
+                .publishPercentiles(0.5, 0.99)
+                .serviceLevelObjectives(Duration.ofMillis(20))
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.SUGGEST_CACHE, keyGenerator = CacheConfig.SUGGEST_KEY_GENERATOR)
+    public List<SuggestionResponse> suggest(String prefix, int size) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        String text = prefix.trim().toLowerCase(Locale.ROOT);
+        int limit = Math.clamp(size, 1, maxSize);
+
+        try {
+            return suggestTimer.recordCallable(() -> execute(text, limit));
+        } catch (Exception e) {
+            log.error("Suggest query failed: {}", e.getMessage(), e);
+            throw new SearchQueryException(prefix, e.getMessage());
+        }
+    }
+
+    private List<SuggestionResponse> execute(String text, int limit) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b
+                        .filter(f -> f.term(t -> t.field("status").value("PUBLISHED")))
+                        .must(m -> m.multiMatch(mm -> mm
+                                .query(text)
+                                .type(TextQueryType.BoolPrefix)
+                                .fields(TITLE + "^3", TITLE + "._2gram^3", TITLE + "._3gram^3",
+                                        DESTINATION, DESTINATION + "._2gram", DESTINATION + "._3gram")))))
+                .withSourceFilter(new FetchSourceFilterBuilder()
+                        .withIncludes("id", "title", "destinations.name")
+                        .build())
+                .withTrackTotalHits(false)
+                .withPageable(PageRequest.of(0, limit))
+                .build();
+
+        SearchHits<TravelDocument> hits = elasticsearchOperations.search(query, TravelDocument.class);
+        return hits.getSearchHits().stream()
+                .map(hit -> toSuggestion(hit.getContent()))
+                .toList();
+    }
+
+    private SuggestionResponse toSuggestion(TravelDocument document) {
+        List<String> destinations = document.getDestinations() == null
+                ? List.of()
+                : document.getDestinations().stream().map(TravelDocument.DestinationDoc::getName).toList();
+        return new SuggestionResponse(document.getId(), document.getTitle(), destinations);
+    }
+}
@@ -0,0 +1,49 @@
+package sn.travel.search_service.services.implementation;
+
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import sn.travel.search_service.data.documents.TravelDocument;
+
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Index requests for travel documents, shared by live indexing and the re-index job.
+ * Documents carry their travel-service updatedAt as external version (EXTERNAL_GTE, see TravelDocument):
+ * Elasticsearch rejects an older copy with a 409 instead of letting it overwrite a newer one.
+ */
+final class TravelIndexWrites {
+
+    private static final int VERSION_CONFLICT = 409;
+
+    private TravelIndexWrites() {
+    }
+
+    static IndexQuery indexQuery(TravelDocument document) {
+        return new IndexQueryBuilder()
+                .withId(document.getId())
+                .withObject(document)
+                .withVersion(version(document))
+                .build();
+    }
+
+    /**
+     * Epoch millis of updatedAt, or null (plain write) for documents without one.
+     */
+    static Long version(TravelDocument document) {
+        return document.getUpdatedAt() != null ? document.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : null;
+    }
+
+    /**
+     * Documents rejected for another reason than a newer version already being indexed.
+     */
+    static Set<String> failedIds(BulkFailureException e) {
+        return e.getFailedDocuments().entrySet().stream()
+                .filter(entry -> entry.getValue().status() == null || entry.getValue().status() != VERSION_CONFLICT)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,27 @@
+package sn.travel.search_service.web.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import sn.travel.search_service.web.dto.responses.ReindexStatusResponse;
+
+/**
+ * Controller interface for search index administration (Admin only).
+ */
+@Tag(name = "Search Admin", description = "Travels index rebuild and alias management")
+public interface ReindexController {
+
+    @Operation(
+            summary = "Start a full re-index",
+            description = "Rebuilds the travels index from travel-service into a new versioned index, " +
+                    "then atomically swaps the 'travels' alias. Runs in the background."
+    )
+    ResponseEntity<ReindexStatusResponse> start(
+            @Parameter(description = "Resume the last unfinished run from its checkpoint")
+            boolean resume
+    );
+
+    @Operation(summary = "Get re-index status", description = "Progress, throughput (docs/sec) and checkpoint of the re-index job.")
+    ResponseEntity<ReindexStatusResponse> getStatus();
+}
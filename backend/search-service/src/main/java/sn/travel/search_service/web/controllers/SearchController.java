@@ -5,10 +5,13 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import sn.travel.search_service.web.dto.responses.FacetedSearchResponse;
 import sn.travel.search_service.web.dto.responses.PageResponse;
 import sn.travel.search_service.web.dto.responses.SearchResultResponse;
+import sn.travel.search_service.web.dto.responses.SuggestionResponse;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Controller interface for search endpoints.
@@ -35,6 +38,68 @@ public interface SearchController {
             Pageable pageable
     );
 
+    @Operation(
+            summary = "Search travels with facets",
+            description = "Same search as above, plus counts per accommodation type, transportation type, " +
+                    "destination country and price range, all from one Elasticsearch request. " +
+                    "Selected facet values (repeatable parameters) narrow the results; each facet keeps counting " +
+                    "its other values, so several values of one facet can be selected."
+    )
+    ResponseEntity<FacetedSearchResponse> searchWithFacets(
+            @Parameter(description = "Search query (fuzzy-matched against title, description, destinations, activities)")
+            String query,
+            @Parameter(description = "Minimum price filter (inclusive)")
+            Double minPrice,
+            @Parameter(description = "Maximum price filter (inclusive)")
+            Double maxPrice,
+            @Parameter(description = "Only travels starting on or after this date (yyyy-MM-dd)")
+            LocalDate fromDate,
+            @Parameter(description = "Selected accommodation types")
+            List<String> accommodationType,
+            @Parameter(description = "Selected transportation types")
+            List<String> transportationType,
+            @Parameter(description = "Selected destination countries")
+            List<String> country,
+            Pageable pageable
+    );
+
+    @Operation(
+            summary = "Search travels (cursor pagination)",
+            description = "Same filters as the search endpoint, paginated with an opaque cursor (search_after) " +
+                    "so deep pages cost the same as the first one. Pass the previous page's nextCursor together " +
+                    "with the same filters to continue. Total hits are only counted when requested."
+    )
+    ResponseEntity<PageResponse<SearchResultResponse>> searchAfter(
+            @Parameter(description = "Search query (fuzzy-matched against title, description, destinations, activities)")
+            String query,
+            @Parameter(description = "Minimum price filter (inclusive)")
+            Double minPrice,
+            @Parameter(description = "Maximum price filter (inclusive)")
+            Double maxPrice,
+            @Parameter(description = "Only travels starting on or after this date (yyyy-MM-dd)")
+            LocalDate fromDate,
+            @Parameter(description = "Cursor from the previous page (omit for the first page)")
+            String cursor,
+            @Parameter(description = "Page size (default 20)")
+            int size,
+            @Parameter(description = "Count total hits (default false)")
+            boolean trackTotalHits,
+            @Parameter(description = "Pin all pages to a point-in-time snapshot of the index (default false)")
+            boolean pit
+    );
+
+    @Operation(
+            summary = "Autocomplete travels",
+            description = "Search-as-you-type suggestions on travel titles and destination names. " +
+                    "Returns a lightweight projection (id, title, destinations), at most search.suggest.max-size items."
+    )
+    ResponseEntity<List<SuggestionResponse>> suggest(
+            @Parameter(description = "Text typed so far (prefix-matched)")
+            String prefix,
+            @Parameter(description = "Maximum number of suggestions (default 5)")
+            int size
+    );
+
     @Operation(
             summary = "Get travel by ID",
             description = "Retrieve a specific travel document from the search index by its ID."
@@ -0,0 +1,33 @@
+package sn.travel.search_service.web.controllers.implementation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sn.travel.search_service.services.ReindexService;
+import sn.travel.search_service.web.controllers.ReindexController;
+import sn.travel.search_service.web.dto.responses.ReindexStatusResponse;
+
+/**
+ * REST controller implementation for search index administration.
+ * Endpoints under /api/v1/search/admin require the ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/v1/search/admin/reindex")
+@RequiredArgsConstructor
+public class ReindexControllerImpl implements ReindexController {
+
+    private final ReindexService reindexService;
+
+    @Override
+    @PostMapping
+    public ResponseEntity<ReindexStatusResponse> start(@RequestParam(defaultValue = "false") boolean resume) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reindexService.start(resume));
+    }
+
+    @Override
+    @GetMapping
+    public ResponseEntity<ReindexStatusResponse> getStatus() {
+        return ResponseEntity.ok(reindexService.getStatus());
+    }
+}
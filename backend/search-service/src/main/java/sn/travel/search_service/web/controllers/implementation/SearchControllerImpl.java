@@ -6,11 +6,15 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sn.travel.search_service.services.SearchService;
+import sn.travel.search_service.services.SuggestService;
 import sn.travel.search_service.web.controllers.SearchController;
+import sn.travel.search_service.web.dto.responses.FacetedSearchResponse;
 import sn.travel.search_service.web.dto.responses.PageResponse;
 import sn.travel.search_service.web.dto.responses.SearchResultResponse;
+import sn.travel.search_service.web.dto.responses.SuggestionResponse;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * REST controller implementation for search endpoints.
@@ -22,6 +26,7 @@ import java.time.LocalDate;
 public class SearchControllerImpl implements SearchController {
 
     private final SearchService searchService;
+    private final SuggestService suggestService;
 
     @Override
     @GetMapping
@@ -35,6 +40,46 @@ public class SearchControllerImpl implements SearchController {
         return ResponseEntity.ok(searchService.search(q, minPrice, maxPrice, fromDate, pageable));
     }
 
+    @Override
+    @GetMapping("/faceted")
+    public ResponseEntity<FacetedSearchResponse> searchWithFacets(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) List<String> accommodationType,
+            @RequestParam(required = false) List<String> transportationType,
+            @RequestParam(required = false) List<String> country,
+            Pageable pageable
+    ) {
+        return ResponseEntity.ok(searchService.searchWithFacets(
+                q, minPrice, maxPrice, fromDate, accommodationType, transportationType, country, pageable));
+    }
+
+    @Override
+    @GetMapping("/cursor")
+    public ResponseEntity<PageResponse<SearchResultResponse>> searchAfter(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean trackTotalHits,
+            @RequestParam(defaultValue = "false") boolean pit
+    ) {
+        return ResponseEntity.ok(searchService.searchAfter(q, minPrice, maxPrice, fromDate, cursor, size, trackTotalHits, pit));
+    }
+
+    @Override
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        return ResponseEntity.ok(suggestService.suggest(prefix, size));
+    }
+
     @Override
     @GetMapping("/{travelId}")
     public ResponseEntity<SearchResultResponse> getById(@PathVariable String travelId) {
@@ -0,0 +1,19 @@
+package sn.travel.search_service.web.dto.responses;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search results together with facet counts computed by the same Elasticsearch request.
+ * Facet names: accommodationType, transportationType, country, price.
+ */
+public record FacetedSearchResponse(
+        PageResponse<SearchResultResponse> results,
+        Map<String, List<FacetBucket>> facets
+) {
+    /**
+     * A facet value and the number of matching travels.
+     * For price buckets, from/to are the bucket bounds (null when open-ended).
+     */
+    public record FacetBucket(String key, long count, Double from, Double to) {}
+}
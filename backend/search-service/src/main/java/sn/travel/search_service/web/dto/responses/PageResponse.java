@@ -4,6 +4,10 @@ import java.util.List;
 
 /**
  * Generic paginated response wrapper.
+ * <p>
+ * In cursor mode, page is always 0, totalElements/totalPages are -1 unless total hits were
+ * requested, and nextCursor is the opaque token for the following page (null on the last page).
+ * In offset mode nextCursor is null.
  */
 public record PageResponse<T>(
         List<T> content,
@@ -12,5 +16,6 @@ public record PageResponse<T>(
         long totalElements,
         int totalPages,
         boolean first,
-        boolean last
+        boolean last,
+        String nextCursor
 ) {}
@@ -0,0 +1,17 @@
+package sn.travel.search_service.web.dto.responses;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress report of the travels re-index job.
+ */
+public record ReindexStatusResponse(
+        String state,
+        String targetIndex,
+        long indexedCount,
+        double docsPerSecond,
+        String lastCursor,
+        String error,
+        LocalDateTime startedAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,12 @@
+package sn.travel.search_service.web.dto.responses;
+
+import java.util.List;
+
+/**
+ * Response DTO for an autocomplete suggestion (lightweight projection of a travel).
+ */
+public record SuggestionResponse(
+        String id,
+        String title,
+        List<String> destinations
+) {}
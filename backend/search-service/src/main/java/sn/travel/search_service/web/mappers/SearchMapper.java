@@ -4,6 +4,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import sn.travel.search_service.data.documents.TravelDocument;
+import sn.travel.search_service.data.records.TravelCatalogPage;
 import sn.travel.search_service.data.records.TravelCreatedEvent;
 import sn.travel.search_service.data.records.TravelUpdatedEvent;
 import sn.travel.search_service.web.dto.responses.SearchResultResponse;
@@ -14,6 +15,7 @@ import java.util.UUID;
  * MapStruct mapper for search-service data transformations.
  * Handles:
  * - Event → TravelDocument (indexing)
+ * - travel-service feed item → TravelDocument (re-indexing)
  * - TravelDocument → SearchResultResponse (API response)
  */
 @Mapper(componentModel = "spring")
@@ -29,12 +31,18 @@ public interface SearchMapper {
     @Mapping(target = "managerId", source = "managerId", qualifiedByName = "uuidToString")
     TravelDocument toDocument(TravelUpdatedEvent event);
 
+    @Mapping(target = "id", source = "id", qualifiedByName = "uuidToString")
+    @Mapping(target = "managerId", source = "managerId", qualifiedByName = "uuidToString")
+    TravelDocument toDocument(TravelCatalogPage.Item item);
+
     // ---- Nested event → document mappings ----
 
     TravelDocument.DestinationDoc toDestinationDoc(TravelCreatedEvent.DestinationData data);
     TravelDocument.ActivityDoc toActivityDoc(TravelCreatedEvent.ActivityData data);
     TravelDocument.DestinationDoc toDestinationDoc(TravelUpdatedEvent.DestinationData data);
     TravelDocument.ActivityDoc toActivityDoc(TravelUpdatedEvent.ActivityData data);
+    TravelDocument.DestinationDoc toDestinationDoc(TravelCatalogPage.DestinationData data);
+    TravelDocument.ActivityDoc toActivityDoc(TravelCatalogPage.ActivityData data);
 
     // ---- Document → Response mappings ----
 
@@ -0,0 +1,194 @@
+package sn.travel.search_service.services.implementation;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import sn.travel.search_service.config.ElasticsearchConfig;
+import sn.travel.search_service.data.documents.TravelDocument;
+import sn.travel.search_service.data.repositories.TravelSearchRepository;
+import sn.travel.search_service.services.ReindexService;
+import sn.travel.search_service.web.mappers.SearchMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency benchmark of the autocomplete query against the full multi_match search, on a real Elasticsearch.
+ * <p>
+ * Skipped unless an Elasticsearch URI is given. Synthetic travels are indexed in a throwaway index
+ * (deleted afterwards) created with the TravelDocument mapping; both services are pointed at it.
+ * Each prefix of 1 to 5 letters of a vocabulary word is sent to both paths, after a warm-up.
+ * <p>
+ * Tunable with system properties:
+ * -Dsearch.benchmark.elasticsearch-uri=http://localhost:9200 -Dsearch.benchmark.username=elastic
+ * -Dsearch.benchmark.password=... -Dsearch.benchmark.documents=20000 -Dsearch.benchmark.queries=2000
+ */
+class SuggestBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestBenchmarkTest.class);
+
+    private static final String ELASTICSEARCH_URI = System.getProperty("search.benchmark.elasticsearch-uri");
+    private static final int DOCUMENTS = Integer.getInteger("search.benchmark.documents", 20000);
+    private static final int QUERIES = Integer.getInteger("search.benchmark.queries", 2000);
+    private static final int WARM_UP = Math.max(QUERIES / 10, 50);
+    private static final int PAGE_SIZE = 10;
+
+    private static final List<String> PLACES = List.of("Dakar", "Saint-Louis", "Saly", "Casamance", "Goree", "Lompoul",
+            "Kedougou", "Touba", "Ziguinchor", "Marrakech", "Essaouira", "Zanzibar", "Cap Skirring", "Sine Saloum",
+            "Bandia", "Niokolo Koba", "Lac Rose", "Djoudj", "Toubacouta", "Joal Fadiouth");
+    private static final List<String> THEMES = List.of("Safari", "Decouverte", "Escapade", "Circuit", "Sejour",
+            "Aventure", "Croisiere", "Randonnee", "Week-end", "Immersion");
+
+    private final Random random = new Random(42);
+    private ElasticsearchTemplate template;
+    private IndexCoordinates index;
+    private SuggestServiceImpl suggestService;
+    private SearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeTrue(ELASTICSEARCH_URI != null, "set -Dsearch.benchmark.elasticsearch-uri to run the benchmark");
+
+        ElasticsearchConfig config = new ElasticsearchConfig();
+        ReflectionTestUtils.setField(config, "elasticsearchUri", ELASTICSEARCH_URI);
+        ReflectionTestUtils.setField(config, "username", System.getProperty("search.benchmark.username", "elastic"));
+        ReflectionTestUtils.setField(config, "password", System.getProperty("search.benchmark.password", ""));
+        ElasticsearchClient client = config.elasticsearchClient();
+        template = new ElasticsearchTemplate(client);
+
+        index = IndexCoordinates.of("travels_benchmark_" + System.currentTimeMillis());
+        IndexOperations indexOps = template.indexOps(index);
+        indexOps.create(Map.of(), template.indexOps(TravelDocument.class).createMapping());
+        indexDocuments();
+        indexOps.refresh();
+
+        // Both services query TravelDocument.class (the "travels" alias); redirect them to the throwaway index
+        ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+        when(operations.search(any(Query.class), eq(TravelDocument.class)))
+                .thenAnswer(invocation -> template.search(invocation.<Query>getArgument(0), TravelDocument.class, index));
+
+        suggestService = new SuggestServiceImpl(operations, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(suggestService, "maxSize", PAGE_SIZE);
+        searchService = new SearchServiceImpl(mock(TravelSearchRepository.class), operations,
+                Mappers.getMapper(SearchMapper.class), mock(ReindexService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (template != null && index != null) {
+            template.indexOps(index).delete();
+        }
+    }
+
+    @Test
+    void suggestIsFasterThanTheFullSearch() {
+        List<String> prefixes = prefixes(QUERIES + WARM_UP);
+
+        long[] suggest = measure(prefixes, prefix -> suggestService.suggest(prefix, PAGE_SIZE));
+        long[] search = measure(prefixes, prefix -> searchService.search(prefix, null, null, null, PageRequest.of(0, PAGE_SIZE)));
+
+        log.info("{} documents, {} queries: suggest p50 {} us / p99 {} us, multi_match search p50 {} us / p99 {} us",
+                DOCUMENTS, QUERIES, percentile(suggest, 0.5), percentile(suggest, 0.99),
+                percentile(search, 0.5), percentile(search, 0.99));
+        assertThat(suggestService.suggest(prefixes.getFirst(), PAGE_SIZE)).isNotEmpty();
+        assertThat(percentile(suggest, 0.5)).isLessThan(percentile(search, 0.5));
+    }
+
+    // ---- Helpers ----
+
+    private void indexDocuments() {
+        List<IndexQuery> batch = new ArrayList<>(1000);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            String place = pick(PLACES);
+            LocalDate start = LocalDate.now().plusDays(random.nextInt(365));
+            TravelDocument document = TravelDocument.builder()
+                    .id(UUID.randomUUID().toString())
+                    .managerId(UUID.randomUUID().toString())
+                    .title(pick(THEMES) + " " + place + " " + (i % 97))
+                    .description("Voyage de " + (2 + random.nextInt(12)) + " jours a " + place + " et " + pick(PLACES))
+                    .startDate(start)
+                    .endDate(start.plusDays(7))
+                    .duration(7)
+                    .price(50000.0 + random.nextInt(1_500_000))
+                    .maxCapacity(30)
+                    .currentBookings(random.nextInt(30))
+                    .status("PUBLISHED")
+                    .accommodationType("HOTEL")
+                    .transportationType("BUS")
+                    .destinations(List.of(
+                            TravelDocument.DestinationDoc.builder().name(place).country("Senegal").city(place).build(),
+                            TravelDocument.DestinationDoc.builder().name(pick(PLACES)).country("Senegal").build()))
+                    .build();
+            batch.add(new IndexQueryBuilder().withId(document.getId()).withObject(document).build());
+            if (batch.size() == 1000 || i == DOCUMENTS - 1) {
+                template.bulkIndex(batch, index);
+                batch.clear();
+            }
+        }
+    }
+
+    private List<String> prefixes(int count) {
+        List<String> words = new ArrayList<>();
+        PLACES.forEach(place -> words.addAll(Arrays.asList(place.split("[ -]"))));
+        words.addAll(THEMES);
+
+        List<String> prefixes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String word = pick(words);
+            prefixes.add(word.substring(0, Math.min(word.length(), 1 + random.nextInt(5))).toLowerCase(Locale.ROOT));
+        }
+        return prefixes;
+    }
+
+    /**
+     * Latency of each call in microseconds, sorted, warm-up excluded.
+     */
+    private long[] measure(List<String> prefixes, Consumer<String> call) {
+        long[] latencies = new long[prefixes.size() - WARM_UP];
+        for (int i = 0; i < prefixes.size(); i++) {
+            long start = System.nanoTime();
+            call.accept(prefixes.get(i));
+            if (i >= WARM_UP) {
+                latencies[i - WARM_UP] = (System.nanoTime() - start) / 1000;
+            }
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -2,8 +2,10 @@ package sn.travel.travel_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TravelServiceApplication {
 
 	public static void main(String[] args) {
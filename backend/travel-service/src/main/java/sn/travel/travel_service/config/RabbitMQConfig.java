@@ -2,18 +2,30 @@
 package sn.travel.travel_service.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import sn.travel.messaging.DeadLetterAdmin;
+import sn.travel.messaging.DeadLetterRouter;
+
+import java.util.List;
 
 /**
  * RabbitMQ configuration for event-driven communication.
  * Handles subscription events, payment events, and travel lifecycle events.
+ * <p>
+ * subscription.created.queue and payment.result.queue are also declared by payment-service:
+ * both sides use DeadLetterRouter.durableQueue so the queue arguments stay identical.
  */
 @Configuration
+@Import({DeadLetterRouter.class, DeadLetterAdmin.class})
 public class RabbitMQConfig {
 
     // Exchanges
@@ -35,6 +47,12 @@ public class RabbitMQConfig {
     public static final String TRAVEL_UPDATED_KEY = "travel.updated";
     public static final String TRAVEL_DELETED_KEY = "travel.deleted";
 
+    // Queues consumed here, with retry tiers and DLQ
+    public static final List<String> DEAD_LETTERED_QUEUES = List.of(PAYMENT_RESULT_QUEUE);
+
+    @Value("${messaging.retry.delays-ms:1000,10000,60000}")
+    private List<Long> retryDelaysMs;
+
     // ---- Exchanges ----
 
     @Bean
@@ -56,12 +74,17 @@ public class RabbitMQConfig {
 
     @Bean
     public Queue subscriptionCreatedQueue() {
-        return QueueBuilder.durable(SUBSCRIPTION_CREATED_QUEUE).build();
+        return DeadLetterRouter.durableQueue(SUBSCRIPTION_CREATED_QUEUE);
     }
 
     @Bean
     public Queue paymentResultQueue() {
-        return QueueBuilder.durable(PAYMENT_RESULT_QUEUE).build();
+        return DeadLetterRouter.durableQueue(PAYMENT_RESULT_QUEUE);
+    }
+
+    @Bean
+    public Declarables retryTopology() {
+        return DeadLetterRouter.retryTopology(retryDelaysMs, DEAD_LETTERED_QUEUES);
     }
 
     // ---- Bindings ----
@@ -92,6 +115,19 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(jsonMessageConverter());
+        // Unroutable messages are returned (CorrelationData.getReturned) instead of silently dropped
+        template.setMandatory(true);
         return template;
     }
+
+    /**
+     * Applied to the listener containers: failures are routed by DeadLetterRouter instead of being requeued.
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> deadLetterContainerCustomizer(DeadLetterRouter deadLetterRouter) {
+        return container -> {
+            container.setDefaultRequeueRejected(false);
+            container.setAdviceChain(deadLetterRouter.recoveryAdvice(container.getAcknowledgeMode().isManual()));
+        };
+    }
 }
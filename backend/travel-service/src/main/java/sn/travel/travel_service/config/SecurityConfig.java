@@ -46,7 +46,7 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
                         // Public: browse published travels
                         .requestMatchers(HttpMethod.GET, "/api/v1/travels", "/api/v1/travels/{id}").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v1/travels/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/travels/search", "/api/v1/travels/feed", "/api/v1/travels/available").permitAll()
                         // Manager: create/update/delete own travels
                         .requestMatchers(HttpMethod.POST, "/api/v1/travels").hasRole("MANAGER")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/travels/**").hasRole("MANAGER")
@@ -22,7 +22,9 @@ import java.util.UUID;
 @Table(name = "travels", indexes = {
         @Index(name = "idx_travel_manager", columnList = "manager_id"),
         @Index(name = "idx_travel_status", columnList = "status"),
-        @Index(name = "idx_travel_start_date", columnList = "start_date")
+        @Index(name = "idx_travel_start_date", columnList = "start_date"),
+        @Index(name = "idx_travel_status_start_date_id", columnList = "status, start_date, id"),
+        @Index(name = "idx_travel_manager_created_at_id", columnList = "manager_id, created_at, id")
 })
 @Getter
 @Setter
@@ -4,11 +4,13 @@ import java.util.UUID;
 
 /**
  * Event published when a new subscription is created (PENDING_PAYMENT).
- * Consumed by the payment-service to initiate payment processing.
+ * Consumed by the payment-service to initiate payment processing
+ * (managerId feeds its revenue rollups per manager).
  */
 public record SubscriptionCreatedEvent(
         UUID subscriptionId,
         UUID travelId,
+        UUID managerId,
         UUID travelerId,
         String travelTitle,
         Double amount,
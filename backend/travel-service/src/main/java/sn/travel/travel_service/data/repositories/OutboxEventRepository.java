@@ -0,0 +1,49 @@
+package sn.travel.travel_service.data.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sn.travel.travel_service.data.entities.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for OutboxEvent entity.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Locks the oldest claimable events for relaying: not parked, not leased by another relay, and the oldest
+     * unsent event of their aggregate (any earlier row is still unsent, since confirmed rows are deleted).
+     * Served by idx_outbox_pending_seq and idx_outbox_aggregate_seq.
+     * SKIP LOCKED lets several travel-service replicas drain the outbox without blocking each other.
+     */
+    @Query(value = """
+        SELECT * FROM outbox_events o
+        WHERE o.parked_at IS NULL
+          AND (o.claimed_until IS NULL OR o.claimed_until < :now)
+          AND NOT EXISTS (
+              SELECT 1 FROM outbox_events earlier
+              WHERE earlier.aggregate_id = o.aggregate_id AND earlier.seq < o.seq)
+        ORDER BY o.seq
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Leases locked events to the calling relay until the given time.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.claimedUntil = :until WHERE o.id IN :ids")
+    int claim(@Param("ids") Collection<UUID> ids, @Param("until") LocalDateTime until);
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxEvent o WHERE o.parkedAt IS NULL")
+    LocalDateTime findOldestCreatedAt();
+}
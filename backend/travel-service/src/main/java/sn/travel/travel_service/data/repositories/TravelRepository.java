@@ -1,8 +1,10 @@
 package sn.travel.travel_service.data.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,6 +12,9 @@ import sn.travel.travel_service.data.entities.Travel;
 import sn.travel.travel_service.data.enums.TravelStatus;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -24,9 +29,53 @@ public interface TravelRepository extends JpaRepository<Travel, UUID> {
 
     Page<Travel> findByManagerIdAndStatus(UUID managerId, TravelStatus status, Pageable pageable);
 
+    // Keyset (seek) pagination on the primary key, used to stream the catalog without OFFSET/COUNT
+    List<Travel> findByStatusInOrderByIdAsc(Collection<TravelStatus> statuses, Limit limit);
+
+    List<Travel> findByStatusInAndIdGreaterThanOrderByIdAsc(Collection<TravelStatus> statuses, UUID afterId, Limit limit);
+
     @Query("SELECT t FROM Travel t WHERE t.status = 'PUBLISHED' AND t.startDate > :now")
     Page<Travel> findAvailableTravels(@Param("now") LocalDate now, Pageable pageable);
 
+    // Keyset listing of available travels on (start_date, id), served by idx_travel_status_start_date_id.
+    // The row-value comparison seeks straight to the cursor position whatever the page depth.
+    @Query("""
+        SELECT t FROM Travel t
+        WHERE t.status = 'PUBLISHED' AND t.startDate > :now
+        ORDER BY t.startDate ASC, t.id ASC
+    """)
+    List<Travel> findAvailableTravelsFirstPage(@Param("now") LocalDate now, Limit limit);
+
+    @Query("""
+        SELECT t FROM Travel t
+        WHERE t.status = 'PUBLISHED' AND t.startDate > :now
+        AND (t.startDate, t.id) > (:afterStartDate, :afterId)
+        ORDER BY t.startDate ASC, t.id ASC
+    """)
+    List<Travel> findAvailableTravelsAfter(@Param("now") LocalDate now,
+                                           @Param("afterStartDate") LocalDate afterStartDate,
+                                           @Param("afterId") UUID afterId,
+                                           Limit limit);
+
+    // Keyset listing of a manager's travels, newest first, served by idx_travel_manager_created_at_id
+    @Query("""
+        SELECT t FROM Travel t
+        WHERE t.managerId = :managerId
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<Travel> findByManagerFirstPage(@Param("managerId") UUID managerId, Limit limit);
+
+    @Query("""
+        SELECT t FROM Travel t
+        WHERE t.managerId = :managerId
+        AND (t.createdAt, t.id) < (:afterCreatedAt, :afterId)
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<Travel> findByManagerAfter(@Param("managerId") UUID managerId,
+                                    @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                    @Param("afterId") UUID afterId,
+                                    Limit limit);
+
     @Query("""
         SELECT t FROM Travel t
         WHERE t.status = 'PUBLISHED'
@@ -41,4 +90,32 @@ public interface TravelRepository extends JpaRepository<Travel, UUID> {
 
     @Query("SELECT COUNT(t) FROM Travel t WHERE t.managerId = :managerId AND t.status = :status")
     long countByManagerIdAndStatus(@Param("managerId") UUID managerId, @Param("status") TravelStatus status);
+
+    /**
+     * Atomically reserves one seat if the travel still has capacity.
+     * The row lock taken by the UPDATE serializes concurrent bookers without optimistic-lock retries;
+     * the version is bumped so that stale full-entity saves still fail.
+     *
+     * @return 1 if a seat was reserved, 0 if the travel is full (or does not exist)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE travels
+        SET current_bookings = current_bookings + 1, version = COALESCE(version, 0) + 1
+        WHERE id = :travelId AND current_bookings < max_capacity
+    """, nativeQuery = true)
+    int reserveSeat(@Param("travelId") UUID travelId);
+
+    /**
+     * Atomically releases one previously reserved seat (never goes below zero).
+     *
+     * @return 1 if a seat was released, 0 otherwise
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE travels
+        SET current_bookings = current_bookings - 1, version = COALESCE(version, 0) + 1
+        WHERE id = :travelId AND current_bookings > 0
+    """, nativeQuery = true)
+    int releaseSeat(@Param("travelId") UUID travelId);
 }
@@ -0,0 +1,19 @@
+package sn.travel.travel_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded.
+ */
+public class InvalidCursorException extends TravelServiceException {
+
+    private static final String ERROR_CODE = "TRAVEL_009";
+
+    public InvalidCursorException(String cursor) {
+        super(
+                String.format("Invalid pagination cursor: '%s'", cursor),
+                ERROR_CODE,
+                HttpStatus.BAD_REQUEST
+        );
+    }
+}
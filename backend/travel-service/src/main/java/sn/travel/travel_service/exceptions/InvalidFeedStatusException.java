@@ -0,0 +1,19 @@
+package sn.travel.travel_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the public travel feed is asked for a status it does not expose (drafts).
+ */
+public class InvalidFeedStatusException extends TravelServiceException {
+
+    private static final String ERROR_CODE = "TRAVEL_011";
+
+    public InvalidFeedStatusException(Object status) {
+        super(
+                String.format("Travel feed does not expose status: '%s'", status),
+                ERROR_CODE,
+                HttpStatus.BAD_REQUEST
+        );
+    }
+}
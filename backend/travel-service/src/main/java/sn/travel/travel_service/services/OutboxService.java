@@ -0,0 +1,15 @@
+package sn.travel.travel_service.services;
+
+import java.util.UUID;
+
+/**
+ * Service interface for the transactional outbox.
+ * Events are stored alongside the business change and relayed to RabbitMQ asynchronously.
+ */
+public interface OutboxService {
+
+    /**
+     * Stage an event for publication. Must be called inside the business transaction.
+     */
+    void enqueue(String exchange, String routingKey, UUID aggregateId, Object event);
+}
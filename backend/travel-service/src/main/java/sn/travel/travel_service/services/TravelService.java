@@ -1,11 +1,14 @@
 package sn.travel.travel_service.services;
 
 import org.springframework.data.domain.Pageable;
+import sn.travel.travel_service.data.enums.TravelStatus;
 import sn.travel.travel_service.web.dto.requests.CreateTravelRequest;
 import sn.travel.travel_service.web.dto.requests.UpdateTravelRequest;
+import sn.travel.travel_service.web.dto.responses.CursorPageResponse;
 import sn.travel.travel_service.web.dto.responses.PageResponse;
 import sn.travel.travel_service.web.dto.responses.TravelResponse;
 
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -33,6 +36,19 @@ public interface TravelService {
      */
     PageResponse<TravelResponse> getAvailableTravels(Pageable pageable);
 
+    /**
+     * Keyset-paginated list of published travels available for subscription, ordered by start date (public).
+     * Every page costs the same number of queries regardless of depth.
+     */
+    CursorPageResponse<TravelResponse> getAvailableTravelsPage(String cursor, int size);
+
+    /**
+     * Stream all travels with one of the given statuses ordered by ID using keyset pagination (public).
+     * Used by the search-service to rebuild its index (published travels) and by the rec-service
+     * to bootstrap its graph (every status a subscription can point to). Drafts are never exposed.
+     */
+    CursorPageResponse<TravelResponse> getTravelsFeed(Set<TravelStatus> statuses, String cursor, int size);
+
     /**
      * Search published travels by keyword (public).
      */
@@ -43,6 +59,11 @@ public interface TravelService {
      */
     PageResponse<TravelResponse> getTravelsByManager(UUID managerId, Pageable pageable);
 
+    /**
+     * Keyset-paginated list of a manager's travels, newest first (Manager only).
+     */
+    CursorPageResponse<TravelResponse> getTravelsByManagerPage(UUID managerId, String cursor, int size);
+
     /**
      * Delete a travel (Manager - own travels, or Admin).
      */
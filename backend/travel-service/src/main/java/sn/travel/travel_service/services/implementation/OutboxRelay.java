@@ -0,0 +1,240 @@
+package sn.travel.travel_service.services.implementation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.travel.travel_service.data.entities.OutboxEvent;
+import sn.travel.travel_service.data.repositories.OutboxEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background relay draining the transactional outbox to RabbitMQ.
+ * <p>
+ * Each run claims a batch of pending events in a short transaction (row locks plus a lease, claimed_until),
+ * publishes them all outside any transaction, waits for the publisher confirms, then deletes the acknowledged
+ * rows in a second short transaction. Unconfirmed events stay in the outbox and are retried on the next run
+ * (at-least-once delivery); a relay that dies mid-batch leaves rows that become claimable when the lease expires.
+ * An event that is still not confirmed after max-attempts runs (nacked, unroutable, or rejected) is parked:
+ * kept in the table with its last error, and skipped by later runs.
+ * <p>
+ * Only the oldest unsent event of each aggregate is claimed, so events of a travel are relayed in order:
+ * a failed or parked event holds back the later events of its travel until it is sent (or deleted).
+ * <p>
+ * Metrics: outbox.relay.lag (age of the oldest pending event), outbox.relay.batch.size,
+ * outbox.relay.published, outbox.relay.failed, outbox.relay.parked.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    // Must exceed confirm-timeout-ms, so that a batch is never claimed twice while its confirms are awaited
+    @Value("${outbox.relay.claim-timeout-ms:30000}")
+    private long claimTimeoutMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.batchSizeSummary = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Number of outbox events relayed per batch")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Outbox events confirmed by the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.relay.failed")
+                .description("Outbox events nacked, timed out or rejected by the broker")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.relay.parked")
+                .description("Outbox events parked after exhausting their attempts")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest event still waiting in the outbox")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        // Keep draining while batches go through entirely; failures wait for the next run
+        boolean drained = true;
+        while (drained) {
+            drained = relayBatch();
+        }
+        updateLag();
+    }
+
+    /**
+     * Publishes one claimed batch and removes the confirmed events.
+     *
+     * @return true if a batch was found and all its events were confirmed by the broker
+     */
+    private boolean relayBatch() {
+        List<OutboxEvent> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return false;
+        }
+        batchSizeSummary.record(batch.size());
+
+        List<CorrelationData> confirms = new ArrayList<>(batch.size());
+        String sendError = null;
+        try {
+            for (OutboxEvent event : batch) {
+                CorrelationData correlationData = new CorrelationData(event.getId().toString());
+                rabbitTemplate.send(event.getExchange(), event.getRoutingKey(), toMessage(event), correlationData);
+                confirms.add(correlationData);
+            }
+        } catch (AmqpException e) {
+            sendError = e.getMessage();
+            log.error("Outbox relay could not reach the broker after {}/{} events: {}",
+                    confirms.size(), batch.size(), e.getMessage());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        List<UUID> published = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            String error = i < confirms.size() ? awaitAck(confirms.get(i), deadline) : "not sent: " + sendError;
+            if (error == null) {
+                published.add(event.getId());
+            } else {
+                recordFailure(event, error);
+                failed.add(event);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.deleteAllByIdInBatch(published);
+            outboxEventRepository.saveAll(failed);
+        });
+        publishedCounter.increment(published.size());
+        failedCounter.increment(batch.size() - published.size());
+
+        if (published.size() < batch.size()) {
+            log.warn("Outbox relay: {}/{} events confirmed, the rest will be retried",
+                    published.size(), batch.size());
+        } else {
+            log.debug("Outbox relay: {} events published", published.size());
+        }
+        return failed.isEmpty();
+    }
+
+    /**
+     * Locks the next batch and leases it to this relay in one short transaction: the row locks are released
+     * before publishing, the lease keeps other relays off the rows while the confirms are awaited.
+     */
+    private List<OutboxEvent> claimBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository.lockNextBatch(now, batchSize);
+            if (!events.isEmpty()) {
+                outboxEventRepository.claim(events.stream().map(OutboxEvent::getId).toList(),
+                        now.plus(Duration.ofMillis(claimTimeoutMs)));
+            }
+            return events;
+        });
+        return batch != null ? batch : List.of();
+    }
+
+    /**
+     * Waits for the confirm of one event. The template is mandatory, so an unroutable event
+     * comes back as a return (before its ack) instead of being dropped by the exchange.
+     *
+     * @return null if the event was confirmed and routed, the failure otherwise
+     */
+    private String awaitAck(CorrelationData correlationData, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            CorrelationData.Confirm confirm = correlationData.getFuture().get(remaining, TimeUnit.NANOSECONDS);
+            if (!confirm.ack()) {
+                log.warn("Broker nacked outbox event {}: {}", correlationData.getId(), confirm.reason());
+                return "nacked: " + confirm.reason();
+            }
+            if (correlationData.getReturned() != null) {
+                log.warn("Outbox event {} is unroutable: {}", correlationData.getId(), correlationData.getReturned().getReplyText());
+                return "unroutable: " + correlationData.getReturned().getReplyText();
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        } catch (Exception e) {
+            log.warn("No publisher confirm for outbox event {}: {}", correlationData.getId(), e.getMessage());
+            return "no confirm: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Counts a failed attempt and releases the lease; parks the event once it reached max-attempts.
+     */
+    private void recordFailure(OutboxEvent event, String error) {
+        event.setClaimedUntil(null);
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+        if (event.getAttempts() >= maxAttempts) {
+            event.setParkedAt(LocalDateTime.now());
+            parkedCounter.increment();
+            log.error("Outbox event {} ({} -> {}) parked after {} attempts: {}",
+                    event.getId(), event.getExchange(), event.getRoutingKey(), event.getAttempts(), error);
+        }
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(event.getId().toString());
+        properties.setContentType(event.getContentType());
+        if (event.getTypeId() != null) {
+            properties.setHeader(TYPE_ID_HEADER, event.getTypeId());
+        }
+        return new Message(event.getPayload(), properties);
+    }
+
+    private void updateLag() {
+        LocalDateTime oldest = outboxEventRepository.findOldestCreatedAt();
+        lagMillis.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toMillis() : 0);
+    }
+}
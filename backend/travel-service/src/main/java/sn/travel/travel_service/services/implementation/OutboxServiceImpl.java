@@ -0,0 +1,49 @@
+package sn.travel.travel_service.services.implementation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import sn.travel.travel_service.data.entities.OutboxEvent;
+import sn.travel.travel_service.data.repositories.OutboxEventRepository;
+import sn.travel.travel_service.services.OutboxService;
+
+import java.util.UUID;
+
+/**
+ * Implementation of OutboxService.
+ * Serializes events with the RabbitTemplate's message converter so that the relayed
+ * message is byte-for-byte what convertAndSend would have sent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String exchange, String routingKey, UUID aggregateId, Object event) {
+        Message message = rabbitTemplate.getMessageConverter().toMessage(event, new MessageProperties());
+        MessageProperties properties = message.getMessageProperties();
+
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .aggregateId(aggregateId)
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .typeId(properties.getHeader("__TypeId__"))
+                .contentType(properties.getContentType())
+                .payload(message.getBody())
+                .build();
+
+        outboxEventRepository.save(outboxEvent);
+        log.debug("Staged {} for aggregate {} in outbox (routing: {})",
+                event.getClass().getSimpleName(), aggregateId, routingKey);
+    }
+}
@@ -3,6 +3,7 @@ package sn.travel.travel_service.services.implementation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 import sn.travel.travel_service.config.RabbitMQConfig;
@@ -13,6 +14,7 @@ import sn.travel.travel_service.services.SubscriptionService;
 /**
  * RabbitMQ listener for payment result events from the payment-service.
  * Updates subscription status based on payment outcome.
+ * Failures are routed by DeadLetterRouter: retried with delays, then parked in the DLQ.
  */
 @Component
 @RequiredArgsConstructor
@@ -29,12 +31,12 @@ public class PaymentResultListener {
             subscriptionService.handlePaymentResult(event.subscriptionId(), success);
         } catch (SubscriptionNotFoundException e) {
             // CRITICAL: We received a payment for a subscription that doesn't exist.
-            // We catch this to acknowledge the message and stop the retry loop, 
-            // but we log it as an error for investigation.
-            log.error("CRITICAL: Orphaned payment result received. Subscription ID {} not found. Event: {}", 
+            // Retrying won't help: park it straight in the DLQ for investigation (and replay once fixed).
+            log.error("CRITICAL: Orphaned payment result received. Subscription ID {} not found. Event: {}",
                       event.subscriptionId(), event);
+            throw new AmqpRejectAndDontRequeueException("Orphaned payment result for subscription " + event.subscriptionId(), e);
         } catch (Exception e) {
-            // Other exceptions (DB down, etc.) should probably be thrown to trigger retry/DLQ
+            // Other exceptions (DB down, etc.) go through the delayed retry tiers, then the DLQ
             log.error("Error processing payment result for subscription {}", event.subscriptionId(), e);
             throw e; 
         }
@@ -2,10 +2,8 @@ package sn.travel.travel_service.services.implementation;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import sn.travel.travel_service.config.RabbitMQConfig;
@@ -17,6 +15,7 @@ import sn.travel.travel_service.data.records.SubscriptionCreatedEvent;
 import sn.travel.travel_service.data.repositories.SubscriptionRepository;
 import sn.travel.travel_service.data.repositories.TravelRepository;
 import sn.travel.travel_service.exceptions.*;
+import sn.travel.travel_service.services.OutboxService;
 import sn.travel.travel_service.services.SubscriptionService;
 import sn.travel.travel_service.web.dto.responses.PageResponse;
 import sn.travel.travel_service.web.dto.responses.SubscriptionResponse;
@@ -28,7 +27,7 @@ import java.util.UUID;
 
 /**
  * Implementation of SubscriptionService.
- * Handles the subscription lifecycle with concurrency control (optimistic locking)
+ * Handles the subscription lifecycle with concurrency control (atomic seat reservation)
  * and the 3-day business rule.
  */
 @Service
@@ -42,7 +41,7 @@ public class SubscriptionServiceImpl implements SubscriptionService {
     private final SubscriptionRepository subscriptionRepository;
     private final TravelRepository travelRepository;
     private final SubscriptionMapper subscriptionMapper;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxService outboxService;
 
     @Override
     public SubscriptionResponse subscribeToTravel(UUID travelId, UUID travelerId) {
@@ -65,18 +64,12 @@ public class SubscriptionServiceImpl implements SubscriptionService {
             throw new DuplicateSubscriptionException(travel.getTitle());
         }
 
-        // Check capacity and increment with optimistic locking
-        if (!travel.hasAvailableCapacity()) {
+        // Fast-path rejection, then reserve the seat with a single conditional UPDATE
+        // so concurrent bookers on a hot travel queue on the row lock instead of failing on @Version
+        if (!travel.hasAvailableCapacity() || travelRepository.reserveSeat(travelId) == 0) {
             throw new TravelFullException(travel.getTitle());
         }
 
-        try {
-            travel.incrementBookings();
-            travelRepository.save(travel);
-        } catch (ObjectOptimisticLockingFailureException e) {
-            throw new ConcurrentBookingException(travel.getTitle());
-        }
-
         // Create subscription with PENDING_PAYMENT status
         Subscription subscription = Subscription.builder()
                 .travelerId(travelerId)
@@ -87,7 +80,7 @@ public class SubscriptionServiceImpl implements SubscriptionService {
         Subscription savedSubscription = subscriptionRepository.save(subscription);
         log.info("Subscription created: {} (PENDING_PAYMENT)", savedSubscription.getId());
 
-        // Publish event to payment-service via RabbitMQ
+        // Stage event for payment-service (relayed to RabbitMQ via the outbox)
         publishSubscriptionCreatedEvent(savedSubscription, travel);
 
         return subscriptionMapper.toResponse(savedSubscription);
@@ -112,9 +105,8 @@ public class SubscriptionServiceImpl implements SubscriptionService {
 
         // Cancel subscription and release the spot
         subscription.setStatus(SubscriptionStatus.CANCELLED);
-        subscription.getTravel().decrementBookings();
+        travelRepository.releaseSeat(subscription.getTravel().getId());
 
-        travelRepository.save(subscription.getTravel());
         Subscription cancelledSubscription = subscriptionRepository.save(subscription);
 
         log.info("Subscription {} cancelled by traveler {}", subscriptionId, travelerId);
@@ -164,8 +156,7 @@ public class SubscriptionServiceImpl implements SubscriptionService {
 
         if (subscription.getStatus() != SubscriptionStatus.CANCELLED) {
             subscription.setStatus(SubscriptionStatus.CANCELLED);
-            travel.decrementBookings();
-            travelRepository.save(travel);
+            travelRepository.releaseSeat(travelId);
         }
 
         subscriptionRepository.save(subscription);
@@ -187,8 +178,7 @@ public class SubscriptionServiceImpl implements SubscriptionService {
             log.info("Subscription {} confirmed after successful payment", subscriptionId);
         } else {
             subscription.setStatus(SubscriptionStatus.CANCELLED);
-            subscription.getTravel().decrementBookings();
-            travelRepository.save(subscription.getTravel());
+            travelRepository.releaseSeat(subscription.getTravel().getId());
             log.info("Subscription {} cancelled after failed payment", subscriptionId);
         }
 
@@ -218,28 +208,25 @@ public class SubscriptionServiceImpl implements SubscriptionService {
     }
 
     /**
-     * Publishes a SubscriptionCreatedEvent to RabbitMQ for the payment-service.
+     * Stages a SubscriptionCreatedEvent in the outbox for the payment-service.
      */
     private void publishSubscriptionCreatedEvent(Subscription subscription, Travel travel) {
         SubscriptionCreatedEvent event = new SubscriptionCreatedEvent(
                 subscription.getId(),
                 travel.getId(),
+                travel.getManagerId(),
                 subscription.getTravelerId(),
                 travel.getTitle(),
                 travel.getPrice(),
                 "XOF"
         );
 
-        try {
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.SUBSCRIPTION_EXCHANGE,
-                    RabbitMQConfig.SUBSCRIPTION_CREATED_KEY,
-                    event
-            );
-            log.info("Published SubscriptionCreatedEvent for subscription {}", subscription.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish SubscriptionCreatedEvent for subscription {}: {}",
-                    subscription.getId(), e.getMessage());
-        }
+        outboxService.enqueue(
+                RabbitMQConfig.SUBSCRIPTION_EXCHANGE,
+                RabbitMQConfig.SUBSCRIPTION_CREATED_KEY,
+                subscription.getId(),
+                event
+        );
+        log.info("Staged SubscriptionCreatedEvent for subscription {}", subscription.getId());
     }
 }
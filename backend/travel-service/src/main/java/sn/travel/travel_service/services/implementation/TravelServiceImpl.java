@@ -2,7 +2,7 @@ package sn.travel.travel_service.services.implementation;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,19 +16,29 @@ import sn.travel.travel_service.data.records.TravelCreatedEvent;
 import sn.travel.travel_service.data.records.TravelDeletedEvent;
 import sn.travel.travel_service.data.records.TravelUpdatedEvent;
 import sn.travel.travel_service.data.repositories.TravelRepository;
+import sn.travel.travel_service.exceptions.InvalidCursorException;
+import sn.travel.travel_service.exceptions.InvalidFeedStatusException;
 import sn.travel.travel_service.exceptions.TravelNotFoundException;
 import sn.travel.travel_service.exceptions.UnauthorizedAccessException;
+import sn.travel.travel_service.services.OutboxService;
 import sn.travel.travel_service.services.TravelService;
 import sn.travel.travel_service.web.dto.requests.CreateTravelRequest;
 import sn.travel.travel_service.web.dto.requests.UpdateTravelRequest;
+import sn.travel.travel_service.web.dto.responses.CursorPageResponse;
 import sn.travel.travel_service.web.dto.responses.PageResponse;
 import sn.travel.travel_service.web.dto.responses.TravelResponse;
 import sn.travel.travel_service.web.mappers.TravelMapper;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Implementation of TravelService.
@@ -40,9 +50,12 @@ import java.util.UUID;
 @Transactional
 public class TravelServiceImpl implements TravelService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 1000;
+    private static final int MAX_LISTING_PAGE_SIZE = 100;
+
     private final TravelRepository travelRepository;
     private final TravelMapper travelMapper;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxService outboxService;
 
     @Override
     public TravelResponse createTravel(CreateTravelRequest request, UUID managerId) {
@@ -104,7 +117,8 @@ public class TravelServiceImpl implements TravelService {
             travel.getActivities().addAll(newActivities);
         }
 
-        Travel updatedTravel = travelRepository.save(travel);
+        // Flush so that @UpdateTimestamp is applied before the event is staged: consumers order updates on updatedAt
+        Travel updatedTravel = travelRepository.saveAndFlush(travel);
 
         // Publish update event for search indexing (only if travel is PUBLISHED)
         if (updatedTravel.getStatus() == TravelStatus.PUBLISHED) {
@@ -128,6 +142,71 @@ public class TravelServiceImpl implements TravelService {
         return travelMapper.toPageResponse(travels);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TravelResponse> getAvailableTravelsPage(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_LISTING_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        LocalDate today = LocalDate.now();
+
+        List<Travel> travels;
+        if (cursor == null || cursor.isBlank()) {
+            travels = travelRepository.findAvailableTravelsFirstPage(today, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            try {
+                travels = travelRepository.findAvailableTravelsAfter(
+                        today, LocalDate.parse(position[0]), UUID.fromString(position[1]), limit);
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new InvalidCursorException(cursor);
+            }
+        }
+
+        return toCursorPage(travels, pageSize, travel -> encodeCursor(travel.getStartDate(), travel.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TravelResponse> getTravelsByManagerPage(UUID managerId, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_LISTING_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Travel> travels;
+        if (cursor == null || cursor.isBlank()) {
+            travels = travelRepository.findByManagerFirstPage(managerId, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            try {
+                travels = travelRepository.findByManagerAfter(
+                        managerId, LocalDateTime.parse(position[0]), UUID.fromString(position[1]), limit);
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new InvalidCursorException(cursor);
+            }
+        }
+
+        return toCursorPage(travels, pageSize, travel -> encodeCursor(travel.getCreatedAt(), travel.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TravelResponse> getTravelsFeed(Set<TravelStatus> statuses, String cursor, int size) {
+        if (statuses.contains(TravelStatus.DRAFT)) {
+            throw new InvalidFeedStatusException(TravelStatus.DRAFT);
+        }
+        int pageSize = Math.clamp(size, 1, MAX_FEED_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<Travel> travels = (cursor == null || cursor.isBlank())
+                ? travelRepository.findByStatusInOrderByIdAsc(statuses, limit)
+                : travelRepository.findByStatusInAndIdGreaterThanOrderByIdAsc(statuses, parseCursor(cursor), limit);
+
+        boolean hasNext = travels.size() > pageSize;
+        List<Travel> page = hasNext ? travels.subList(0, pageSize) : travels;
+        String nextCursor = page.isEmpty() ? null : page.getLast().getId().toString();
+
+        return new CursorPageResponse<>(travelMapper.toResponseList(page), pageSize, nextCursor, hasNext);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PageResponse<TravelResponse> searchTravels(String search, Pageable pageable) {
@@ -168,7 +247,7 @@ public class TravelServiceImpl implements TravelService {
         }
 
         travel.setStatus(TravelStatus.PUBLISHED);
-        Travel publishedTravel = travelRepository.save(travel);
+        Travel publishedTravel = travelRepository.saveAndFlush(travel);
         log.info("Travel {} published by manager {}", travelId, managerId);
 
         // Publish event for search indexing
@@ -199,6 +278,46 @@ public class TravelServiceImpl implements TravelService {
                 .orElseThrow(() -> new TravelNotFoundException(travelId.toString()));
     }
 
+    private UUID parseCursor(String cursor) {
+        try {
+            return UUID.fromString(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * Trims the extra look-ahead row and builds the page. Destinations and activities of the page
+     * are loaded in batches (hibernate.default_batch_fetch_size), not one query per travel.
+     */
+    private CursorPageResponse<TravelResponse> toCursorPage(List<Travel> travels, int pageSize,
+                                                            Function<Travel, String> cursorOf) {
+        boolean hasNext = travels.size() > pageSize;
+        List<Travel> page = hasNext ? travels.subList(0, pageSize) : travels;
+        String nextCursor = hasNext ? cursorOf.apply(page.getLast()) : null;
+        return new CursorPageResponse<>(travelMapper.toResponseList(page), pageSize, nextCursor, hasNext);
+    }
+
+    /**
+     * Opaque listing cursor: the sort key and id of the last row, Base64url-encoded.
+     */
+    private String encodeCursor(Object sortKey, UUID id) {
+        String raw = sortKey + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            if (position.length != 2) {
+                throw new InvalidCursorException(cursor);
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
     private void verifyTravelOwnership(Travel travel, UUID managerId) {
         if (!travel.getManagerId().equals(managerId)) {
             throw new UnauthorizedAccessException("You are not the owner of this travel");
@@ -206,35 +325,25 @@ public class TravelServiceImpl implements TravelService {
     }
 
     // ---- Event publishing helpers ----
+    // Events are staged in the transactional outbox and relayed to RabbitMQ by the OutboxRelay,
+    // so they are only published if the business change commits.
 
     private void publishTravelCreatedEvent(Travel travel) {
-        try {
-            TravelCreatedEvent event = buildTravelCreatedEvent(travel);
-            rabbitTemplate.convertAndSend(RabbitMQConfig.TRAVEL_EXCHANGE, RabbitMQConfig.TRAVEL_CREATED_KEY, event);
-            log.info("Published TravelCreatedEvent for travel {}", travel.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish TravelCreatedEvent for travel {}: {}", travel.getId(), e.getMessage(), e);
-        }
+        TravelCreatedEvent event = buildTravelCreatedEvent(travel);
+        outboxService.enqueue(RabbitMQConfig.TRAVEL_EXCHANGE, RabbitMQConfig.TRAVEL_CREATED_KEY, travel.getId(), event);
+        log.info("Staged TravelCreatedEvent for travel {}", travel.getId());
     }
 
     private void publishTravelUpdatedEvent(Travel travel) {
-        try {
-            TravelUpdatedEvent event = buildTravelUpdatedEvent(travel);
-            rabbitTemplate.convertAndSend(RabbitMQConfig.TRAVEL_EXCHANGE, RabbitMQConfig.TRAVEL_UPDATED_KEY, event);
-            log.info("Published TravelUpdatedEvent for travel {}", travel.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish TravelUpdatedEvent for travel {}: {}", travel.getId(), e.getMessage(), e);
-        }
+        TravelUpdatedEvent event = buildTravelUpdatedEvent(travel);
+        outboxService.enqueue(RabbitMQConfig.TRAVEL_EXCHANGE, RabbitMQConfig.TRAVEL_UPDATED_KEY, travel.getId(), event);
+        log.info("Staged TravelUpdatedEvent for travel {}", travel.getId());
     }
 
     private void publishTravelDeletedEvent(UUID travelId) {
-        try {
-            TravelDeletedEvent event = new TravelDeletedEvent(travelId);
-            rabbitTemplate.convertAndSend(RabbitMQConfig.TRAVEL_EXCHANGE, RabbitMQConfig.TRAVEL_DELETED_KEY, event);
-            log.info("Published TravelDeletedEvent for travel {}", travelId);
-        } catch (Exception e) {
-            log.error("Failed to publish TravelDeletedEvent for travel {}: {}", travelId, e.getMessage(), e);
-        }
+        TravelDeletedEvent event = new TravelDeletedEvent(travelId);
+        outboxService.enqueue(RabbitMQConfig.TRAVEL_EXCHANGE, RabbitMQConfig.TRAVEL_DELETED_KEY, travelId, event);
+        log.info("Staged TravelDeletedEvent for travel {}", travelId);
     }
 
     private TravelCreatedEvent buildTravelCreatedEvent(Travel travel) {
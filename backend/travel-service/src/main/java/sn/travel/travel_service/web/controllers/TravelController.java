@@ -5,14 +5,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import sn.travel.travel_service.data.enums.TravelStatus;
 import sn.travel.travel_service.web.dto.requests.CreateTravelRequest;
 import sn.travel.travel_service.web.dto.requests.UpdateTravelRequest;
+import sn.travel.travel_service.web.dto.responses.CursorPageResponse;
 import sn.travel.travel_service.web.dto.responses.MessageResponse;
 import sn.travel.travel_service.web.dto.responses.PageResponse;
 import sn.travel.travel_service.web.dto.responses.SubscriptionResponse;
 import sn.travel.travel_service.web.dto.responses.TravelResponse;
 
 import java.security.Principal;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -27,6 +30,12 @@ public interface TravelController {
     @Operation(summary = "Get travel by ID", description = "Get a specific travel by its ID (public)")
     ResponseEntity<TravelResponse> getTravelById(UUID travelId);
 
+    @Operation(summary = "Browse available travels", description = "Keyset-paginated list of published travels available for subscription, ordered by start date; pass nextCursor back to get the next page (public)")
+    ResponseEntity<CursorPageResponse<TravelResponse>> getAvailableTravelsPage(String cursor, int size);
+
+    @Operation(summary = "Stream travels", description = "Keyset-paginated feed of all travels with the given statuses (published by default, drafts excluded) ordered by ID, used for search re-indexing and recommendation graph bootstrap (public)")
+    ResponseEntity<CursorPageResponse<TravelResponse>> getTravelsFeed(Set<TravelStatus> status, String cursor, int size);
+
     @Operation(summary = "Search travels", description = "Search published travels by keyword (public)")
     ResponseEntity<PageResponse<TravelResponse>> searchTravels(String search, Pageable pageable);
 
@@ -48,6 +57,9 @@ public interface TravelController {
     @Operation(summary = "Get manager's travels", description = "Get all travels for the authenticated manager")
     ResponseEntity<PageResponse<TravelResponse>> getManagerTravels(Principal principal, Pageable pageable);
 
+    @Operation(summary = "Browse manager's travels", description = "Keyset-paginated list of the authenticated manager's travels, newest first")
+    ResponseEntity<CursorPageResponse<TravelResponse>> getManagerTravelsPage(Principal principal, String cursor, int size);
+
     @Operation(summary = "Get travel subscribers", description = "Get paginated list of subscribers for a travel (Manager/Admin)")
     ResponseEntity<PageResponse<SubscriptionResponse>> getTravelSubscribers(UUID travelId, Pageable pageable);
 
@@ -9,17 +9,20 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import sn.travel.travel_service.data.enums.TravelStatus;
 import sn.travel.travel_service.services.SubscriptionService;
 import sn.travel.travel_service.services.TravelService;
 import sn.travel.travel_service.web.controllers.TravelController;
 import sn.travel.travel_service.web.dto.requests.CreateTravelRequest;
 import sn.travel.travel_service.web.dto.requests.UpdateTravelRequest;
+import sn.travel.travel_service.web.dto.responses.CursorPageResponse;
 import sn.travel.travel_service.web.dto.responses.MessageResponse;
 import sn.travel.travel_service.web.dto.responses.PageResponse;
 import sn.travel.travel_service.web.dto.responses.SubscriptionResponse;
 import sn.travel.travel_service.web.dto.responses.TravelResponse;
 
 import java.security.Principal;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -48,6 +51,23 @@ public class TravelControllerImpl implements TravelController {
         return ResponseEntity.ok(travelService.getTravelById(travelId));
     }
 
+    @Override
+    @GetMapping("/available")
+    public ResponseEntity<CursorPageResponse<TravelResponse>> getAvailableTravelsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(travelService.getAvailableTravelsPage(cursor, size));
+    }
+
+    @Override
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPageResponse<TravelResponse>> getTravelsFeed(
+            @RequestParam(defaultValue = "PUBLISHED") Set<TravelStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int size) {
+        return ResponseEntity.ok(travelService.getTravelsFeed(status, cursor, size));
+    }
+
     @Override
     @GetMapping("/search")
     public ResponseEntity<PageResponse<TravelResponse>> searchTravels(
@@ -116,6 +136,16 @@ public class TravelControllerImpl implements TravelController {
         return ResponseEntity.ok(travelService.getTravelsByManager(managerId, pageable));
     }
 
+    @Override
+    @GetMapping("/manager/me/cursor")
+    public ResponseEntity<CursorPageResponse<TravelResponse>> getManagerTravelsPage(
+            Principal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        UUID managerId = extractUserId(principal);
+        return ResponseEntity.ok(travelService.getTravelsByManagerPage(managerId, cursor, size));
+    }
+
     // ---- Manager: subscriber management ----
 
     @Override
@@ -0,0 +1,17 @@
+-- V2__create_outbox_events.sql
+-- Transactional outbox for travel and subscription events (drained by OutboxRelay)
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    aggregate_id UUID NOT NULL,
+    exchange VARCHAR(100) NOT NULL,
+    routing_key VARCHAR(100) NOT NULL,
+    type_id VARCHAR(255),
+    content_type VARCHAR(100),
+    payload BYTEA NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Indexes for outbox_events
+CREATE INDEX IF NOT EXISTS idx_outbox_created_at ON outbox_events(created_at);
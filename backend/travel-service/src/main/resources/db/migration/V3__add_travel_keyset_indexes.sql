@@ -0,0 +1,8 @@
+-- V3__add_travel_keyset_indexes.sql
+-- Composite indexes backing the keyset (seek) listings of travels
+
+-- Available travels: WHERE status = 'PUBLISHED' AND start_date > now ORDER BY start_date, id
+CREATE INDEX IF NOT EXISTS idx_travel_status_start_date_id ON travels(status, start_date, id);
+
+-- Manager dashboard: WHERE manager_id = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_travel_manager_created_at_id ON travels(manager_id, created_at, id);
@@ -0,0 +1,10 @@
+-- V4__add_outbox_parking.sql
+-- Events that keep failing are parked after outbox.relay.max-attempts instead of being retried forever.
+-- Parked rows stay in the table for investigation (re-queue by setting parked_at back to NULL).
+
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS parked_at TIMESTAMP;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS last_error VARCHAR(500);
+
+-- The relay only scans pending rows
+DROP INDEX IF EXISTS idx_outbox_created_at;
+CREATE INDEX IF NOT EXISTS idx_outbox_pending_created_at ON outbox_events(created_at) WHERE parked_at IS NULL;
@@ -0,0 +1,11 @@
+-- V5__add_outbox_ordering_and_claims.sql
+-- seq gives a strict insertion order (created_at can tie): the relay only sends the oldest unsent event
+-- of each aggregate, so a parked or in-flight event holds back the later events of the same travel.
+-- claimed_until is a short lease taken by a relay before it publishes, so that it can wait for the
+-- publisher confirms without holding row locks; an expired lease (crashed relay) makes the row claimable again.
+
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS seq BIGSERIAL;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_outbox_pending_seq ON outbox_events(seq) WHERE parked_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_aggregate_seq ON outbox_events(aggregate_id, seq);